@@ -0,0 +1,188 @@
+package game;
+
+import game.paths.CellSet;
+import game.paths.PathService;
+
+import java.util.Arrays;
+
+/**
+ * Mapas de ataque mantidos pelo {@link Board} a cada {@link Board#setPiece}: para cada lado, as casas ocupadas e
+ * quantas peças dele podem atacar ou ocupar cada casa na próxima jogada.
+ * <p>
+ * Uma peça móvel ameaça as vizinhas ortogonais fora dos lagos, estejam livres ou ocupadas (por peças próprias
+ * também, como em um mapa de defesa). Um {@code Soldier} ameaça ainda as casas livres em linha reta depois da
+ * vizinha, até a primeira peça, lago ou borda, já que não ataca depois de se mover mais de uma casa.
+ * Minas Terrestres e Prisioneiros não ameaçam nada, e as peças sem dono da visão oculta contam como móveis.
+ * <p>
+ * Os lados são 1 e 2 para os jogadores do tabuleiro e {@link #HIDDEN} para as peças sem dono. Trocar o conteúdo
+ * de uma casa recalcula só a peça antiga, a nova e os até quatro Soldados cujas linhas passam pela casa.
+ */
+public final class AttackMaps {
+    public static final int SIDES = 3;
+    /** Lado das peças sem dono, as {@link game.pieces.OpponentPiece} da visão oculta. */
+    public static final int HIDDEN = 0;
+
+    static final byte EMPTY = 0;
+    static final byte IMMOBILE = 1;
+    static final byte MOVABLE = 2;
+    static final byte SOLDIER = 3;
+
+    private static final int CELLS = CellSet.CELLS;
+
+    private final byte[] kinds = new byte[CELLS];
+    private final byte[] sides = new byte[CELLS];
+    private final int[] counts = new int[SIDES * CELLS];
+    private final long[] pieceBits = new long[SIDES * 2];
+    private final long[] attackBits = new long[SIDES * 2];
+    private final int[] pieceCounts = new int[SIDES];
+    private final int[] attackedCells = new int[SIDES];
+    private final int[] soldiers = new int[4];
+
+    AttackMaps() {
+    }
+
+    AttackMaps(AttackMaps original) {
+        copyFrom(original);
+    }
+
+    void copyFrom(AttackMaps other) {
+        System.arraycopy(other.kinds, 0, kinds, 0, CELLS);
+        System.arraycopy(other.sides, 0, sides, 0, CELLS);
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        System.arraycopy(other.pieceBits, 0, pieceBits, 0, pieceBits.length);
+        System.arraycopy(other.attackBits, 0, attackBits, 0, attackBits.length);
+        System.arraycopy(other.pieceCounts, 0, pieceCounts, 0, SIDES);
+        System.arraycopy(other.attackedCells, 0, attackedCells, 0, SIDES);
+    }
+
+    void clear() {
+        Arrays.fill(kinds, EMPTY);
+        Arrays.fill(sides, (byte) 0);
+        Arrays.fill(counts, 0);
+        Arrays.fill(pieceBits, 0);
+        Arrays.fill(attackBits, 0);
+        Arrays.fill(pieceCounts, 0);
+        Arrays.fill(attackedCells, 0);
+    }
+
+    /**
+     * Troca o conteúdo da casa por uma peça do tipo {@code kind} ({@link #EMPTY} para esvaziar) do lado {@code side}.
+     */
+    void set(int cell, int side, byte kind) {
+        int soldierCount = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            int next = PathService.neighbor(cell, dir);
+            while (next >= 0 && kinds[next] == EMPTY) {
+                next = PathService.neighbor(next, dir);
+            }
+            if (next >= 0 && kinds[next] == SOLDIER) {
+                soldiers[soldierCount++] = next;
+            }
+        }
+
+        for (int i = 0; i < soldierCount; i++) {
+            spread(soldiers[i], -1);
+        }
+        spread(cell, -1);
+        if (kinds[cell] != EMPTY) {
+            toggle(pieceBits, sides[cell], cell);
+            pieceCounts[sides[cell]]--;
+        }
+        kinds[cell] = kind;
+        sides[cell] = (byte) (kind == EMPTY ? 0 : side);
+        if (kind != EMPTY) {
+            toggle(pieceBits, side, cell);
+            pieceCounts[side]++;
+        }
+        spread(cell, 1);
+        for (int i = 0; i < soldierCount; i++) {
+            spread(soldiers[i], 1);
+        }
+    }
+
+    /**
+     * Soma {@code delta} nas casas ameaçadas pela peça da casa.
+     */
+    private void spread(int cell, int delta) {
+        byte kind = kinds[cell];
+        if (kind < MOVABLE) {
+            return;
+        }
+        int side = sides[cell];
+        for (int dir = 0; dir < 4; dir++) {
+            int next = PathService.neighbor(cell, dir);
+            if (next < 0) {
+                continue;
+            }
+            add(side, next, delta);
+            while (kind == SOLDIER && kinds[next] == EMPTY) {
+                next = PathService.neighbor(next, dir);
+                if (next < 0 || kinds[next] != EMPTY) {
+                    break;
+                }
+                add(side, next, delta);
+            }
+        }
+    }
+
+    private void add(int side, int cell, int delta) {
+        int before = counts[side * CELLS + cell];
+        int after = before + delta;
+        counts[side * CELLS + cell] = after;
+        if (before == 0 || after == 0) {
+            toggle(attackBits, side, cell);
+            attackedCells[side] += after == 0 ? -1 : 1;
+        }
+    }
+
+    private static void toggle(long[] bits, int side, int cell) {
+        bits[side * 2 + (cell >>> 6)] ^= 1L << (cell & 63);
+    }
+
+    private static void checkSide(int side) {
+        if (side < 0 || side >= SIDES) {
+            throw new IllegalArgumentException("Lado inválido: " + side);
+        }
+    }
+
+    /**
+     * Casas ocupadas pelas peças do lado.
+     */
+    public CellSet getPieces(int side) {
+        checkSide(side);
+        return new CellSet(pieceBits[side * 2], pieceBits[side * 2 + 1]);
+    }
+
+    public int getPieceCount(int side) {
+        checkSide(side);
+        return pieceCounts[side];
+    }
+
+    /**
+     * Casas que o lado pode atacar ou ocupar na próxima jogada.
+     */
+    public CellSet getAttacks(int side) {
+        checkSide(side);
+        return new CellSet(attackBits[side * 2], attackBits[side * 2 + 1]);
+    }
+
+    /**
+     * Número de casas de {@link #getAttacks}.
+     */
+    public int getAttackedCellCount(int side) {
+        checkSide(side);
+        return attackedCells[side];
+    }
+
+    /**
+     * Quantas peças do lado ameaçam a casa {@code x * 10 + y}.
+     */
+    public int getAttackCount(int side, int cell) {
+        checkSide(side);
+        return counts[side * CELLS + cell];
+    }
+
+    public boolean isAttacked(int side, int cell) {
+        return getAttackCount(side, cell) > 0;
+    }
+}
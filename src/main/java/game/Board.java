@@ -1,11 +1,18 @@
 package game;
 
 import game.feedbacks.*;
+import game.paths.CellSet;
+import game.paths.PathService;
+import game.pieces.LandMine;
 import game.pieces.OpponentPiece;
 import game.pieces.Piece;
 import game.pieces.PieceAction;
+import game.pieces.PieceFactory;
+import game.pieces.Prisoner;
 import game.pieces.QuantityPerPiece;
+import game.pieces.Soldier;
 import game.players.Player;
+import game.setups.SetupValidator;
 
 import java.util.*;
 
@@ -27,9 +34,16 @@ public class Board {
     public static final String PLAYER2_COLOR_OPEN = "\u001B[31m";
     public static final String LAKE_COLOR_OPEN = "\u001B[34m";
     public static final String COLOR_CLOSE = "\u001B[0m";
+    /** Casas ocupadas, um bit por casa como no {@link CellSet}, independente dos jogadores. */
+    private long occupiedLow;
+    private long occupiedHigh;
+    private final AttackMaps attackMaps;
+    /** Falso quando alguma troca não pôde ser aplicada aos mapas; eles são refeitos na próxima consulta. */
+    private boolean attackMapsValid = true;
 
     public Board() {
         board = new Piece[ROWS][COLS];
+        attackMaps = new AttackMaps();
     }
 
     public Board(Board original) {
@@ -43,6 +57,10 @@ public class Board {
                 this.board[i][j] = (originalPiece != null) ? originalPiece.copy(this) : null;
             }
         }
+        occupiedLow = original.occupiedLow;
+        occupiedHigh = original.occupiedHigh;
+        attackMaps = new AttackMaps(original.attackMaps);
+        attackMapsValid = original.attackMapsValid;
     }
 
     public Piece getPiece(int x, int y) {
@@ -57,47 +75,110 @@ public class Board {
         if (piece != null) {
             piece.setPosition(x, y);
         }
+        int cell = x * COLS + y;
+        if (cell < 64) {
+            occupiedLow = piece != null ? occupiedLow | 1L << cell : occupiedLow & ~(1L << cell);
+        } else {
+            occupiedHigh = piece != null ? occupiedHigh | 1L << (cell - 64) : occupiedHigh & ~(1L << (cell - 64));
+        }
+        if (attackMapsValid) {
+            int side = sideOf(piece);
+            if (side < 0) {
+                attackMapsValid = false;
+            } else {
+                attackMaps.set(cell, side, kindOf(piece));
+            }
+        }
     }
 
-    public static boolean isValidPosition(int x, int y) {
-        return x >= 0 && x < 10 && y >= 0 && y < 10 && !Board.isLake(x, y);
+    /**
+     * Casas com alguma peça, de qualquer jogador.
+     */
+    public CellSet getOccupied() {
+        return new CellSet(occupiedLow, occupiedHigh);
     }
 
-    public static boolean isLake(int x, int y) {
-        return ((((x == 4 && y == 2) || (x == 5 && y == 2)) || ((x == 4 && y == 3) || (x == 5 && y == 3))) ||
-                (((x == 4 && y == 6) || (x == 5 && y == 6)) || ((x == 4 && y == 7) || (x == 5 && y == 7))));
+    /**
+     * Casas livres a partir de {@code cell} na direção {@code dir} do {@link PathService}, até a primeira peça,
+     * lago ou borda. Lê a ocupação direto dos campos, sem alocar.
+     */
+    public int freeSteps(int cell, int dir) {
+        return PathService.freeSteps(cell, dir, occupiedLow, occupiedHigh);
     }
 
-    public boolean isValidSetup(Piece[][] playerSetup) {
-        if (playerSetup.length != 4 || playerSetup[0].length != 10) {
-            System.out.println("Erro: Matriz com peças de tamanho incorreto. Esperado 4x10, encontrado " + playerSetup.length +"x"+playerSetup[0].length);
-            return false;
+    /**
+     * Lado da peça nos {@link AttackMaps}, ou -1 se os jogadores do tabuleiro ainda não estiverem definidos.
+     */
+    private int sideOf(Piece piece) {
+        if (piece == null || piece.getPlayer() == null) {
+            return AttackMaps.HIDDEN;
         }
+        if (player1 == null || player2 == null) {
+            return -1;
+        }
+        return piece.getPlayer().equals(player1.getPlayerName()) ? 1 : piece.getPlayer().equals(player2.getPlayerName()) ? 2 : -1;
+    }
 
-        Map<String, Integer> actualCounts = new HashMap<>();
+    private static byte kindOf(Piece piece) {
+        if (piece == null) {
+            return AttackMaps.EMPTY;
+        }
+        if (piece instanceof LandMine || piece instanceof Prisoner) {
+            return AttackMaps.IMMOBILE;
+        }
+        return piece instanceof Soldier ? AttackMaps.SOLDIER : AttackMaps.MOVABLE;
+    }
 
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 10; j++) {
-                Piece piece = playerSetup[i][j];
-                if (piece != null) {
-                    String code = piece.getRepresentation();
-                    actualCounts.put(code, actualCounts.getOrDefault(code, 0) + 1);
+    /**
+     * Lado de {@code player} nos {@link AttackMaps}: 1 ou 2.
+     */
+    public int getSide(String player) {
+        if (player1 != null && player1.getPlayerName().equals(player)) {
+            return 1;
+        }
+        if (player2 != null && player2.getPlayerName().equals(player)) {
+            return 2;
+        }
+        throw new IllegalArgumentException("Jogador fora do tabuleiro: " + player);
+    }
+
+    /**
+     * Mapas de ataque e ocupação de cada lado, atualizados a cada jogada. Não devem ser guardados entre jogadas
+     * de tabuleiros diferentes: cada tabuleiro tem os seus.
+     */
+    public AttackMaps getAttackMaps() {
+        if (!attackMapsValid) {
+            attackMaps.clear();
+            for (int i = 0; i < ROWS; i++) {
+                for (int j = 0; j < COLS; j++) {
+                    if (board[i][j] != null) {
+                        int side = sideOf(board[i][j]);
+                        if (side < 0) {
+                            throw new IllegalStateException("Peça sem lado no tabuleiro: " + board[i][j].getPlayer());
+                        }
+                        attackMaps.set(i * COLS + j, side, kindOf(board[i][j]));
+                    }
                 }
             }
+            attackMapsValid = true;
         }
+        return attackMaps;
+    }
 
-        for (QuantityPerPiece qpp : QuantityPerPiece.values()) {
-            String code = qpp.getCode();
-            int expected = qpp.getQuantity();
-            int actual = actualCounts.getOrDefault(code, 0);
+    public static boolean isValidPosition(int x, int y) {
+        return x >= 0 && x < 10 && y >= 0 && y < 10 && !Board.isLake(x, y);
+    }
 
-            if (actual != expected) {
-                System.out.println("Erro: Esperado " + expected + " peças de " + code + ", mas encontrado " + actual);
-                return false;
-            }
-        }
+    public static boolean isLake(int x, int y) {
+        return ((((x == 4 && y == 2) || (x == 5 && y == 2)) || ((x == 4 && y == 3) || (x == 5 && y == 3))) ||
+                (((x == 4 && y == 6) || (x == 5 && y == 6)) || ((x == 4 && y == 7) || (x == 5 && y == 7))));
+    }
 
-        return true;
+    /**
+     * Confere o tamanho 4x10 e as quantidades de peças; os problemas estão em {@link SetupValidator#validate}.
+     */
+    public boolean isValidSetup(Piece[][] playerSetup) {
+        return SetupValidator.isValid(playerSetup);
     }
 
     /**
@@ -150,14 +231,20 @@ public class Board {
         return sb.toString();
     }
 
+    /**
+     * Cópia do tabuleiro vista por {@code player}: as peças adversárias viram {@link OpponentPiece} sem dono,
+     * mas mantêm o {@link Piece#getId()} da peça original, estável de uma jogada para outra.
+     */
     public final Board getHiddenView(String player) {
         Board boardCopy = this.deepCopy();
+        // Troca quase metade das peças: sai mais barato refazer os mapas se alguém consultar
+        boardCopy.attackMapsValid = false;
         for (int i = 0; i < ROWS; i++) {
             for (int j = 0; j < COLS; j++) {
                 Piece piece = boardCopy.getPiece(i, j);
 
                 if (piece != null && !piece.getPlayer().equals(player)) {
-                    boardCopy.setPiece(i, j, new OpponentPiece(this));
+                    boardCopy.setPiece(i, j, OpponentPiece.hiding(piece, boardCopy));
                 }
             }
         }
@@ -265,4 +352,130 @@ public class Board {
 
         return result;
     }
+
+    /**
+     * Retorna um retrato compacto do estado atual do tabuleiro.
+     */
+    public BoardSnapshot snapshot() {
+        byte[] cells = new byte[ROWS * COLS];
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLS; j++) {
+                Piece piece = board[i][j];
+                if (piece != null) {
+                    int owner = piece instanceof OpponentPiece || player1.getPlayerName().equals(piece.getPlayer()) ? 0 : BoardSnapshot.PLAYER2_BIT;
+                    cells[i * COLS + j] = (byte) (BoardSnapshot.typeCode(piece) | owner);
+                }
+            }
+        }
+        return new BoardSnapshot(cells, numberMoves, lastPiecesCells(lastPiecesPlayedByP1), lastPiecesCells(lastPiecesPlayedByP2));
+    }
+
+    /**
+     * Identificadores das peças por casa ({@code x * 10 + y}), ou {@code null} nas casas vazias.
+     */
+    public UUID[] getPieceIds() {
+        UUID[] ids = new UUID[ROWS * COLS];
+        for (int cell = 0; cell < ROWS * COLS; cell++) {
+            Piece piece = board[cell / COLS][cell % COLS];
+            ids[cell] = piece == null ? null : piece.getId();
+        }
+        return ids;
+    }
+
+    private byte[] lastPiecesCells(Deque<Piece> lastPiecesPlayed) {
+        byte[] cells = new byte[lastPiecesPlayed.size()];
+        int index = 0;
+        for (Piece piece : lastPiecesPlayed) {
+            boolean onBoard = getPiece(piece.getPosX(), piece.getPosY()) == piece;
+            cells[index++] = (byte) (onBoard ? piece.getPosX() * COLS + piece.getPosY() : BoardSnapshot.NO_CELL);
+        }
+        return cells;
+    }
+
+    /**
+     * Substitui o estado do tabuleiro pelo do retrato, recriando as peças com identificadores novos.
+     * Os jogadores do tabuleiro devem estar definidos, pois as peças são atribuídas pelos seus nomes.
+     */
+    public void restore(BoardSnapshot snapshot) {
+        restore(snapshot, null);
+    }
+
+    /**
+     * Como {@link #restore(BoardSnapshot)}, mas devolve a cada peça recriada o identificador de
+     * {@code ids[x * 10 + y]} (de {@link #getPieceIds()}), para que os jogadores continuem reconhecendo as peças.
+     * Casas com {@code null} recebem identificadores novos.
+     */
+    public void restore(BoardSnapshot snapshot, UUID[] ids) {
+        if (ids != null && ids.length != ROWS * COLS) {
+            throw new IllegalArgumentException("Esperados " + ROWS * COLS + " identificadores, recebidos " + ids.length);
+        }
+        attackMapsValid = false;
+        byte[] cells = snapshot.cells();
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLS; j++) {
+                int code = cells[i * COLS + j];
+                int type = code & BoardSnapshot.TYPE_MASK;
+                if (type == 0) {
+                    setPiece(i, j, null);
+                } else if (type == BoardSnapshot.OPPONENT_CODE) {
+                    setPiece(i, j, new OpponentPiece(this));
+                } else {
+                    String owner = (code & BoardSnapshot.PLAYER2_BIT) == 0 ? player1.getPlayerName() : player2.getPlayerName();
+                    setPiece(i, j, PieceFactory.createPiece(QuantityPerPiece.fromOrdinal(type - 1).getCode(), owner, this));
+                }
+            }
+        }
+        if (ids != null) {
+            for (int cell = 0; cell < ROWS * COLS; cell++) {
+                Piece piece = board[cell / COLS][cell % COLS];
+                if (piece != null && ids[cell] != null) {
+                    piece.restoreId(ids[cell]);
+                }
+            }
+        }
+        numberMoves = snapshot.getNumberMoves();
+        restoreLastPieces(lastPiecesPlayedByP1, snapshot.lastPiecesPlayed(1));
+        restoreLastPieces(lastPiecesPlayedByP2, snapshot.lastPiecesPlayed(2));
+    }
+
+    private void restoreLastPieces(Deque<Piece> lastPiecesPlayed, byte[] cells) {
+        lastPiecesPlayed.clear();
+        for (byte cell : cells) {
+            // Peça já eliminada: qualquer peça fora do tabuleiro preserva o resultado da regra
+            Piece piece = cell == BoardSnapshot.NO_CELL ? new OpponentPiece((Board) null) : board[cell / COLS][cell % COLS];
+            lastPiecesPlayed.addLast(piece);
+        }
+    }
+
+    /**
+     * Guarda o necessário para desfazer a ação. Deve ser chamado antes de {@link #executeAction}.
+     */
+    public MoveUndo prepareUndo(PieceAction action) {
+        int fromX = -1, fromY = -1, toX = -1, toY = -1;
+        if (action != null && action.getPiece() != null) {
+            fromX = action.getPiece().getPosX();
+            fromY = action.getPiece().getPosY();
+            toX = action.getNewPosX();
+            toY = action.getNewPosY();
+        }
+        return new MoveUndo(fromX, fromY, getPiece(fromX, fromY), toX, toY, getPiece(toX, toY), numberMoves,
+                lastPiecesPlayedByP1.toArray(new Piece[0]), lastPiecesPlayedByP2.toArray(new Piece[0]));
+    }
+
+    /**
+     * Desfaz a ação registrada por {@link #prepareUndo}. Deve ser aplicado na ordem inversa das jogadas.
+     */
+    public void undo(MoveUndo undo) {
+        if (getPiece(undo.fromX, undo.fromY) != null || undo.fromPiece != null) {
+            setPiece(undo.fromX, undo.fromY, undo.fromPiece);
+        }
+        if (getPiece(undo.toX, undo.toY) != null || undo.toPiece != null) {
+            setPiece(undo.toX, undo.toY, undo.toPiece);
+        }
+        numberMoves = undo.numberMoves;
+        lastPiecesPlayedByP1.clear();
+        lastPiecesPlayedByP1.addAll(Arrays.asList(undo.lastPiecesPlayedByP1));
+        lastPiecesPlayedByP2.clear();
+        lastPiecesPlayedByP2.addAll(Arrays.asList(undo.lastPiecesPlayedByP2));
+    }
 }
@@ -0,0 +1,34 @@
+package game;
+
+import game.pieces.Piece;
+import game.players.Player;
+
+import java.util.UUID;
+
+/**
+ * Uma mudança no tabuleiro, entregue aos jogadores por {@link Player#onBoardDelta}.
+ * As peças são identificadas pelo {@link Piece#getId()}, o mesmo que aparece na visão oculta.
+ * <ul>
+ *  <li>{@link Kind#MOVE}: a peça foi de {@code (x, y)} para {@code (toX, toY)};</li>
+ *  <li>{@link Kind#REMOVE}: a peça em {@code (x, y)} foi eliminada;</li>
+ *  <li>{@link Kind#REVEAL}: o combate revelou o tipo ({@code code}, ex.: "CP") da peça em {@code (x, y)},
+ *      antes das remoções e movimentos da mesma jogada.</li>
+ * </ul>
+ * Nas mudanças que não são movimentos, {@code toX} e {@code toY} valem -1.
+ */
+public record BoardChange(Kind kind, UUID pieceId, int x, int y, int toX, int toY, String code) {
+
+    public enum Kind { MOVE, REMOVE, REVEAL }
+
+    public static BoardChange move(Piece piece, int x, int y, int toX, int toY) {
+        return new BoardChange(Kind.MOVE, piece.getId(), x, y, toX, toY, null);
+    }
+
+    public static BoardChange remove(Piece piece, int x, int y) {
+        return new BoardChange(Kind.REMOVE, piece.getId(), x, y, -1, -1, null);
+    }
+
+    public static BoardChange reveal(Piece piece, int x, int y) {
+        return new BoardChange(Kind.REVEAL, piece.getId(), x, y, -1, -1, piece.getRepresentation());
+    }
+}
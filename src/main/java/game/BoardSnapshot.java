@@ -0,0 +1,109 @@
+package game;
+
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+import game.pieces.QuantityPerPiece;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Retrato compacto e imutável do estado do {@link Board}: um byte por casa, o número de jogadas
+ * e as últimas peças movidas por cada jogador (usadas na regra de movimentos consecutivos).
+ * <p>
+ * Cada casa guarda o código do tipo ({@code ordinal + 1} de {@link QuantityPerPiece},
+ * {@link #OPPONENT_CODE} para peça oculta ou 0 para vazio) e o bit {@link #PLAYER2_BIT} para o dono.
+ */
+public final class BoardSnapshot {
+    public static final int OPPONENT_CODE = 0xF;
+    public static final int PLAYER2_BIT = 0x10;
+    public static final int TYPE_MASK = 0xF;
+    public static final int NO_CELL = -1;
+    public static final int BYTES = Board.ROWS * Board.COLS + Integer.BYTES + 2 * (1 + Board.MAX_CONSECUTIVE_MOVES_SAME_PIECE);
+
+    private final byte[] cells;
+    private final int numberMoves;
+    private final byte[] lastPiecesPlayedByP1;
+    private final byte[] lastPiecesPlayedByP2;
+
+    BoardSnapshot(byte[] cells, int numberMoves, byte[] lastPiecesPlayedByP1, byte[] lastPiecesPlayedByP2) {
+        this.cells = cells;
+        this.numberMoves = numberMoves;
+        this.lastPiecesPlayedByP1 = lastPiecesPlayedByP1;
+        this.lastPiecesPlayedByP2 = lastPiecesPlayedByP2;
+    }
+
+    /**
+     * Código de 4 bits do tipo da peça, sem o bit do dono.
+     */
+    public static int typeCode(Piece piece) {
+        if (piece == null) {
+            return 0;
+        }
+        if (piece instanceof OpponentPiece) {
+            return OPPONENT_CODE;
+        }
+        return QuantityPerPiece.fromCode(piece.getRepresentation()).ordinal() + 1;
+    }
+
+    /**
+     * Código completo da casa {@code x * 10 + y}.
+     */
+    public int getCell(int cell) {
+        return cells[cell];
+    }
+
+    public int getNumberMoves() {
+        return numberMoves;
+    }
+
+    /**
+     * Casas das últimas peças movidas pelo jogador, da mais recente para a mais antiga.
+     * {@link #NO_CELL} indica uma peça que já foi eliminada.
+     */
+    public byte[] getLastPiecesPlayed(int player) {
+        return (player == 1 ? lastPiecesPlayedByP1 : lastPiecesPlayedByP2).clone();
+    }
+
+    byte[] cells() {
+        return cells;
+    }
+
+    byte[] lastPiecesPlayed(int player) {
+        return player == 1 ? lastPiecesPlayedByP1 : lastPiecesPlayedByP2;
+    }
+
+    /**
+     * Escreve o retrato em exatamente {@link #BYTES} bytes.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.put(cells);
+        out.putInt(numberMoves);
+        writeLastPieces(out, lastPiecesPlayedByP1);
+        writeLastPieces(out, lastPiecesPlayedByP2);
+    }
+
+    public static BoardSnapshot readFrom(ByteBuffer in) {
+        byte[] cells = new byte[Board.ROWS * Board.COLS];
+        in.get(cells);
+        int numberMoves = in.getInt();
+        return new BoardSnapshot(cells, numberMoves, readLastPieces(in), readLastPieces(in));
+    }
+
+    private static void writeLastPieces(ByteBuffer out, byte[] lastPieces) {
+        out.put((byte) lastPieces.length);
+        for (int i = 0; i < Board.MAX_CONSECUTIVE_MOVES_SAME_PIECE; i++) {
+            out.put(i < lastPieces.length ? lastPieces[i] : NO_CELL);
+        }
+    }
+
+    private static byte[] readLastPieces(ByteBuffer in) {
+        byte[] lastPieces = new byte[in.get()];
+        for (int i = 0; i < Board.MAX_CONSECUTIVE_MOVES_SAME_PIECE; i++) {
+            byte cell = in.get();
+            if (i < lastPieces.length) {
+                lastPieces[i] = cell;
+            }
+        }
+        return lastPieces;
+    }
+}
@@ -2,21 +2,51 @@ package game;
 
 import game.feedbacks.ConvertFeedbackToEnemy;
 import game.feedbacks.Feedback;
+import game.feedbacks.InvalidMoveFeedback;
+import game.feedbacks.MaxNumberOfMovesFeedback;
+import game.feedbacks.PlayerWithoutPiecesFeedback;
 import game.feedbacks.PrisonerFeedback;
 import game.pieces.Piece;
 import game.pieces.PieceAction;
 import game.players.Player;
 import game.players.SimplePlayer;
+import game.records.GameEndReason;
+import game.records.GameRecord;
+import game.setups.SetupError;
+import game.setups.SetupValidator;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 public class Game {
     private final Board board;
     private final Player player1;
     private final Player player2;
+    private final long seed;
     private int round = 0;
+    private int halfMoveInRound = 0;
+    private boolean actualPlayer;
+    private boolean finished;
+    private Feedback lastPlayer1Feedback;
+    private Feedback lastPlayer2Feedback;
+    private GameRecord record;
+    private boolean verbose = true;
+    private GameListener listener;
+    private final List<BoardChange> player1Changes = new ArrayList<>();
+    private final List<BoardChange> player2Changes = new ArrayList<>();
 
     public Game(Player player1, Player player2) {
+        this(player1, player2, new Random().nextLong());
+    }
+
+    /**
+     * @param seed semente usada para sortear o jogador que começa, registrada junto com a partida.
+     */
+    public Game(Player player1, Player player2, long seed) {
+        this.seed = seed;
         board = new Board();
         board.player1 = player1;
         board.player2 = player2;
@@ -30,85 +60,282 @@ public class Game {
 
     private int getRound() { return round; }
 
+    /**
+     * Registro da partida, disponível após a chamada de {@link #start()} ou {@link #begin()}.
+     */
+    public GameRecord getRecord() { return record; }
+
+    Board getBoard() { return board; }
+
+    public boolean isFinished() { return finished; }
+
+    /**
+     * Define se o andamento da partida é impresso no console (padrão: {@code true}).
+     */
+    public void setVerbose(boolean verbose) { this.verbose = verbose; }
+
+    public void setListener(GameListener listener) { this.listener = listener; }
+
     /**
      * Inicia o jogo.
      */
     public void start() {
+        if (begin()) {
+            run();
+        }
+    }
+
+    /**
+     * Posiciona as peças dos jogadores e sorteia quem começa, sem executar jogadas.
+     * @return {@code false} se a partida terminou por setup inválido.
+     */
+    public boolean begin() {
         Piece[][] player1Setup = player1.setup(this.board);
         var player1SetupIsValid = this.board.addPlayerSetup(player1Setup, 1);
         Piece[][] player2Setup = player2.setup(this.board);
         var player2SetupIsValid = this.board.addPlayerSetup(player2Setup, 2);
+        record = new GameRecord(player1.getPlayerName(), player2.getPlayerName(), seed, player1Setup, player2Setup);
+        if (!player1SetupIsValid) {
+            logSetupErrors(player1, player1Setup);
+        }
+        if (!player2SetupIsValid) {
+            logSetupErrors(player2, player2Setup);
+        }
 
         if (!player1SetupIsValid && !player2SetupIsValid) {
-            System.out.println("Jogo concluído por setup inválido de ambos jogadores!");
-            System.out.println("Jogo empatado!");
-            return;
+            log("Jogo concluído por setup inválido de ambos jogadores!");
+            log("Jogo empatado!");
+            finish(0, GameEndReason.INVALID_SETUP);
+            return false;
         } else if (!player1SetupIsValid) {
-            System.out.println("Jogo concluído por setup inválido!");
-            System.out.println("Jogador " + player2.getPlayerName() + " venceu o jogo!");
-            return;
+            log("Jogo concluído por setup inválido!");
+            log("Jogador " + player2.getPlayerName() + " venceu o jogo!");
+            finish(2, GameEndReason.INVALID_SETUP);
+            return false;
         } else if (!player2SetupIsValid) {
-            System.out.println("Jogo concluído por setup inválido!");
-            System.out.println("Jogador " + player1.getPlayerName() + " venceu o jogo!");
-            return;
-        }
-
-        System.out.println("Estado inicial do tabuleiro:");
-        System.out.println(board.getFeedback());
-
-        Random rand = new Random();
-        boolean actualPlayer = rand.nextBoolean();
-
-        Feedback roundFeedback = null;
-        Feedback lastPlayer1Feedback = null;
-        Feedback lastPlayer2Feedback = null;
-
-        game:
-        while (true) {
-            System.out.println("Rodada " + this.getRound() + ":");
-
-            for (int i = 0; i < 2; i++) {
-                if (actualPlayer) {
-                    // Jogada do Player1
-                    PieceAction action = player1.play(
-                            board.getHiddenView(player1.getPlayerName()),
-                            lastPlayer1Feedback,
-                            ConvertFeedbackToEnemy.convert(lastPlayer2Feedback)
-                    );
-                    roundFeedback = board.executeAction(action);
-                    lastPlayer1Feedback  = roundFeedback;
-                    System.out.println("Player1: " + roundFeedback.getMessage());
-                    System.out.println(board.getFeedback());
-                } else {
-                    // Jogada do Player2
-                    PieceAction action = player2.play(
-                            board.getHiddenView(player2.getPlayerName()),
-                            lastPlayer2Feedback,
-                            ConvertFeedbackToEnemy.convert(lastPlayer1Feedback)
-                    );
-                    roundFeedback = board.executeAction(action);
-                    lastPlayer2Feedback  = roundFeedback;
-                    System.out.println("Player2: " + roundFeedback.getMessage());
-                    System.out.println(board.getFeedback());
-                }
-
-                if (roundFeedback instanceof PrisonerFeedback) {
-                    String playerName = actualPlayer ? player1.getPlayerName() : player2.getPlayerName();
-
-                    System.out.println("Jogo concluído com sucesso!!!");
-                    System.out.println("Parabéns ao jogador " + playerName + "!!!");
-                    break game;
-                }
-
-                actualPlayer = !actualPlayer;
-                Feedback actualState = board.isGameFinished();
-                if (actualState != null){
-                    System.out.println(actualState.getMessage());
-                    break game;
-                }
+            log("Jogo concluído por setup inválido!");
+            log("Jogador " + player1.getPlayerName() + " venceu o jogo!");
+            finish(1, GameEndReason.INVALID_SETUP);
+            return false;
+        }
+
+        if (verbose) {
+            log("Estado inicial do tabuleiro:");
+            log(board.getFeedback());
+        }
+
+        Random rand = new Random(seed);
+        actualPlayer = rand.nextBoolean();
+        record.setPlayer1Starts(actualPlayer);
+        return true;
+    }
+
+    /**
+     * Joga até o fim da partida, a partir do estado atual.
+     */
+    public void run() {
+        while (playHalfMove()) {
+            // continua até o fim da partida
+        }
+    }
+
+    /**
+     * Executa a jogada do jogador da vez.
+     * @return {@code false} se a partida terminou.
+     */
+    public boolean playHalfMove() {
+        if (finished) {
+            return false;
+        }
+        if (halfMoveInRound == 0) {
+            log("Rodada " + this.getRound() + ":");
+        }
+
+        Feedback roundFeedback;
+        if (actualPlayer) {
+            // Jogada do Player1
+            Board hiddenView = board.getHiddenView(player1.getPlayerName());
+            player1.onBoardDelta(takeChanges(player1Changes));
+            PieceAction action = player1.play(
+                    hiddenView,
+                    lastPlayer1Feedback,
+                    ConvertFeedbackToEnemy.convert(lastPlayer2Feedback)
+            );
+            roundFeedback = execute(action);
+            record.addMove(action, roundFeedback);
+            lastPlayer1Feedback  = roundFeedback;
+            if (listener != null) {
+                listener.onHalfMove(1, hiddenView, action, roundFeedback);
+            }
+            if (verbose) {
+                log("Player1: " + roundFeedback.getMessage());
+                log(board.getFeedback());
             }
+        } else {
+            // Jogada do Player2
+            Board hiddenView = board.getHiddenView(player2.getPlayerName());
+            player2.onBoardDelta(takeChanges(player2Changes));
+            PieceAction action = player2.play(
+                    hiddenView,
+                    lastPlayer2Feedback,
+                    ConvertFeedbackToEnemy.convert(lastPlayer1Feedback)
+            );
+            roundFeedback = execute(action);
+            record.addMove(action, roundFeedback);
+            lastPlayer2Feedback  = roundFeedback;
+            if (listener != null) {
+                listener.onHalfMove(2, hiddenView, action, roundFeedback);
+            }
+            if (verbose) {
+                log("Player2: " + roundFeedback.getMessage());
+                log(board.getFeedback());
+            }
+        }
+
+        if (roundFeedback instanceof PrisonerFeedback) {
+            String playerName = actualPlayer ? player1.getPlayerName() : player2.getPlayerName();
+
+            log("Jogo concluído com sucesso!!!");
+            log("Parabéns ao jogador " + playerName + "!!!");
+            finish(actualPlayer ? 1 : 2, GameEndReason.PRISONER_FOUND);
+            return false;
+        }
+
+        actualPlayer = !actualPlayer;
+        Feedback actualState = board.isGameFinished();
+        if (actualState != null){
+            log(actualState.getMessage());
+            finishRecord(actualState);
+            return false;
+        }
+
+        if (++halfMoveInRound == 2) {
+            halfMoveInRound = 0;
             this.increaseRound();
         }
+        return true;
+    }
+
+    /**
+     * Executa a ação no tabuleiro e guarda as mudanças resultantes para os dois jogadores.
+     */
+    private Feedback execute(PieceAction action) {
+        if (action == null || action.getPiece() == null) {
+            return board.executeAction(action);
+        }
+        int fromX = action.getPiece().getPosX();
+        int fromY = action.getPiece().getPosY();
+        int toX = action.getNewPosX();
+        int toY = action.getNewPosY();
+        Piece mover = board.getPiece(fromX, fromY);
+        Piece target = board.getPiece(toX, toY);
+
+        Feedback feedback = board.executeAction(action);
+        if (mover == null || feedback instanceof InvalidMoveFeedback) {
+            return feedback;
+        }
+
+        List<BoardChange> changes = new ArrayList<>(4);
+        if (target != null) {
+            changes.add(BoardChange.reveal(mover, fromX, fromY));
+            changes.add(BoardChange.reveal(target, toX, toY));
+            if (board.getPiece(toX, toY) != target) {
+                changes.add(BoardChange.remove(target, toX, toY));
+            }
+        }
+        if (board.getPiece(toX, toY) == mover) {
+            changes.add(BoardChange.move(mover, fromX, fromY, toX, toY));
+        } else {
+            changes.add(BoardChange.remove(mover, fromX, fromY));
+        }
+        player1Changes.addAll(changes);
+        player2Changes.addAll(changes);
+        return feedback;
+    }
+
+    private static List<BoardChange> takeChanges(List<BoardChange> pending) {
+        List<BoardChange> changes = List.copyOf(pending);
+        pending.clear();
+        return changes;
+    }
+
+    private void logSetupErrors(Player player, Piece[][] setup) {
+        for (SetupError error : SetupValidator.validate(setup)) {
+            log("Erro no setup de " + player.getPlayerName() + ": " + error.getMessage());
+        }
+    }
+
+    private void log(Object message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
+    private void finish(int winner, GameEndReason endReason) {
+        record.finish(winner, endReason);
+        finished = true;
+    }
+
+    private void finishRecord(Feedback finalState) {
+        if (finalState instanceof PlayerWithoutPiecesFeedback withoutPieces) {
+            finish(withoutPieces.getPlayer() == player1 ? 2 : 1, GameEndReason.PLAYER_WITHOUT_PIECES);
+        } else if (finalState instanceof MaxNumberOfMovesFeedback) {
+            finish(0, GameEndReason.MAX_NUMBER_OF_MOVES);
+        }
+    }
+
+    /**
+     * Cria um checkpoint da partida em andamento, incluindo o estado que os jogadores quiserem salvar.
+     */
+    public GameCheckpoint checkpoint() throws IOException {
+        if (record == null) {
+            throw new IllegalStateException("A partida ainda não foi iniciada");
+        }
+        return GameCheckpoint.create(board, record, actualPlayer, round, halfMoveInRound,
+                lastPlayer1Feedback, lastPlayer2Feedback, player1Changes, player2Changes, player1.saveState(), player2.saveState());
+    }
+
+    /**
+     * Recria uma partida a partir de um checkpoint. Os jogadores devem ter os mesmos nomes da partida original;
+     * para continuar, chame {@link #run()} ou {@link #playHalfMove()}.
+     */
+    public static Game resume(Player player1, Player player2, GameCheckpoint checkpoint) throws IOException {
+        Game game = new Game(player1, player2, 0);
+        checkpoint.restoreInto(game);
+        return game;
+    }
+
+    void restore(BoardSnapshot snapshot, UUID[] pieceIds, GameRecord record, boolean actualPlayer, int round, int halfMoveInRound) {
+        if (!record.getPlayer1Name().equals(player1.getPlayerName()) || !record.getPlayer2Name().equals(player2.getPlayerName())) {
+            throw new IllegalArgumentException("Jogadores não correspondem ao checkpoint: " + record.getPlayer1Name() + " x " + record.getPlayer2Name());
+        }
+        board.restore(snapshot, pieceIds);
+        this.record = record;
+        this.actualPlayer = actualPlayer;
+        this.round = round;
+        this.halfMoveInRound = halfMoveInRound;
+        this.finished = record.getEndReason() != GameEndReason.NOT_FINISHED;
+    }
+
+    void restoreFeedbacks(Feedback lastPlayer1Feedback, Feedback lastPlayer2Feedback) {
+        this.lastPlayer1Feedback = lastPlayer1Feedback;
+        this.lastPlayer2Feedback = lastPlayer2Feedback;
+    }
+
+    void restoreChanges(List<BoardChange> player1Changes, List<BoardChange> player2Changes) {
+        this.player1Changes.clear();
+        this.player1Changes.addAll(player1Changes);
+        this.player2Changes.clear();
+        this.player2Changes.addAll(player2Changes);
+    }
+
+    void restorePlayerStates(byte[] player1State, byte[] player2State) {
+        if (player1State != null) {
+            player1.restoreState(player1State);
+        }
+        if (player2State != null) {
+            player2.restoreState(player2State);
+        }
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,188 @@
+package game;
+
+import game.feedbacks.Feedback;
+import game.feedbacks.FeedbackCodec;
+import game.records.GameRecord;
+import game.records.GameRecordCodec;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checkpoint binário de uma partida em andamento, criado por {@link Game#checkpoint()} e retomado
+ * por {@link Game#resume}. Guarda o tabuleiro ({@link BoardSnapshot}) com os identificadores das peças, a vez, a rodada, os últimos
+ * feedbacks de cada jogador, as mudanças ({@link BoardChange}) ainda não entregues a cada um, o registro da partida
+ * e, opcionalmente, o estado interno dos jogadores.
+ */
+public final class GameCheckpoint {
+    private static final int MAGIC = 0x434D4350; // "CMCP"
+    private static final byte VERSION = 3;
+    /** Versão sem as mudanças pendentes; ao retomar, a primeira entrega de mudanças vem vazia. */
+    private static final byte VERSION_WITHOUT_CHANGES = 2;
+    /** Versão sem os identificadores das peças; ao retomar, as peças recebem identificadores novos. */
+    private static final byte VERSION_WITHOUT_IDS = 1;
+
+    private final byte[] data;
+
+    private GameCheckpoint(byte[] data) {
+        this.data = data;
+    }
+
+    static GameCheckpoint create(Board board, GameRecord record, boolean actualPlayer, int round, int halfMoveInRound,
+                                 Feedback lastPlayer1Feedback, Feedback lastPlayer2Feedback,
+                                 List<BoardChange> player1Changes, List<BoardChange> player2Changes,
+                                 byte[] player1State, byte[] player2State) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeBoolean(actualPlayer);
+        out.writeInt(round);
+        out.writeByte(halfMoveInRound);
+
+        ByteBuffer snapshot = ByteBuffer.allocate(BoardSnapshot.BYTES);
+        board.snapshot().writeTo(snapshot);
+        out.write(snapshot.array());
+        for (UUID id : board.getPieceIds()) {
+            if (id != null) {
+                out.writeLong(id.getMostSignificantBits());
+                out.writeLong(id.getLeastSignificantBits());
+            }
+        }
+
+        ByteBuffer encodedRecord = ByteBuffer.allocate(GameRecordCodec.encodedSize(record));
+        GameRecordCodec.encode(record, encodedRecord);
+        out.write(encodedRecord.array());
+
+        FeedbackCodec.encode(lastPlayer1Feedback, out);
+        FeedbackCodec.encode(lastPlayer2Feedback, out);
+        writeChanges(out, player1Changes);
+        writeChanges(out, player2Changes);
+        writeState(out, player1State);
+        writeState(out, player2State);
+        out.flush();
+        return new GameCheckpoint(bytes.toByteArray());
+    }
+
+    private static void writeChanges(DataOutputStream out, List<BoardChange> changes) throws IOException {
+        out.writeInt(changes.size());
+        for (BoardChange change : changes) {
+            out.writeByte(change.kind().ordinal());
+            out.writeLong(change.pieceId().getMostSignificantBits());
+            out.writeLong(change.pieceId().getLeastSignificantBits());
+            out.writeByte(change.x());
+            out.writeByte(change.y());
+            out.writeByte(change.toX());
+            out.writeByte(change.toY());
+            out.writeBoolean(change.code() != null);
+            if (change.code() != null) {
+                out.writeUTF(change.code());
+            }
+        }
+    }
+
+    private static List<BoardChange> readChanges(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Checkpoint inválido: " + count + " mudanças pendentes");
+        }
+        List<BoardChange> changes = new ArrayList<>(count);
+        BoardChange.Kind[] kinds = BoardChange.Kind.values();
+        for (int i = 0; i < count; i++) {
+            int kind = in.readByte();
+            if (kind < 0 || kind >= kinds.length) {
+                throw new IOException("Checkpoint inválido: tipo de mudança " + kind);
+            }
+            UUID pieceId = new UUID(in.readLong(), in.readLong());
+            int x = in.readByte();
+            int y = in.readByte();
+            int toX = in.readByte();
+            int toY = in.readByte();
+            String code = in.readBoolean() ? in.readUTF() : null;
+            changes.add(new BoardChange(kinds[kind], pieceId, x, y, toX, toY, code));
+        }
+        return changes;
+    }
+
+    private static void writeState(DataOutputStream out, byte[] state) throws IOException {
+        out.writeInt(state == null ? -1 : state.length);
+        if (state != null) {
+            out.write(state);
+        }
+    }
+
+    /**
+     * Aplica o checkpoint em uma partida recém-criada com os mesmos jogadores.
+     */
+    void restoreInto(Game game) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Checkpoint inválido: assinatura incorreta");
+        }
+        byte version = in.readByte();
+        if (version < VERSION_WITHOUT_IDS || version > VERSION) {
+            throw new IOException("Versão de checkpoint não suportada: " + version);
+        }
+        boolean actualPlayer = in.readBoolean();
+        int round = in.readInt();
+        int halfMoveInRound = in.readByte();
+
+        byte[] snapshot = new byte[BoardSnapshot.BYTES];
+        in.readFully(snapshot);
+        BoardSnapshot boardSnapshot = BoardSnapshot.readFrom(ByteBuffer.wrap(snapshot));
+        UUID[] pieceIds = null;
+        if (version >= VERSION_WITHOUT_CHANGES) {
+            pieceIds = new UUID[Board.ROWS * Board.COLS];
+            for (int cell = 0; cell < pieceIds.length; cell++) {
+                if (boardSnapshot.getCell(cell) != 0) {
+                    pieceIds[cell] = new UUID(in.readLong(), in.readLong());
+                }
+            }
+        }
+
+        int recordLength = in.readInt();
+        ByteBuffer encodedRecord = ByteBuffer.allocate(Integer.BYTES + recordLength);
+        encodedRecord.putInt(recordLength);
+        in.readFully(encodedRecord.array(), Integer.BYTES, recordLength);
+        GameRecord record = GameRecordCodec.decode(encodedRecord.rewind());
+
+        game.restore(boardSnapshot, pieceIds, record, actualPlayer, round, halfMoveInRound);
+        Board board = game.getBoard();
+        game.restoreFeedbacks(FeedbackCodec.decode(in, board), FeedbackCodec.decode(in, board));
+        if (version == VERSION) {
+            game.restoreChanges(readChanges(in), readChanges(in));
+        }
+        game.restorePlayerStates(readState(in), readState(in));
+    }
+
+    private static byte[] readState(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] state = new byte[length];
+        in.readFully(state);
+        return state;
+    }
+
+    public byte[] toBytes() {
+        return data.clone();
+    }
+
+    public static GameCheckpoint fromBytes(byte[] data) {
+        return new GameCheckpoint(data.clone());
+    }
+
+    public void write(Path path) throws IOException {
+        Files.write(path, data);
+    }
+
+    public static GameCheckpoint read(Path path) throws IOException {
+        return new GameCheckpoint(Files.readAllBytes(path));
+    }
+}
@@ -0,0 +1,18 @@
+package game;
+
+import game.feedbacks.Feedback;
+import game.pieces.PieceAction;
+
+/**
+ * Observa as meias-jogadas de uma {@link Game}.
+ */
+public interface GameListener {
+    /**
+     * Chamado após cada jogada executada.
+     * @param player jogador que jogou (1 ou 2).
+     * @param hiddenView visão oculta entregue ao jogador, com a posição anterior à jogada.
+     * @param action ação devolvida pelo jogador (pode ser {@code null}).
+     * @param feedback resultado da jogada.
+     */
+    void onHalfMove(int player, Board hiddenView, PieceAction action, Feedback feedback);
+}
@@ -0,0 +1,33 @@
+package game;
+
+import game.pieces.Piece;
+
+/**
+ * Delta reversível de uma meia-jogada, criado por {@link Board#prepareUndo} antes de
+ * {@link Board#executeAction} e aplicado por {@link Board#undo}.
+ * Uma jogada só altera as casas de origem e destino, o contador de jogadas e o histórico de peças movidas.
+ */
+public final class MoveUndo {
+    final int fromX;
+    final int fromY;
+    final Piece fromPiece;
+    final int toX;
+    final int toY;
+    final Piece toPiece;
+    final int numberMoves;
+    final Piece[] lastPiecesPlayedByP1;
+    final Piece[] lastPiecesPlayedByP2;
+
+    MoveUndo(int fromX, int fromY, Piece fromPiece, int toX, int toY, Piece toPiece,
+             int numberMoves, Piece[] lastPiecesPlayedByP1, Piece[] lastPiecesPlayedByP2) {
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.fromPiece = fromPiece;
+        this.toX = toX;
+        this.toY = toY;
+        this.toPiece = toPiece;
+        this.numberMoves = numberMoves;
+        this.lastPiecesPlayedByP1 = lastPiecesPlayedByP1;
+        this.lastPiecesPlayedByP2 = lastPiecesPlayedByP2;
+    }
+}
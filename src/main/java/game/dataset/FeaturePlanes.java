@@ -0,0 +1,84 @@
+package game.dataset;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+import game.pieces.QuantityPerPiece;
+
+import java.util.Arrays;
+
+/**
+ * Planos de características 10x10 de uma posição, do ponto de vista do jogador da vez.
+ * O tabuleiro é girado 180° para o Player1, de modo que as peças próprias sempre começam nas linhas G-J.
+ * <pre>
+ *  planos  0-11  peças próprias, um plano por tipo de {@link QuantityPerPiece}
+ *  plano   12    peças adversárias de tipo desconhecido
+ *  planos 13-24  peças adversárias com tipo revelado
+ *  plano   25    lagos
+ * </pre>
+ * Os planos são binários e guardados com um bit por casa ({@link #PACKED_BYTES} bytes).
+ * O número de jogadas é uma característica escalar, gravada à parte em cada amostra.
+ */
+public final class FeaturePlanes {
+    public static final int CELLS = Board.ROWS * Board.COLS;
+    public static final int TYPES = QuantityPerPiece.values().length;
+    public static final int OWN_TYPES = 0;
+    public static final int UNKNOWN_ENEMY = OWN_TYPES + TYPES;
+    public static final int REVEALED_ENEMY_TYPES = UNKNOWN_ENEMY + 1;
+    public static final int LAKES = REVEALED_ENEMY_TYPES + TYPES;
+    public static final int PLANES = LAKES + 1;
+    public static final int PACKED_BYTES = (PLANES * CELLS + 7) / 8;
+
+    private FeaturePlanes() {
+    }
+
+    /**
+     * Casa no referencial do jogador: girada 180° para o Player1.
+     */
+    public static int canonicalCell(int cell, int player) {
+        return player == 1 ? CELLS - 1 - cell : cell;
+    }
+
+    /**
+     * Preenche {@code out} com os planos compactados da visão oculta entregue a {@code player}.
+     * @param revealed tipos já revelados, no formato de casa do {@link BoardSnapshot}; {@code null} se desconhecidos.
+     */
+    public static void encode(Board hiddenView, int player, RevealedPieces revealed, byte[] out) {
+        Arrays.fill(out, (byte) 0);
+        int enemyBit = player == 1 ? BoardSnapshot.PLAYER2_BIT : 0;
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            int x = cell / Board.COLS;
+            int y = cell % Board.COLS;
+            int canonical = canonicalCell(cell, player);
+            Piece piece = hiddenView.getPiece(x, y);
+
+            if (Board.isLake(x, y)) {
+                set(out, LAKES, canonical);
+            } else if (piece instanceof OpponentPiece) {
+                int code = revealed == null ? 0 : revealed.get(cell);
+                if ((code & BoardSnapshot.TYPE_MASK) != 0 && (code & BoardSnapshot.PLAYER2_BIT) == enemyBit) {
+                    set(out, REVEALED_ENEMY_TYPES + (code & BoardSnapshot.TYPE_MASK) - 1, canonical);
+                } else {
+                    set(out, UNKNOWN_ENEMY, canonical);
+                }
+            } else if (piece != null) {
+                set(out, OWN_TYPES + BoardSnapshot.typeCode(piece) - 1, canonical);
+            }
+        }
+    }
+
+    private static void set(byte[] packed, int plane, int cell) {
+        int bit = plane * CELLS + cell;
+        packed[bit >>> 3] |= (byte) (1 << (bit & 7));
+    }
+
+    /**
+     * Lê um bit dos planos compactados.
+     */
+    public static boolean get(byte[] packed, int plane, int cell) {
+        int bit = plane * CELLS + cell;
+        return (packed[bit >>> 3] & (1 << (bit & 7))) != 0;
+    }
+}
@@ -0,0 +1,66 @@
+package game.dataset;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.pieces.QuantityPerPiece;
+import game.records.MoveEntry;
+
+import java.util.Arrays;
+
+/**
+ * Acompanha as peças cujo tipo já foi revelado publicamente durante a partida (combates e
+ * movimentos longos de Soldado), com o mesmo código de casa do {@link BoardSnapshot}.
+ */
+public class RevealedPieces {
+    private static final int SOLDIER_CODE = QuantityPerPiece.SOLDIER.ordinal() + 1;
+    private static final int CORPORAL_CODE = QuantityPerPiece.CORPORAL.ordinal() + 1;
+
+    private final byte[] cells = new byte[Board.ROWS * Board.COLS];
+
+    public void clear() {
+        Arrays.fill(cells, (byte) 0);
+    }
+
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Atualiza as revelações com a {@link MoveEntry} da jogada de {@code player}.
+     */
+    public void update(int player, int entry) {
+        int from = MoveEntry.fromCell(entry);
+        int to = MoveEntry.toCell(entry);
+        if (from == MoveEntry.NO_CELL || to == MoveEntry.NO_CELL) {
+            return;
+        }
+        int owner = player == 1 ? 0 : BoardSnapshot.PLAYER2_BIT;
+        int enemy = owner ^ BoardSnapshot.PLAYER2_BIT;
+
+        switch (MoveEntry.outcome(entry)) {
+            case MOVE -> {
+                boolean longMove = Math.abs(from / Board.COLS - to / Board.COLS) + Math.abs(from % Board.COLS - to % Board.COLS) > 1;
+                cells[to] = longMove ? (byte) (SOLDIER_CODE | owner) : cells[from];
+                cells[from] = 0;
+            }
+            case ATTACK -> {
+                cells[to] = (byte) (MoveEntry.attackerType(entry) | owner);
+                cells[from] = 0;
+            }
+            case DEFEAT, PRISONER -> {
+                cells[to] = (byte) (MoveEntry.defenderType(entry) | enemy);
+                cells[from] = 0;
+            }
+            case LANDMINE_DEACTIVATION -> {
+                cells[to] = (byte) (CORPORAL_CODE | owner);
+                cells[from] = 0;
+            }
+            case EQUAL_STRENGTH, LANDMINE -> {
+                cells[to] = 0;
+                cells[from] = 0;
+            }
+            case INVALID -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package game.dataset;
+
+import game.Board;
+import game.Game;
+import game.GameListener;
+import game.feedbacks.Feedback;
+import game.pieces.PieceAction;
+import game.players.Player;
+import game.records.GameRecord;
+import game.records.MoveEntry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gera conjuntos de dados de autojogo: executa partidas em paralelo entre os jogadores configurados e
+ * converte cada posição entregue ao jogador da vez em {@link FeaturePlanes}, rotulada com a jogada escolhida
+ * e o resultado final. As partidas concluídas passam por uma fila limitada até o {@link ShardWriter},
+ * de modo que a memória usada não depende do número de partidas.
+ */
+public class SelfPlayGenerator {
+    private final Supplier<Player> player1Factory;
+    private final Supplier<Player> player2Factory;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int samplesPerShard = 100_000;
+    private int queueCapacity = 2 * Runtime.getRuntime().availableProcessors();
+    private long seed = 0;
+
+    /**
+     * @param player1Factory cria o Player1 de cada partida; os jogadores precisam ter nomes diferentes.
+     */
+    public SelfPlayGenerator(Supplier<Player> player1Factory, Supplier<Player> player2Factory) {
+        this.player1Factory = player1Factory;
+        this.player2Factory = player2Factory;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setSamplesPerShard(int samplesPerShard) {
+        this.samplesPerShard = samplesPerShard;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Semente base; a partida {@code i} usa {@code seed + i}.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Joga {@code games} partidas e grava as amostras em {@code outputDirectory}.
+     * @return número de amostras gravadas.
+     */
+    public long generate(int games, Path outputDirectory) throws IOException, InterruptedException {
+        BlockingQueue<GameSamples> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (ShardWriter writer = new ShardWriter(outputDirectory, samplesPerShard)) {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    int gameIndex;
+                    while ((gameIndex = nextGame.getAndIncrement()) < games) {
+                        GameSamples samples;
+                        try {
+                            samples = playGame(seed + gameIndex);
+                        } catch (Throwable e) {
+                            // Inclui Errors dos agentes, para que o consumidor não fique esperando a partida
+                            samples = new GameSamples(e);
+                        }
+                        try {
+                            queue.put(samples);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+
+            for (int received = 0; received < games; received++) {
+                queue.take().writeTo(writer);
+            }
+            return writer.getTotalSamples();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private GameSamples playGame(long gameSeed) {
+        Player player1 = player1Factory.get();
+        Player player2 = player2Factory.get();
+        if (player1.getPlayerName().equals(player2.getPlayerName())) {
+            throw new IllegalArgumentException("Os jogadores precisam ter nomes diferentes: " + player1.getPlayerName());
+        }
+
+        Game game = new Game(player1, player2, gameSeed);
+        game.setVerbose(false);
+        GameSamples samples = new GameSamples();
+        game.setListener(samples);
+        if (game.begin()) {
+            game.run();
+        }
+        samples.finish(game.getRecord());
+        return samples;
+    }
+
+    /**
+     * Amostras de uma partida, mantidas até que o resultado final seja conhecido.
+     */
+    private static class GameSamples implements GameListener {
+        private final RevealedPieces revealed = new RevealedPieces();
+        private final List<byte[]> planes = new ArrayList<>();
+        private final List<int[]> labels = new ArrayList<>();
+        private final Throwable error;
+        private int winner;
+
+        GameSamples() {
+            this.error = null;
+        }
+
+        GameSamples(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onHalfMove(int player, Board hiddenView, PieceAction action, Feedback feedback) {
+            byte[] packed = new byte[FeaturePlanes.PACKED_BYTES];
+            FeaturePlanes.encode(hiddenView, player, revealed, packed);
+
+            int entry = MoveEntry.of(action, feedback);
+            int from = MoveEntry.fromCell(entry);
+            int to = MoveEntry.toCell(entry);
+            int move = from == MoveEntry.NO_CELL || to == MoveEntry.NO_CELL ? -1
+                    : FeaturePlanes.canonicalCell(from, player) * FeaturePlanes.CELLS + FeaturePlanes.canonicalCell(to, player);
+
+            planes.add(packed);
+            labels.add(new int[] { player, hiddenView.numberMoves, move });
+            revealed.update(player, entry);
+        }
+
+        void finish(GameRecord record) {
+            winner = record.getWinner();
+        }
+
+        void writeTo(ShardWriter writer) throws IOException {
+            if (error instanceof RuntimeException e) {
+                throw e;
+            }
+            if (error instanceof Error e) {
+                throw e;
+            }
+            if (error != null) {
+                throw new IllegalStateException("Falha ao jogar a partida", error);
+            }
+            for (int i = 0; i < planes.size(); i++) {
+                int[] label = labels.get(i);
+                int result = winner == 0 ? 0 : winner == label[0] ? 1 : -1;
+                writer.write(planes.get(i), label[1], label[2], result);
+            }
+        }
+    }
+}
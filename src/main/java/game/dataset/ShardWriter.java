@@ -0,0 +1,90 @@
+package game.dataset;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Grava amostras em fragmentos binários comprimidos com GZIP e, ao fechar, o manifesto {@link #MANIFEST}.
+ * Cada amostra ocupa {@link #SAMPLE_BYTES} bytes antes da compressão:
+ * <pre>
+ *  byte[{@link FeaturePlanes#PACKED_BYTES}]  planos compactados
+ *  short  número de jogadas da partida antes da jogada
+ *  short  jogada no referencial do jogador (origem * 100 + destino), ou -1 se não houve ação
+ *  byte   resultado final para o jogador da vez: 1 vitória, 0 empate, -1 derrota
+ * </pre>
+ */
+public class ShardWriter implements Closeable {
+    public static final String MANIFEST = "manifest.txt";
+    public static final int SAMPLE_BYTES = FeaturePlanes.PACKED_BYTES + 2 * Short.BYTES + 1;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final int samplesPerShard;
+    private final List<String> shardNames = new ArrayList<>();
+    private final List<Integer> shardSizes = new ArrayList<>();
+    private DataOutputStream out;
+    private int samplesInShard;
+    private long totalSamples;
+
+    public ShardWriter(Path directory, int samplesPerShard) throws IOException {
+        if (samplesPerShard < 1) {
+            throw new IllegalArgumentException("Fragmento deve ter ao menos uma amostra: " + samplesPerShard);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.samplesPerShard = samplesPerShard;
+    }
+
+    public void write(byte[] planes, int numberMoves, int move, int result) throws IOException {
+        if (out == null) {
+            String name = String.format("shard-%05d.bin.gz", shardNames.size());
+            out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(directory.resolve(name)), 64 * 1024)));
+            shardNames.add(name);
+        }
+        out.write(planes, 0, FeaturePlanes.PACKED_BYTES);
+        out.writeShort(numberMoves);
+        out.writeShort(move);
+        out.writeByte(result);
+        totalSamples++;
+
+        if (++samplesInShard == samplesPerShard) {
+            closeShard();
+        }
+    }
+
+    private void closeShard() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+            shardSizes.add(samplesInShard);
+            samplesInShard = 0;
+        }
+    }
+
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeShard();
+        try (PrintWriter manifest = new PrintWriter(Files.newBufferedWriter(directory.resolve(MANIFEST), StandardCharsets.UTF_8))) {
+            manifest.println("format combate-selfplay " + FORMAT_VERSION);
+            manifest.println("planes " + FeaturePlanes.PLANES);
+            manifest.println("cells " + FeaturePlanes.CELLS);
+            manifest.println("sample_bytes " + SAMPLE_BYTES);
+            manifest.println("samples " + totalSamples);
+            for (int i = 0; i < shardNames.size(); i++) {
+                manifest.println("shard " + shardNames.get(i) + " " + shardSizes.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package game.endgame;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.search.SearchState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Gera as tabelas de finais por análise retrógrada e as grava no formato lido pelo {@link EndgameTablebase}.
+ * <p>
+ * As regras são as do {@link SearchState}, com uma diferença: o jogador da vez sempre pode passar, como no
+ * {@link game.Game}, onde uma jogada nula só gasta a vez. Capturas e Minas Terrestres desativadas levam a materiais
+ * menores, gerados antes (recursivamente) e consultados prontos.
+ * <p>
+ * A análise avança uma meia-jogada por iteração: na iteração {@code n} uma posição é vitória em {@code n} se alguma
+ * jogada leva a uma derrota do adversário em {@code n - 1}, e é derrota quando todas as jogadas, inclusive passar,
+ * levam a vitórias do adversário. Cada iteração lê apenas os valores das anteriores, então as posições pendentes são
+ * avaliadas em paralelo. O que não se resolve é empate. O limite de {@link SearchState#MAX_NUMBER_OF_MOVES} jogadas
+ * da partida é ignorado; quem consulta compara a distância com as jogadas que restam.
+ */
+public class EndgameGenerator {
+    private static final short PENDING = Short.MIN_VALUE;
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+    private static final int NO_WIN = Integer.MAX_VALUE;
+    private static final int[] NEIGHBOR = new int[SearchState.CELLS * 4];
+
+    static {
+        int[] dx = {-1, 1, 0, 0};
+        int[] dy = {0, 0, -1, 1};
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            for (int dir = 0; dir < 4; dir++) {
+                int x = cell / Board.COLS + dx[dir];
+                int y = cell % Board.COLS + dy[dir];
+                NEIGHBOR[cell * 4 + dir] = Board.isValidPosition(x, y) ? x * Board.COLS + y : -1;
+            }
+        }
+    }
+
+    private final Path directory;
+    private final Map<EndgameMaterial, short[]> tables = new HashMap<>();
+    private int generatedTables;
+
+    public EndgameGenerator(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gera a tabela do material e as dos materiais alcançáveis por capturas, pulando as que já existem no diretório.
+     * @return número de tabelas geradas nesta chamada.
+     */
+    public int generate(EndgameMaterial material) throws IOException {
+        int before = generatedTables;
+        table(material);
+        return generatedTables - before;
+    }
+
+    private short[] table(EndgameMaterial material) throws IOException {
+        short[] values = tables.get(material);
+        if (values != null) {
+            return values;
+        }
+        Path path = EndgameTablebase.path(directory, material);
+        if (Files.exists(path)) {
+            values = EndgameTablebase.read(path, material);
+        } else {
+            values = new Analysis(material).run();
+            write(path, material, values);
+            generatedTables++;
+        }
+        tables.put(material, values);
+        return values;
+    }
+
+    private static void write(Path path, EndgameMaterial material, short[] values) throws IOException {
+        Files.createDirectories(path.getParent());
+        byte[] name = material.getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.allocate(EndgameTablebase.valuesOffset(name.length) + values.length * Short.BYTES);
+        out.putInt(EndgameTablebase.MAGIC);
+        out.put(EndgameTablebase.VERSION);
+        out.putShort((short) name.length);
+        out.put(name);
+        out.putInt(values.length);
+        out.asShortBuffer().put(values);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, out.array());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Material alcançado por uma captura, com a tabela já gerada.
+     */
+    private record Successor(EndgameMaterial material, short[] values) {
+    }
+
+    /**
+     * Análise de um material. Os valores valem {@code +n} (o jogador da vez vence em {@code n} meias-jogadas),
+     * {@code -n} (perde em {@code n}), 0 (empate ou índice que não é posição) ou {@link #PENDING} durante a análise.
+     */
+    private class Analysis {
+        private final EndgameMaterial material;
+        private final int pieceCount;
+        private final short[] values;
+        private final Map<Integer, Successor> successors = new HashMap<>();
+        private final ThreadLocal<int[]> scratchCells;
+        private final ThreadLocal<int[]> scratchOccupant;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        Analysis(EndgameMaterial material) throws IOException {
+            this.material = material;
+            this.pieceCount = material.getPieceCount();
+            this.values = new short[(int) material.size()];
+            this.scratchCells = ThreadLocal.withInitial(() -> new int[2 * pieceCount]);
+            this.scratchOccupant = ThreadLocal.withInitial(() -> {
+                int[] occupant = new int[SearchState.CELLS];
+                Arrays.fill(occupant, -1);
+                return occupant;
+            });
+            prepareSuccessors();
+        }
+
+        /**
+         * Gera antes as tabelas de todos os materiais que uma captura pode alcançar.
+         */
+        private void prepareSuccessors() throws IOException {
+            for (int attacker = 0; attacker < pieceCount; attacker++) {
+                int attackerCode = material.getPiece(attacker);
+                int attackerType = attackerCode & BoardSnapshot.TYPE_MASK;
+                for (int defender = 0; defender < pieceCount; defender++) {
+                    int defenderCode = material.getPiece(defender);
+                    if (SearchState.owner(defenderCode) != SearchState.owner(attackerCode)) {
+                        prepare(captureMask(attacker, defender, SearchState.fight(attackerType, defenderCode & BoardSnapshot.TYPE_MASK)), -1);
+                    }
+                }
+                for (int cell = 0; cell < SearchState.CELLS; cell++) {
+                    int fixed = material.getFixed(cell);
+                    if ((fixed & BoardSnapshot.TYPE_MASK) == SearchState.LAND_MINE && SearchState.owner(fixed) != SearchState.owner(attackerCode)) {
+                        prepare(attackerType == SearchState.CORPORAL ? 0 : 1 << attacker, cell);
+                    }
+                }
+            }
+        }
+
+        private void prepare(int removedSlots, int removedFixedCell) throws IOException {
+            int key = successorKey(removedSlots, removedFixedCell);
+            if (!successors.containsKey(key)) {
+                EndgameMaterial next = material.without(removedSlots, removedFixedCell);
+                successors.put(key, next == null ? null : new Successor(next, table(next)));
+            }
+        }
+
+        private int successorKey(int removedSlots, int removedFixedCell) {
+            return removedSlots << 8 | (removedFixedCell + 1);
+        }
+
+        private int captureMask(int attacker, int defender, int fight) {
+            return fight > 0 ? 1 << defender : fight == 0 ? 1 << attacker | 1 << defender : 1 << attacker;
+        }
+
+        short[] run() {
+            int[] cells = new int[pieceCount];
+            int[] open = IntStream.range(0, values.length).filter(index -> isPosition(index, cells)).toArray();
+            for (int index : open) {
+                values[index] = PENDING;
+            }
+
+            int openCount = open.length;
+            for (int ply = 1; ; ply++) {
+                int currentPly = ply;
+                int[] open0 = open;
+                short[] results = new short[openCount];
+                IntStream.range(0, openCount).parallel().forEach(i -> results[i] = (short) evaluate(open0[i], currentPly));
+
+                int remaining = 0;
+                boolean changed = false;
+                for (int i = 0; i < openCount; i++) {
+                    if (results[i] != 0) {
+                        values[open[i]] = results[i];
+                        changed = true;
+                    } else {
+                        open[remaining++] = open[i];
+                    }
+                }
+                openCount = remaining;
+                if (openCount == 0 || (!changed && ply >= pending.get())) {
+                    break;
+                }
+            }
+            for (int i = 0; i < openCount; i++) {
+                values[open[i]] = 0;
+            }
+            return values;
+        }
+
+        private boolean isPosition(int index, int[] cells) {
+            material.decode(index, cells);
+            for (int slot = 0; slot < pieceCount; slot++) {
+                if (material.getFixed(cells[slot]) != 0) {
+                    return false;
+                }
+                for (int other = 0; other < slot; other++) {
+                    if (cells[other] == cells[slot]) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return o valor da posição se ele já está decidido na meia-jogada {@code ply}, ou 0.
+         */
+        private int evaluate(int index, int ply) {
+            int[] cells = scratchCells.get();
+            int[] occupant = scratchOccupant.get();
+            int state = material.decode(index, cells);
+            int side = state >>> 16;
+            int[] streaks = {0, state >>> 8 & 0xFF, state & 0xFF};
+            for (int slot = 0; slot < pieceCount; slot++) {
+                occupant[cells[slot]] = slot;
+            }
+
+            Outcome outcome = new Outcome();
+            outcome.add(inTable(material.index(3 - side, streaks[1], streaks[2], cells)));
+
+            int first = material.firstSlot(side);
+            int streak = streaks[side];
+            int lastLocal = streak == 0 ? -1 : (streak - 1) / 3;
+            int lastCount = streak == 0 ? 0 : (streak - 1) % 3 + 1;
+            for (int local = 0; local < material.getPieceCount(side) && outcome.bestWin > 1; local++) {
+                if (local == lastLocal && lastCount >= Board.MAX_CONSECUTIVE_MOVES_SAME_PIECE) {
+                    continue;
+                }
+                int slot = first + local;
+                int from = cells[slot];
+                int type = material.getPiece(slot) & BoardSnapshot.TYPE_MASK;
+                int movedStreak = EndgameMaterial.streak(local, local == lastLocal ? lastCount + 1 : 1);
+                for (int dir = 0; dir < 4; dir++) {
+                    int to = NEIGHBOR[from * 4 + dir];
+                    while (to >= 0) {
+                        int target = occupant[to];
+                        int fixed = material.getFixed(to);
+                        if (target < 0 && fixed == 0) {
+                            occupant[from] = -1;
+                            cells[slot] = to;
+                            int saved = streaks[side];
+                            streaks[side] = movedStreak;
+                            outcome.add(inTable(material.index(3 - side, streaks[1], streaks[2], cells)));
+                            streaks[side] = saved;
+                            cells[slot] = from;
+                            occupant[from] = slot;
+                            to = type == SearchState.SOLDIER ? NEIGHBOR[to * 4 + dir] : -1;
+                            continue;
+                        }
+                        if (to != NEIGHBOR[from * 4 + dir]) {
+                            // O Soldado só ataca a casa vizinha; o movimento longo para na primeira casa ocupada
+                            break;
+                        }
+                        if (target >= 0 && SearchState.owner(material.getPiece(target)) != side) {
+                            int defenderType = material.getPiece(target) & BoardSnapshot.TYPE_MASK;
+                            int fight = SearchState.fight(type, defenderType);
+                            outcome.add(capture(side, slot, captureMask(slot, target, fight), -1, fight > 0 ? to : -1,
+                                    movedStreak, cells, streaks));
+                        } else if (fixed != 0 && SearchState.owner(fixed) != side) {
+                            if ((fixed & BoardSnapshot.TYPE_MASK) == SearchState.PRISONER) {
+                                outcome.add(1);
+                            } else if (type == SearchState.CORPORAL) {
+                                outcome.add(capture(side, slot, 0, to, to, movedStreak, cells, streaks));
+                            } else {
+                                outcome.add(capture(side, slot, 1 << slot, to, -1, movedStreak, cells, streaks));
+                            }
+                        }
+                        break;
+                    }
+                }
+            }
+
+            for (int slot = 0; slot < pieceCount; slot++) {
+                occupant[cells[slot]] = -1;
+            }
+            if (outcome.bestWin <= ply) {
+                return outcome.bestWin;
+            }
+            if (outcome.bestWin != NO_WIN) {
+                pending.accumulateAndGet(outcome.bestWin, Math::max);
+            } else if (outcome.allLosses) {
+                return -outcome.longestLoss;
+            }
+            return 0;
+        }
+
+        /**
+         * Resultado, para quem jogou, de chegar a uma posição deste material com o adversário na vez.
+         */
+        private int inTable(long index) {
+            int value = values[(int) index];
+            return value == PENDING ? UNKNOWN : forMover(value);
+        }
+
+        /**
+         * Resultado, para quem jogou, de uma captura: sai das peças de {@code removedSlots} e da peça fixa em
+         * {@code removedFixedCell}; a peça que atacou termina em {@code survivorCell}, ou -1 se foi eliminada.
+         */
+        private int capture(int side, int mover, int removedSlots, int removedFixedCell, int survivorCell,
+                            int movedStreak, int[] cells, int[] streaks) {
+            Successor next = successors.get(successorKey(removedSlots, removedFixedCell));
+            if (next == null) {
+                // Algum jogador ficou sem peças móveis; o Board confere o jogador 1 primeiro
+                int first = material.firstSlot(2);
+                boolean player1Left = false;
+                for (int slot = 0; slot < first; slot++) {
+                    player1Left |= (removedSlots & 1 << slot) == 0;
+                }
+                int winner = player1Left ? 1 : 2;
+                return winner == side ? 1 : -1;
+            }
+
+            int[] nextCells = new int[pieceCount];
+            int[] nextStreaks = new int[3];
+            int count = 0;
+            for (int slot = 0; slot < pieceCount; slot++) {
+                if ((removedSlots & 1 << slot) == 0) {
+                    nextCells[count++] = slot == mover ? survivorCell : cells[slot];
+                }
+            }
+            for (int player = 1; player <= 2; player++) {
+                int streak = player == side ? (survivorCell < 0 ? 0 : movedStreak) : streaks[player];
+                if (streak == 0) {
+                    continue;
+                }
+                int first = material.firstSlot(player);
+                int local = (streak - 1) / 3;
+                if ((removedSlots & 1 << (first + local)) != 0) {
+                    continue;
+                }
+                int removedBefore = Integer.bitCount(removedSlots & ((1 << (first + local)) - 1) & ~((1 << first) - 1));
+                nextStreaks[player] = streak - 3 * removedBefore;
+            }
+            long index = next.material().index(3 - side, nextStreaks[1], nextStreaks[2], nextCells);
+            return forMover(next.values()[(int) index]);
+        }
+    }
+
+    /**
+     * Converte o valor de uma posição, visto pelo jogador da vez, no resultado para quem jogou antes dela.
+     */
+    private static int forMover(int value) {
+        return value < 0 ? 1 - value : value > 0 ? -(value + 1) : 0;
+    }
+
+    /**
+     * Combina os resultados das jogadas de uma posição.
+     */
+    private static final class Outcome {
+        int bestWin = NO_WIN;
+        int longestLoss;
+        boolean allLosses = true;
+
+        void add(int result) {
+            if (result == UNKNOWN || result == 0) {
+                allLosses = false;
+            } else if (result > 0) {
+                bestWin = Math.min(bestWin, result);
+            } else {
+                longestLoss = Math.max(longestLoss, -result);
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package game.endgame;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.pieces.QuantityPerPiece;
+import game.search.SearchState;
+
+import java.util.Arrays;
+
+/**
+ * Material de um final: as peças fixas (Prisioneiros e Minas Terrestres, com as suas casas) e os tipos das peças
+ * móveis de cada jogador, que podem estar em qualquer casa livre. Cada material tem a sua tabela.
+ * <p>
+ * As peças móveis ocupam posições ({@code slots}) na ordem jogador 1, jogador 2 e, dentro de cada jogador, por
+ * código de tipo. O índice de uma posição combina o jogador da vez, a sequência de movimentos de cada jogador
+ * ({@link #streak}) e a casa de cada peça entre as {@link #SQUARES} casas jogáveis:
+ * <pre>
+ *  ((vez * sequências1 + sequência1) * sequências2 + sequência2) * 92^peças + casas
+ * </pre>
+ * Índices com duas peças na mesma casa, ou uma peça sobre uma peça fixa, não são posições e ficam como empate.
+ */
+public final class EndgameMaterial {
+    /** Casas fora dos lagos. */
+    public static final int SQUARES = 92;
+    /** Limite de posições de uma tabela, para caber em um arquivo mapeado de 2 bytes por posição. */
+    public static final long MAX_POSITIONS = 1L << 29;
+
+    static final int[] CELL_OF_SQUARE = new int[SQUARES];
+    static final int[] SQUARE_OF_CELL = new int[SearchState.CELLS];
+
+    static {
+        int square = 0;
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            if (Board.isLake(cell / Board.COLS, cell % Board.COLS)) {
+                SQUARE_OF_CELL[cell] = -1;
+            } else {
+                SQUARE_OF_CELL[cell] = square;
+                CELL_OF_SQUARE[square++] = cell;
+            }
+        }
+    }
+
+    private final byte[] fixed;
+    private final byte[] pieces;
+    private final int player1Pieces;
+    private final int positions;
+    private final int streaks1;
+    private final int streaks2;
+    private final long size;
+    private final String name;
+
+    /**
+     * @param fixedCells as {@link SearchState#CELLS} casas, só com Prisioneiros e Minas Terrestres
+     *                   (código de tipo com {@link BoardSnapshot#PLAYER2_BIT} para o dono).
+     * @param player1Types códigos de tipo das peças móveis do jogador 1, em qualquer ordem.
+     */
+    public EndgameMaterial(byte[] fixedCells, int[] player1Types, int[] player2Types) {
+        if (fixedCells.length != SearchState.CELLS) {
+            throw new IllegalArgumentException("Tabuleiro deve ter " + SearchState.CELLS + " casas: " + fixedCells.length);
+        }
+        int[] prisoners = new int[3];
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            int code = fixedCells[cell];
+            int type = code & BoardSnapshot.TYPE_MASK;
+            if (code == 0) {
+                continue;
+            }
+            if ((type != SearchState.PRISONER && type != SearchState.LAND_MINE) || (code & ~(BoardSnapshot.TYPE_MASK | BoardSnapshot.PLAYER2_BIT)) != 0) {
+                throw new IllegalArgumentException("Peça fixa inválida na casa " + cell + ": " + code);
+            }
+            if (SQUARE_OF_CELL[cell] < 0) {
+                throw new IllegalArgumentException("Peça fixa em lago: " + cell);
+            }
+            if (type == SearchState.PRISONER) {
+                prisoners[SearchState.owner(code)]++;
+            }
+        }
+        if (prisoners[1] != 1 || prisoners[2] != 1) {
+            throw new IllegalArgumentException("Cada jogador precisa de exatamente um Prisioneiro");
+        }
+        if (player1Types.length == 0 || player2Types.length == 0) {
+            throw new IllegalArgumentException("Cada jogador precisa de pelo menos uma peça móvel");
+        }
+
+        this.fixed = fixedCells.clone();
+        this.player1Pieces = player1Types.length;
+        this.pieces = new byte[player1Types.length + player2Types.length];
+        int[] sorted1 = player1Types.clone();
+        int[] sorted2 = player2Types.clone();
+        Arrays.sort(sorted1);
+        Arrays.sort(sorted2);
+        for (int i = 0; i < sorted1.length; i++) {
+            pieces[i] = (byte) checkMovable(sorted1[i]);
+        }
+        for (int i = 0; i < sorted2.length; i++) {
+            pieces[sorted1.length + i] = (byte) (checkMovable(sorted2[i]) | BoardSnapshot.PLAYER2_BIT);
+        }
+
+        long positionCount = 1;
+        for (int i = 0; i < pieces.length; i++) {
+            positionCount *= SQUARES;
+        }
+        this.streaks1 = 1 + 3 * player1Types.length;
+        this.streaks2 = 1 + 3 * player2Types.length;
+        this.size = 2L * streaks1 * streaks2 * positionCount;
+        if (size > MAX_POSITIONS) {
+            throw new IllegalArgumentException("Material grande demais para uma tabela: " + size + " posições");
+        }
+        this.positions = (int) positionCount;
+        this.name = buildName();
+    }
+
+    private static int checkMovable(int type) {
+        if (type < 1 || type > SearchState.TYPES || !SearchState.isMovable(type)) {
+            throw new IllegalArgumentException("Tipo de peça não móvel: " + type);
+        }
+        return type;
+    }
+
+    /**
+     * Material de uma posição sem peças ocultas, ou {@code null} se houver peças ocultas, faltar um Prisioneiro
+     * ou algum jogador não tiver peças móveis.
+     */
+    public static EndgameMaterial of(SearchState state) {
+        byte[] fixedCells = new byte[SearchState.CELLS];
+        int[] counts = new int[3];
+        int[][] types = new int[3][SearchState.CELLS];
+        int prisoners = 0;
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            int code = state.getCell(cell);
+            int type = code & BoardSnapshot.TYPE_MASK;
+            if (type == BoardSnapshot.OPPONENT_CODE) {
+                return null;
+            } else if (type == SearchState.PRISONER || type == SearchState.LAND_MINE) {
+                fixedCells[cell] = (byte) code;
+                prisoners += type == SearchState.PRISONER ? 1 : 0;
+            } else if (type != 0) {
+                int owner = SearchState.owner(code);
+                types[owner][counts[owner]++] = type;
+            }
+        }
+        if (prisoners != 2 || counts[1] == 0 || counts[2] == 0) {
+            return null;
+        }
+        try {
+            return new EndgameMaterial(fixedCells, Arrays.copyOf(types[1], counts[1]), Arrays.copyOf(types[2], counts[2]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Nome da tabela, ex.: {@code G-S_04p1,05m1,94p2}: tipos do jogador 1, tipos do jogador 2 e as peças fixas
+     * com casa, tipo ({@code p} Prisioneiro, {@code m} Mina) e dono.
+     */
+    private String buildName() {
+        StringBuilder sb = new StringBuilder();
+        for (int slot = 0; slot < pieces.length; slot++) {
+            if (slot == player1Pieces) {
+                sb.append('-');
+            } else if (slot > 0) {
+                sb.append('.');
+            }
+            sb.append(QuantityPerPiece.fromOrdinal((pieces[slot] & BoardSnapshot.TYPE_MASK) - 1).getCode());
+        }
+        sb.append('_');
+        boolean first = true;
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            int code = fixed[cell];
+            if (code != 0) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                sb.append(String.format("%02d", cell))
+                        .append((code & BoardSnapshot.TYPE_MASK) == SearchState.PRISONER ? 'p' : 'm')
+                        .append(SearchState.owner(code));
+            }
+        }
+        return sb.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Número de índices da tabela.
+     */
+    public long size() {
+        return size;
+    }
+
+    public int getPieceCount() {
+        return pieces.length;
+    }
+
+    public int getPieceCount(int player) {
+        return player == 1 ? player1Pieces : pieces.length - player1Pieces;
+    }
+
+    /**
+     * Primeira posição ({@code slot}) das peças de {@code player}.
+     */
+    public int firstSlot(int player) {
+        return player == 1 ? 0 : player1Pieces;
+    }
+
+    /**
+     * Código (tipo e dono) da peça móvel na posição {@code slot}.
+     */
+    public int getPiece(int slot) {
+        return pieces[slot];
+    }
+
+    /**
+     * Código da peça fixa na casa, ou 0.
+     */
+    public int getFixed(int cell) {
+        return fixed[cell];
+    }
+
+    /**
+     * Sequência de movimentos de um jogador: 0 se nenhuma peça dele está em sequência, ou
+     * {@code 1 + peça * 3 + (movimentos - 1)}, com a peça contada entre as do jogador e até 3 movimentos.
+     */
+    public static int streak(int localSlot, int consecutiveMoves) {
+        return consecutiveMoves <= 0 ? 0 : 1 + localSlot * 3 + Math.min(consecutiveMoves, Board.MAX_CONSECUTIVE_MOVES_SAME_PIECE) - 1;
+    }
+
+    public long index(int sideToMove, int streak1, int streak2, int[] cells) {
+        long square = 0;
+        for (int slot = pieces.length - 1; slot >= 0; slot--) {
+            square = square * SQUARES + SQUARE_OF_CELL[cells[slot]];
+        }
+        return (((long) (sideToMove - 1) * streaks1 + streak1) * streaks2 + streak2) * positions + square;
+    }
+
+    /**
+     * Decodifica o índice: preenche {@code cells} com a casa de cada peça e devolve
+     * {@code vez << 16 | sequência1 << 8 | sequência2}.
+     */
+    int decode(long index, int[] cells) {
+        long square = index % positions;
+        long rest = index / positions;
+        int streak2 = (int) (rest % streaks2);
+        rest /= streaks2;
+        int streak1 = (int) (rest % streaks1);
+        int side = (int) (rest / streaks1) + 1;
+        for (int slot = 0; slot < pieces.length; slot++) {
+            cells[slot] = CELL_OF_SQUARE[(int) (square % SQUARES)];
+            square /= SQUARES;
+        }
+        return side << 16 | streak1 << 8 | streak2;
+    }
+
+    /**
+     * Material sem as peças móveis de {@code removedSlots} (bits) e sem a peça fixa de {@code removedFixedCell}
+     * (ou -1); {@code null} se algum jogador ficar sem peças móveis.
+     */
+    EndgameMaterial without(int removedSlots, int removedFixedCell) {
+        int[] types1 = new int[pieces.length];
+        int[] types2 = new int[pieces.length];
+        int count1 = 0, count2 = 0;
+        for (int slot = 0; slot < pieces.length; slot++) {
+            if ((removedSlots & 1 << slot) == 0) {
+                if (slot < player1Pieces) {
+                    types1[count1++] = pieces[slot];
+                } else {
+                    types2[count2++] = pieces[slot] & BoardSnapshot.TYPE_MASK;
+                }
+            }
+        }
+        if (count1 == 0 || count2 == 0) {
+            return null;
+        }
+        byte[] fixedCells = fixed.clone();
+        if (removedFixedCell >= 0) {
+            fixedCells[removedFixedCell] = 0;
+        }
+        return new EndgameMaterial(fixedCells, Arrays.copyOf(types1, count1), Arrays.copyOf(types2, count2));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EndgameMaterial other && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
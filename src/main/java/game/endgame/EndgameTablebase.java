@@ -0,0 +1,218 @@
+package game.endgame;
+
+import game.BoardSnapshot;
+import game.search.SearchState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consulta as tabelas de finais gravadas pelo {@link EndgameGenerator}, um arquivo por {@link EndgameMaterial},
+ * mapeado em memória na primeira consulta (big-endian):
+ * <pre>
+ *  int    {@link #MAGIC}
+ *  byte   {@link #VERSION}
+ *  short + UTF-8  nome do material
+ *  int    número de índices N
+ *  N x short  valor de cada índice de {@link EndgameMaterial#index}
+ * </pre>
+ * Os valores são vistos pelo jogador da vez: {@code +n} vence em {@code n} meias-jogadas contra qualquer defesa,
+ * {@code -n} perde em {@code n} contra o jogo perfeito do adversário e 0 é empate.
+ * As tabelas não dependem do número de jogadas; as consultas aplicam o limite de
+ * {@link SearchState#MAX_NUMBER_OF_MOVES} e tratam como empate o resultado que não cabe nas jogadas restantes.
+ * Pode ser consultado por várias threads ao mesmo tempo.
+ */
+public class EndgameTablebase implements Closeable {
+    public static final int MAGIC = 0x434D5442; // "CMTB"
+    public static final byte VERSION = 1;
+    public static final String EXTENSION = ".cmtb";
+    /** Resultado de consultas a posições sem tabela: peças ocultas, material não gerado ou partida encerrada. */
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private static final ByteBuffer MISSING = ByteBuffer.allocate(0);
+
+    private final Path directory;
+    private final Map<EndgameMaterial, ByteBuffer> tables = new ConcurrentHashMap<>();
+
+    public EndgameTablebase(Path directory) {
+        this.directory = directory;
+    }
+
+    static Path path(Path directory, EndgameMaterial material) {
+        return directory.resolve(material.getName() + EXTENSION);
+    }
+
+    static int valuesOffset(int nameLength) {
+        return Integer.BYTES + 1 + Short.BYTES + nameLength + Integer.BYTES;
+    }
+
+    /**
+     * Lê uma tabela inteira para a memória, conferindo o cabeçalho.
+     */
+    static short[] read(Path path, EndgameMaterial material) throws IOException {
+        ByteBuffer buffer = map(path, material);
+        short[] values = new short[(int) material.size()];
+        buffer.asShortBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Mapeia o arquivo e devolve um buffer que começa nos valores.
+     */
+    private static ByteBuffer map(Path path, EndgameMaterial material) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] name = material.getName().getBytes(StandardCharsets.UTF_8);
+            int offset = valuesOffset(name.length);
+            if (buffer.capacity() < offset || buffer.getInt(0) != MAGIC || buffer.get(Integer.BYTES) != VERSION) {
+                throw new IOException("Tabela de finais inválida: " + path);
+            }
+            byte[] stored = new byte[name.length];
+            if ((buffer.getShort(Integer.BYTES + 1) & 0xFFFF) == name.length) {
+                buffer.get(Integer.BYTES + 1 + Short.BYTES, stored);
+            }
+            if (!Arrays.equals(stored, name)
+                    || buffer.getInt(offset - Integer.BYTES) != material.size()
+                    || buffer.capacity() != offset + material.size() * Short.BYTES) {
+                throw new IOException("Tabela de finais não corresponde a " + material + ": " + path);
+            }
+            return buffer.slice(offset, buffer.capacity() - offset);
+        }
+    }
+
+    private ByteBuffer table(EndgameMaterial material) {
+        return tables.computeIfAbsent(material, key -> {
+            Path path = path(directory, key);
+            if (!Files.exists(path)) {
+                return MISSING;
+            }
+            try {
+                return map(path, key);
+            } catch (IOException e) {
+                throw new IllegalStateException("Falha ao abrir a tabela de finais " + path, e);
+            }
+        });
+    }
+
+    /**
+     * Valor da posição para o jogador da vez, ou {@link #UNKNOWN}. Vitórias e derrotas em mais meias-jogadas do que
+     * restam até {@link SearchState#MAX_NUMBER_OF_MOVES} valem 0, porque a partida termina empatada antes.
+     */
+    public int probe(SearchState state) {
+        if (state.isTerminal()) {
+            return UNKNOWN;
+        }
+        EndgameMaterial material = EndgameMaterial.of(state);
+        if (material == null) {
+            return UNKNOWN;
+        }
+        ByteBuffer table = table(material);
+        if (table == MISSING) {
+            return UNKNOWN;
+        }
+        int value = table.getShort((int) index(material, state) * Short.BYTES);
+        return Math.abs(value) > SearchState.MAX_NUMBER_OF_MOVES - state.getNumberMoves() ? 0 : value;
+    }
+
+    /**
+     * Índice da posição: peças do mesmo tipo e dono ocupam as posições ({@code slots}) na ordem das casas.
+     */
+    static long index(EndgameMaterial material, SearchState state) {
+        int pieceCount = material.getPieceCount();
+        int[] cells = new int[pieceCount];
+        int[] slotOfCell = new int[SearchState.CELLS];
+        boolean[] assigned = new boolean[pieceCount];
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            slotOfCell[cell] = -1;
+            int code = state.getCell(cell);
+            if (!SearchState.isMovable(code & BoardSnapshot.TYPE_MASK)) {
+                continue;
+            }
+            int player = SearchState.owner(code);
+            int first = material.firstSlot(player);
+            for (int slot = first; slot < first + material.getPieceCount(player); slot++) {
+                if (!assigned[slot] && material.getPiece(slot) == code) {
+                    assigned[slot] = true;
+                    cells[slot] = cell;
+                    slotOfCell[cell] = slot;
+                    break;
+                }
+            }
+        }
+
+        int[] streaks = new int[3];
+        for (int player = 1; player <= 2; player++) {
+            int cell = state.getLastPieceCell(player);
+            int slot = cell < 0 ? -1 : slotOfCell[cell];
+            if (slot >= 0 && SearchState.owner(material.getPiece(slot)) == player) {
+                streaks[player] = EndgameMaterial.streak(slot - material.firstSlot(player), state.getConsecutiveMoves(player));
+            }
+        }
+        return material.index(state.getSideToMove(), streaks[1], streaks[2], cells);
+    }
+
+    /**
+     * Melhor jogada do jogador da vez pelas tabelas: a vitória mais curta, senão um empate, senão a derrota mais longa.
+     * Passar a vez ({@link SearchState#PASS}) também é considerado. Os resultados seguem o limite de jogadas de
+     * {@link #probe}, então perto do limite uma vitória longa demais conta como empate.
+     * @return a jogada, ou {@link #UNKNOWN} se alguma das posições seguintes não estiver nas tabelas.
+     */
+    public int bestMove(SearchState state) {
+        if (state.isTerminal()) {
+            return UNKNOWN;
+        }
+        int[] moves = new int[SearchState.MAX_MOVES + 1];
+        int count = state.generateMoves(moves);
+        moves[count++] = SearchState.PASS;
+
+        SearchState next = new SearchState();
+        int side = state.getSideToMove();
+        int best = UNKNOWN;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            next.copyFrom(state);
+            next.play(moves[i]);
+            int result;
+            if (next.isTerminal()) {
+                result = next.getWinner() == side ? 1 : next.getWinner() == SearchState.DRAW ? 0 : -1;
+            } else {
+                int value = probe(next);
+                if (value == UNKNOWN) {
+                    return UNKNOWN;
+                }
+                result = value < 0 ? 1 - value : value > 0 ? -(value + 1) : 0;
+            }
+            // Vitórias curtas acima das longas, empates no meio e derrotas longas acima das curtas
+            int rank = result > 0 ? Short.MAX_VALUE - result : result < 0 ? Short.MIN_VALUE - result : 0;
+            if (rank > bestRank) {
+                bestRank = rank;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Tabelas mapeadas até agora.
+     */
+    public int getLoadedTables() {
+        return (int) tables.values().stream().filter(table -> table != MISSING).count();
+    }
+
+    /**
+     * Esquece os mapeamentos; as tabelas voltam a ser mapeadas na próxima consulta.
+     */
+    @Override
+    public void close() {
+        tables.clear();
+    }
+}
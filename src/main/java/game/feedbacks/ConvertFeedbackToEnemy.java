@@ -1,15 +1,22 @@
 package game.feedbacks;
 
-import game.pieces.OpponentPiece;
-
 public class ConvertFeedbackToEnemy {
+    /**
+     * Retorna o feedback como visto pelo adversário.
+     * Movimentos e jogadas inválidas são devolvidos como visões imutáveis sobre o feedback original,
+     * os demais feedbacks já são públicos e são devolvidos sem cópia.
+     */
     public static Feedback convert(Feedback feedback) {
-        if (feedback instanceof InvalidMoveFeedback) {
-            return new InvalidMoveFeedback(feedback.getMessage(), false);
+        if (feedback instanceof EnemyMoveFeedback || feedback instanceof EnemyInvalidMoveFeedback) {
+            return feedback;
+        }
+
+        if (feedback instanceof InvalidMoveFeedback invalidMoveFeedback) {
+            return new EnemyInvalidMoveFeedback(invalidMoveFeedback);
         }
 
-        if (feedback instanceof MoveFeedback) {
-            return new MoveFeedback(new OpponentPiece(feedback.getPiece()), ((MoveFeedback) feedback).fromX, ((MoveFeedback) feedback).fromY);
+        if (feedback instanceof MoveFeedback moveFeedback) {
+            return new EnemyMoveFeedback(moveFeedback);
         }
 
         return feedback; // LandmineFeedback, LandMineDeactivationFeedback, PrisonerFeedback, AttackFeedback, EqualStrengthFeedback, DefeatFeedback
@@ -0,0 +1,12 @@
+package game.feedbacks;
+
+/**
+ * Visão do adversário sobre um {@link InvalidMoveFeedback}.
+ * Reaproveita a mensagem do feedback original sem expor as coordenadas da jogada.
+ */
+public final class EnemyInvalidMoveFeedback extends InvalidMoveFeedback {
+
+    EnemyInvalidMoveFeedback(InvalidMoveFeedback source) {
+        super(source.getMessage(), false);
+    }
+}
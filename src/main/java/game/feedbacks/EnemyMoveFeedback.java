@@ -0,0 +1,44 @@
+package game.feedbacks;
+
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+
+import java.util.UUID;
+
+/**
+ * Visão do adversário sobre um {@link MoveFeedback}.
+ * Guarda apenas o identificador e o dono da peça, copiados na conversão; a peça mascarada só é criada
+ * na primeira chamada de {@link #getPiece()}, já que a maioria dos jogadores lê apenas as coordenadas e a
+ * mensagem. A visão não depende da peça original, que continua se movendo, e pode ser compartilhada entre threads.
+ */
+public final class EnemyMoveFeedback extends MoveFeedback {
+    private static final String HIDDEN_REPRESENTATION = "OP";
+
+    private final UUID pieceId;
+    private final String owner;
+    private volatile Piece masked;
+
+    EnemyMoveFeedback(MoveFeedback source) {
+        super(source.fromX, source.fromY, source.toX, source.toY);
+        this.pieceId = source.getPiece().getId();
+        this.owner = source.getPiece().getPlayer();
+    }
+
+    /**
+     * Peça mascarada na casa de destino, criada uma vez e devolvida nas chamadas seguintes.
+     */
+    @Override
+    public Piece getPiece() {
+        Piece piece = masked;
+        if (piece == null) {
+            piece = OpponentPiece.masked(pieceId, owner, toX, toY);
+            masked = piece;
+        }
+        return piece;
+    }
+
+    @Override
+    public String getMessage() {
+        return formatMessage(HIDDEN_REPRESENTATION, owner);
+    }
+}
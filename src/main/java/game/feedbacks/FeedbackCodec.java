@@ -0,0 +1,147 @@
+package game.feedbacks;
+
+import game.Board;
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+import game.pieces.PieceFactory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Serialização compacta dos feedbacks de jogada, usada pelos checkpoints de partida.
+ * As peças são gravadas como tipo, dono e posição e recriadas sem tabuleiro; um {@link MoveFeedback}
+ * volta a apontar para a peça do tabuleiro se ela ainda estiver no destino.
+ */
+public final class FeedbackCodec {
+    private static final int NONE = 0;
+    private static final int MOVE = 1;
+    private static final int INVALID_MOVE = 2;
+    private static final int ATTACK = 3;
+    private static final int DEFEAT = 4;
+    private static final int EQUAL_STRENGTH = 5;
+    private static final int LANDMINE = 6;
+    private static final int LANDMINE_DEACTIVATION = 7;
+
+    private FeedbackCodec() {
+    }
+
+    public static void encode(Feedback feedback, DataOutput out) throws IOException {
+        if (feedback == null) {
+            out.writeByte(NONE);
+        } else if (feedback instanceof MoveFeedback move) {
+            out.writeByte(MOVE);
+            writePiece(move.getPiece(), out);
+            out.writeByte(move.fromX);
+            out.writeByte(move.fromY);
+            out.writeByte(move.toX);
+            out.writeByte(move.toY);
+        } else if (feedback instanceof InvalidMoveFeedback invalid) {
+            out.writeByte(INVALID_MOVE);
+            out.writeUTF(invalid.getMessage());
+            out.writeInt(invalid.posX);
+            out.writeInt(invalid.posY);
+            out.writeInt(invalid.newX);
+            out.writeInt(invalid.newY);
+        } else if (feedback instanceof AttackFeedback attack) {
+            out.writeByte(ATTACK);
+            writePiece(attack.attacker, out);
+            writePiece(attack.defender, out);
+            out.writeByte(attack.fromX);
+            out.writeByte(attack.fromY);
+            out.writeByte(attack.toX);
+            out.writeByte(attack.toY);
+        } else if (feedback instanceof DefeatFeedback defeat) {
+            out.writeByte(DEFEAT);
+            writePiece(defeat.attacker, out);
+            writePiece(defeat.defender, out);
+            out.writeByte(defeat.toX);
+            out.writeByte(defeat.toY);
+        } else if (feedback instanceof EqualStrengthFeedback equal) {
+            out.writeByte(EQUAL_STRENGTH);
+            writePiece(equal.attacker, out);
+            writePiece(equal.defender, out);
+        } else if (feedback instanceof LandmineFeedback landmine) {
+            out.writeByte(LANDMINE);
+            writePiece(landmine.getVictim(), out);
+            writePiece(landmine.getPiece(), out);
+        } else if (feedback instanceof LandMineDeactivationFeedback deactivation) {
+            out.writeByte(LANDMINE_DEACTIVATION);
+            writePiece(deactivation.getPiece(), out);
+        } else {
+            throw new IllegalArgumentException("Feedback não pode ser serializado: " + feedback.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * @param board tabuleiro já restaurado, usado para religar o {@link MoveFeedback} à peça movida.
+     */
+    public static Feedback decode(DataInput in, Board board) throws IOException {
+        int kind = in.readByte();
+        switch (kind) {
+            case NONE:
+                return null;
+            case MOVE: {
+                Piece piece = readPiece(in);
+                int fromX = in.readByte();
+                int fromY = in.readByte();
+                int toX = in.readByte();
+                int toY = in.readByte();
+                Piece live = board.getPiece(toX, toY);
+                if (live != null && live.getRepresentation().equals(piece.getRepresentation()) && live.getPlayer().equals(piece.getPlayer())) {
+                    piece = live;
+                } else {
+                    piece.setPosition(toX, toY);
+                }
+                return new MoveFeedback(piece, fromX, fromY);
+            }
+            case INVALID_MOVE: {
+                InvalidMoveFeedback invalid = new InvalidMoveFeedback(in.readUTF(), false);
+                invalid.posX = in.readInt();
+                invalid.posY = in.readInt();
+                invalid.newX = in.readInt();
+                invalid.newY = in.readInt();
+                return invalid;
+            }
+            case ATTACK: {
+                Piece attacker = readPiece(in);
+                Piece defender = readPiece(in);
+                return new AttackFeedback(attacker, defender, in.readByte(), in.readByte(), in.readByte(), in.readByte());
+            }
+            case DEFEAT: {
+                Piece attacker = readPiece(in);
+                Piece defender = readPiece(in);
+                return new DefeatFeedback(attacker, defender, in.readByte(), in.readByte());
+            }
+            case EQUAL_STRENGTH:
+                return new EqualStrengthFeedback(readPiece(in), readPiece(in));
+            case LANDMINE: {
+                Piece victim = readPiece(in);
+                return new LandmineFeedback(victim, readPiece(in));
+            }
+            case LANDMINE_DEACTIVATION:
+                return new LandMineDeactivationFeedback(readPiece(in));
+            default:
+                throw new IOException("Tipo de feedback desconhecido: " + kind);
+        }
+    }
+
+    private static void writePiece(Piece piece, DataOutput out) throws IOException {
+        out.writeUTF(piece.getRepresentation());
+        out.writeBoolean(piece.getPlayer() != null);
+        if (piece.getPlayer() != null) {
+            out.writeUTF(piece.getPlayer());
+        }
+        out.writeByte(piece.getPosX());
+        out.writeByte(piece.getPosY());
+    }
+
+    private static Piece readPiece(DataInput in) throws IOException {
+        String representation = in.readUTF();
+        String player = in.readBoolean() ? in.readUTF() : null;
+        Piece piece = representation.equals("OP") ? new OpponentPiece((Board) null) : PieceFactory.createPiece(representation, player, null);
+        piece.setPosition(in.readByte(), in.readByte());
+        return piece;
+    }
+}
@@ -16,11 +16,21 @@ public class MoveFeedback extends Feedback {
         this.fromY = fromY;
     }
 
+    protected MoveFeedback(int fromX, int fromY, int toX, int toY) {
+        super((Piece) null);
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.toX = toX;
+        this.toY = toY;
+    }
+
     @Override
     public String getMessage() {
+        return formatMessage(piece.getRepresentation(), piece.getPlayer());
+    }
+
+    protected String formatMessage(String pieceName, String playerName) {
         String baseString = "%s de %s foi movido de [%s, %d] para [%s, %d]";
-        String pieceName = piece.getRepresentation();
-        String playerName = piece.getPlayer();
         String fromPosX = convertIntToAlfa(fromX);
         int fromPosY = (fromY + 1);
         String posX = convertIntToAlfa(toX);
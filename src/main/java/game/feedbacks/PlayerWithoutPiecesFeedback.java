@@ -3,9 +3,18 @@ package game.feedbacks;
 import game.players.Player;
 
 public class PlayerWithoutPiecesFeedback extends Feedback {
+    private final Player player;
 
     public PlayerWithoutPiecesFeedback(Player p) {
         super(formateMessage(p));
+        this.player = p;
+    }
+
+    /**
+     * Jogador que ficou sem peças móveis.
+     */
+    public Player getPlayer() {
+        return player;
     }
 
     private static String formateMessage(Player p) {
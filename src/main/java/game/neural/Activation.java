@@ -0,0 +1,36 @@
+package game.neural;
+
+/**
+ * Função de ativação aplicada na saída de uma camada.
+ */
+public enum Activation {
+    NONE,
+    RELU,
+    TANH;
+
+    private static final Activation[] VALUES = values();
+
+    static Activation fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Ativação desconhecida: " + ordinal);
+        }
+        return VALUES[ordinal];
+    }
+
+    void apply(float[] values, int length) {
+        switch (this) {
+            case RELU -> {
+                for (int i = 0; i < length; i++) {
+                    values[i] = Math.max(values[i], 0f);
+                }
+            }
+            case TANH -> {
+                for (int i = 0; i < length; i++) {
+                    values[i] = (float) Math.tanh(values[i]);
+                }
+            }
+            case NONE -> {
+            }
+        }
+    }
+}
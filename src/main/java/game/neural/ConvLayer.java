@@ -0,0 +1,83 @@
+package game.neural;
+
+import game.Board;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Convolução 3x3 com preenchimento zero sobre planos 10x10.
+ * Pesos no formato {@code [saída][entrada][3][3]}. O laço interno percorre linhas contíguas
+ * do plano para que o compilador JIT possa vetorizá-lo.
+ */
+final class ConvLayer extends Layer {
+    static final int SIDE = Board.ROWS;
+    static final int CELLS = Board.ROWS * Board.COLS;
+
+    private final int inputChannels;
+    private final int outputChannels;
+
+    ConvLayer(int inputChannels, int outputChannels, Activation activation, float[] weights, float[] bias) {
+        super(inputChannels * CELLS, outputChannels * CELLS, activation, weights, bias);
+        if (weights.length != outputChannels * inputChannels * 9 || bias.length != outputChannels) {
+            throw new IllegalArgumentException("Pesos da convolução com tamanho incorreto");
+        }
+        this.inputChannels = inputChannels;
+        this.outputChannels = outputChannels;
+    }
+
+    @Override
+    int kind() {
+        return CONV_3X3;
+    }
+
+    @Override
+    void forward(float[] input, float[] output) {
+        for (int o = 0; o < outputChannels; o++) {
+            int outBase = o * CELLS;
+            Arrays.fill(output, outBase, outBase + CELLS, bias[o]);
+
+            for (int i = 0; i < inputChannels; i++) {
+                int inBase = i * CELLS;
+                int w = (o * inputChannels + i) * 9;
+                for (int ky = -1; ky <= 1; ky++) {
+                    int rowStart = Math.max(0, -ky);
+                    int rowEnd = Math.min(SIDE, SIDE - ky);
+                    for (int kx = -1; kx <= 1; kx++) {
+                        float weight = weights[w + (ky + 1) * 3 + (kx + 1)];
+                        if (weight == 0f) {
+                            continue;
+                        }
+                        int colStart = Math.max(0, -kx);
+                        int colEnd = Math.min(SIDE, SIDE - kx);
+                        for (int y = rowStart; y < rowEnd; y++) {
+                            int out = outBase + y * SIDE;
+                            int in = inBase + (y + ky) * SIDE + kx;
+                            for (int x = colStart; x < colEnd; x++) {
+                                output[out + x] += weight * input[in + x];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        activation.apply(output, outputSize);
+    }
+
+    @Override
+    void writeShape(DataOutput out) throws IOException {
+        out.writeInt(inputChannels);
+        out.writeInt(outputChannels);
+    }
+
+    static ConvLayer read(DataInput in) throws IOException {
+        int inputChannels = in.readInt();
+        int outputChannels = in.readInt();
+        Activation activation = Activation.fromOrdinal(in.readByte());
+        float[] weights = readFloats(in, outputChannels * inputChannels * 9);
+        float[] bias = readFloats(in, outputChannels);
+        return new ConvLayer(inputChannels, outputChannels, activation, weights, bias);
+    }
+}
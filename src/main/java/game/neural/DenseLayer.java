@@ -0,0 +1,60 @@
+package game.neural;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Camada totalmente conectada, com pesos no formato {@code [saída][entrada]}.
+ * O produto escalar usa quatro acumuladores independentes para explorar o paralelismo da CPU.
+ */
+final class DenseLayer extends Layer {
+
+    DenseLayer(int inputSize, int outputSize, Activation activation, float[] weights, float[] bias) {
+        super(inputSize, outputSize, activation, weights, bias);
+        if (weights.length != inputSize * outputSize || bias.length != outputSize) {
+            throw new IllegalArgumentException("Pesos da camada densa com tamanho incorreto");
+        }
+    }
+
+    @Override
+    int kind() {
+        return DENSE;
+    }
+
+    @Override
+    void forward(float[] input, float[] output) {
+        int unrolled = inputSize & ~3;
+        for (int o = 0; o < outputSize; o++) {
+            int row = o * inputSize;
+            float sum0 = 0f, sum1 = 0f, sum2 = 0f, sum3 = 0f;
+            int i = 0;
+            for (; i < unrolled; i += 4) {
+                sum0 += weights[row + i] * input[i];
+                sum1 += weights[row + i + 1] * input[i + 1];
+                sum2 += weights[row + i + 2] * input[i + 2];
+                sum3 += weights[row + i + 3] * input[i + 3];
+            }
+            for (; i < inputSize; i++) {
+                sum0 += weights[row + i] * input[i];
+            }
+            output[o] = bias[o] + (sum0 + sum1) + (sum2 + sum3);
+        }
+        activation.apply(output, outputSize);
+    }
+
+    @Override
+    void writeShape(DataOutput out) throws IOException {
+        out.writeInt(inputSize);
+        out.writeInt(outputSize);
+    }
+
+    static DenseLayer read(DataInput in) throws IOException {
+        int inputSize = in.readInt();
+        int outputSize = in.readInt();
+        Activation activation = Activation.fromOrdinal(in.readByte());
+        float[] weights = readFloats(in, inputSize * outputSize);
+        float[] bias = readFloats(in, outputSize);
+        return new DenseLayer(inputSize, outputSize, activation, weights, bias);
+    }
+}
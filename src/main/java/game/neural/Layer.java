@@ -0,0 +1,65 @@
+package game.neural;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Camada imutável da rede, criada por {@link NeuralNetwork#conv3x3} ou {@link NeuralNetwork#dense}. {@link #forward} escreve em buffers fornecidos pelo chamador,
+ * então a mesma camada pode ser usada por várias threads ao mesmo tempo.
+ */
+public abstract class Layer {
+    static final int CONV_3X3 = 1;
+    static final int DENSE = 2;
+
+    protected final int inputSize;
+    protected final int outputSize;
+    protected final Activation activation;
+    protected final float[] weights;
+    protected final float[] bias;
+
+    protected Layer(int inputSize, int outputSize, Activation activation, float[] weights, float[] bias) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.activation = activation;
+        this.weights = weights;
+        this.bias = bias;
+    }
+
+    abstract int kind();
+
+    abstract void forward(float[] input, float[] output);
+
+    void write(DataOutput out) throws IOException {
+        out.writeByte(kind());
+        writeShape(out);
+        out.writeByte(activation.ordinal());
+        writeFloats(out, weights);
+        writeFloats(out, bias);
+    }
+
+    abstract void writeShape(DataOutput out) throws IOException;
+
+    static Layer read(DataInput in) throws IOException {
+        int kind = in.readByte();
+        return switch (kind) {
+            case CONV_3X3 -> ConvLayer.read(in);
+            case DENSE -> DenseLayer.read(in);
+            default -> throw new IOException("Tipo de camada desconhecido: " + kind);
+        };
+    }
+
+    static void writeFloats(DataOutput out, float[] values) throws IOException {
+        for (float value : values) {
+            out.writeFloat(value);
+        }
+    }
+
+    static float[] readFloats(DataInput in, int length) throws IOException {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,70 @@
+package game.neural;
+
+import game.Board;
+import game.dataset.FeaturePlanes;
+import game.dataset.RevealedPieces;
+
+/**
+ * Avalia posições da visão oculta com uma {@link NeuralNetwork}.
+ * A entrada da rede são os {@link FeaturePlanes} mais um plano constante com o número de jogadas
+ * normalizado ({@link #INPUT_SIZE} valores); a primeira saída é a avaliação para o jogador da vez.
+ * <p>
+ * Cada thread usa seus próprios buffers, alocados uma única vez, então o mesmo avaliador pode ser
+ * compartilhado por várias threads de busca.
+ */
+public class NeuralEvaluator {
+    public static final int INPUT_PLANES = FeaturePlanes.PLANES + 1;
+    public static final int INPUT_SIZE = INPUT_PLANES * FeaturePlanes.CELLS;
+    private static final float MAX_NUMBER_OF_MOVES = 5000f;
+
+    private final NeuralNetwork network;
+    private final ThreadLocal<Workspace> workspaces;
+
+    public NeuralEvaluator(NeuralNetwork network) {
+        if (network.getInputSize() != INPUT_SIZE) {
+            throw new IllegalArgumentException("A rede deve receber " + INPUT_SIZE + " entradas, recebe " + network.getInputSize());
+        }
+        this.network = network;
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(network.getMaxActivationSize()));
+    }
+
+    /**
+     * Avalia a visão oculta entregue a {@code player}.
+     * @param revealed tipos adversários já revelados, ou {@code null}.
+     */
+    public float evaluate(Board hiddenView, int player, RevealedPieces revealed) {
+        Workspace workspace = workspaces.get();
+        FeaturePlanes.encode(hiddenView, player, revealed, workspace.packed);
+        return evaluate(workspace, workspace.packed, hiddenView.numberMoves);
+    }
+
+    /**
+     * Avalia planos já compactados, como os gravados nos fragmentos de autojogo.
+     */
+    public float evaluate(byte[] packedPlanes, int numberMoves) {
+        return evaluate(workspaces.get(), packedPlanes, numberMoves);
+    }
+
+    private float evaluate(Workspace workspace, byte[] packedPlanes, int numberMoves) {
+        float[] input = workspace.buffer0;
+        for (int bit = 0; bit < FeaturePlanes.PLANES * FeaturePlanes.CELLS; bit++) {
+            input[bit] = (packedPlanes[bit >>> 3] >>> (bit & 7)) & 1;
+        }
+        float moves = Math.min(numberMoves / MAX_NUMBER_OF_MOVES, 1f);
+        for (int i = FeaturePlanes.PLANES * FeaturePlanes.CELLS; i < INPUT_SIZE; i++) {
+            input[i] = moves;
+        }
+        return network.forward(workspace.buffer0, workspace.buffer1)[0];
+    }
+
+    private static final class Workspace {
+        final byte[] packed = new byte[FeaturePlanes.PACKED_BYTES];
+        final float[] buffer0;
+        final float[] buffer1;
+
+        Workspace(int size) {
+            buffer0 = new float[size];
+            buffer1 = new float[size];
+        }
+    }
+}
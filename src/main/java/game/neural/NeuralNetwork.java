@@ -0,0 +1,120 @@
+package game.neural;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Rede neural sequencial de convoluções 3x3 e camadas densas, executada na CPU em Java puro.
+ * <p>
+ * Formato do arquivo de pesos (big-endian):
+ * <pre>
+ *  int    {@link #MAGIC}
+ *  int    {@link #VERSION}
+ *  int    número de camadas
+ *  por camada:
+ *    byte   tipo (1 convolução 3x3, 2 densa)
+ *    int    canais/tamanho de entrada
+ *    int    canais/tamanho de saída
+ *    byte   {@link Activation}
+ *    float[] pesos, float[] bias
+ * </pre>
+ */
+public final class NeuralNetwork {
+    public static final int MAGIC = 0x434D4E4E; // "CMNN"
+    public static final int VERSION = 1;
+
+    private final Layer[] layers;
+    private final int maxActivationSize;
+
+    public NeuralNetwork(List<Layer> layers) {
+        if (layers.isEmpty()) {
+            throw new IllegalArgumentException("A rede precisa de ao menos uma camada");
+        }
+        this.layers = layers.toArray(new Layer[0]);
+        int max = this.layers[0].inputSize;
+        for (int i = 0; i < this.layers.length; i++) {
+            if (i > 0 && this.layers[i].inputSize != this.layers[i - 1].outputSize) {
+                throw new IllegalArgumentException("Camada " + i + " espera " + this.layers[i].inputSize
+                        + " entradas, mas a anterior produz " + this.layers[i - 1].outputSize);
+            }
+            max = Math.max(max, this.layers[i].outputSize);
+        }
+        this.maxActivationSize = max;
+    }
+
+    public static Layer conv3x3(int inputChannels, int outputChannels, Activation activation, float[] weights, float[] bias) {
+        return new ConvLayer(inputChannels, outputChannels, activation, weights, bias);
+    }
+
+    public static Layer dense(int inputSize, int outputSize, Activation activation, float[] weights, float[] bias) {
+        return new DenseLayer(inputSize, outputSize, activation, weights, bias);
+    }
+
+    public int getInputSize() {
+        return layers[0].inputSize;
+    }
+
+    public int getOutputSize() {
+        return layers[layers.length - 1].outputSize;
+    }
+
+    int getMaxActivationSize() {
+        return maxActivationSize;
+    }
+
+    /**
+     * Executa a rede usando os dois buffers de ativação fornecidos, ambos com ao menos
+     * {@link #getMaxActivationSize()} posições. A entrada deve estar em {@code buffer0}.
+     * @return o buffer que contém a saída.
+     */
+    float[] forward(float[] buffer0, float[] buffer1) {
+        float[] input = buffer0;
+        float[] output = buffer1;
+        for (Layer layer : layers) {
+            layer.forward(input, output);
+            float[] swap = input;
+            input = output;
+            output = swap;
+        }
+        return input;
+    }
+
+    public static NeuralNetwork load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return read(in);
+        }
+    }
+
+    public static NeuralNetwork read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Arquivo de pesos inválido: assinatura incorreta");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Versão de arquivo de pesos não suportada: " + version);
+        }
+        int count = in.readInt();
+        Layer[] layers = new Layer[count];
+        for (int i = 0; i < count; i++) {
+            layers[i] = Layer.read(in);
+        }
+        return new NeuralNetwork(List.of(layers));
+    }
+
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            write(out);
+        }
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(layers.length);
+        for (Layer layer : layers) {
+            layer.write(out);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package game.paths;
+
+import game.Board;
+
+/**
+ * Conjunto imutável de casas do tabuleiro 10x10, um bit por casa ({@code x * 10 + y}): casas 0 a 63 em {@code low}
+ * e 64 a 99 em {@code high}. Serve de chave barata para o cache do {@link PathService}.
+ */
+public record CellSet(long low, long high) {
+    public static final CellSet EMPTY = new CellSet(0, 0);
+    public static final int CELLS = Board.ROWS * Board.COLS;
+
+    public boolean contains(int cell) {
+        return cell < 64 ? (low >>> cell & 1) != 0 : (high >>> (cell - 64) & 1) != 0;
+    }
+
+    public CellSet with(int cell) {
+        checkCell(cell);
+        return cell < 64 ? new CellSet(low | 1L << cell, high) : new CellSet(low, high | 1L << (cell - 64));
+    }
+
+    public CellSet without(int cell) {
+        checkCell(cell);
+        return cell < 64 ? new CellSet(low & ~(1L << cell), high) : new CellSet(low, high & ~(1L << (cell - 64)));
+    }
+
+    public CellSet union(CellSet other) {
+        return new CellSet(low | other.low, high | other.high);
+    }
+
+    public CellSet intersection(CellSet other) {
+        return new CellSet(low & other.low, high & other.high);
+    }
+
+    public boolean intersects(CellSet other) {
+        return (low & other.low) != 0 || (high & other.high) != 0;
+    }
+
+    /**
+     * Primeira casa do conjunto a partir de {@code from}, inclusive, ou -1; percorre o conjunto com
+     * {@code for (int cell = set.next(0); cell >= 0; cell = set.next(cell + 1))}.
+     */
+    public int next(int from) {
+        if (from < 64) {
+            long bits = from < 0 ? low : low & -1L << from;
+            if (bits != 0) {
+                return Long.numberOfTrailingZeros(bits);
+            }
+            from = 64;
+        }
+        if (from >= CELLS) {
+            return -1;
+        }
+        long bits = high & -1L << (from - 64);
+        return bits == 0 ? -1 : 64 + Long.numberOfTrailingZeros(bits);
+    }
+
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    private static void checkCell(int cell) {
+        if (cell < 0 || cell >= CELLS) {
+            throw new IndexOutOfBoundsException("Casa fora do tabuleiro: " + cell);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package game.paths;
+
+import java.util.Arrays;
+
+/**
+ * Caminhos mínimos a partir de uma casa, calculados pelo {@link PathService} com obstáculos.
+ * Para cada casa alcançada guarda a distância e o primeiro passo a partir da origem; a ordem em que as casas
+ * foram alcançadas também é mantida, para quem percorre os alvos do mais próximo ao mais distante.
+ */
+public final class PathField {
+    private final int source;
+    private final byte[] distances;
+    private final byte[] firstSteps;
+    private final byte[] order;
+
+    PathField(int source, byte[] distances, byte[] firstSteps, byte[] order) {
+        this.source = source;
+        this.distances = distances;
+        this.firstSteps = firstSteps;
+        this.order = order;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Número de movimentos de uma casa até {@code cell}, ou {@link PathService#UNREACHABLE}.
+     */
+    public int distance(int cell) {
+        return distances[cell];
+    }
+
+    /**
+     * Casa vizinha da origem no caminho mínimo até {@code cell}, ou {@link PathService#UNREACHABLE}
+     * para a própria origem e casas não alcançadas.
+     */
+    public int firstStep(int cell) {
+        return firstSteps[cell];
+    }
+
+    /**
+     * Quantas casas foram alcançadas, contando a origem.
+     */
+    public int reachedCount() {
+        return order.length;
+    }
+
+    /**
+     * A {@code index}-ésima casa alcançada; a 0 é a origem e as distâncias nunca diminuem.
+     */
+    public int reached(int index) {
+        return order[index];
+    }
+
+    @Override
+    public String toString() {
+        return "PathField[" + source + ", " + Arrays.toString(order) + "]";
+    }
+}
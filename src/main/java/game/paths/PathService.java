@@ -0,0 +1,235 @@
+package game.paths;
+
+import game.Board;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caminhos mínimos no tabuleiro 10x10, com as casas numeradas por {@code x * 10 + y}.
+ * <p>
+ * {@link #distance} consulta uma tabela estática com as distâncias entre todos os pares de casas, contornando os
+ * lagos e ignorando as peças. {@link #field} faz uma busca em largura com obstáculos: as casas de {@code blocked}
+ * não podem ser ocupadas e as de {@code stops} podem ser alcançadas, mas não atravessadas (peças adversárias, que
+ * são atacadas e não ultrapassadas). A busca usa arrays de inteiros pré-alocados, e o resultado fica em um cache LRU
+ * chaveado pela origem e pelos bits de ocupação, de modo que consultas repetidas com a mesma ocupação não refazem a
+ * busca. Os vizinhos são visitados na ordem leste, oeste, norte e sul, que decide os empates.
+ * <p>
+ * Os métodos podem ser chamados por várias threads; o cache é protegido pela própria instância.
+ */
+public final class PathService {
+    public static final int UNREACHABLE = -1;
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final int CELLS = CellSet.CELLS;
+    private static final int[] DX = {0, 0, -1, 1};
+    private static final int[] DY = {1, -1, 0, 0};
+    private static final int[] NEIGHBORS = new int[CELLS * 4];
+    private static final CellSet[] NEIGHBOR_SETS = new CellSet[CELLS];
+    /** Casas em linha reta de cada casa e direção, até antes do primeiro lago ou da borda. */
+    private static final int MAX_RAY = 9;
+    private static final byte[] RAYS = new byte[CELLS * 4 * MAX_RAY];
+    private static final byte[] RAY_LENGTHS = new byte[CELLS * 4];
+    private static final long[] RAY_BITS = new long[CELLS * 4 * 2];
+    private static final byte[] DISTANCES = new byte[CELLS * CELLS];
+
+    static {
+        for (int cell = 0; cell < CELLS; cell++) {
+            for (int dir = 0; dir < 4; dir++) {
+                int x = cell / Board.COLS + DX[dir];
+                int y = cell % Board.COLS + DY[dir];
+                NEIGHBORS[cell * 4 + dir] = Board.isValidPosition(x, y) ? x * Board.COLS + y : UNREACHABLE;
+            }
+            CellSet neighbors = CellSet.EMPTY;
+            for (int dir = 0; dir < 4; dir++) {
+                if (NEIGHBORS[cell * 4 + dir] >= 0) {
+                    neighbors = neighbors.with(NEIGHBORS[cell * 4 + dir]);
+                }
+            }
+            NEIGHBOR_SETS[cell] = neighbors;
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            for (int dir = 0; dir < 4; dir++) {
+                int ray = cell * 4 + dir;
+                int length = 0;
+                for (int next = NEIGHBORS[ray]; next >= 0; next = NEIGHBORS[next * 4 + dir]) {
+                    RAYS[ray * MAX_RAY + length++] = (byte) next;
+                    RAY_BITS[ray * 2 + (next >>> 6)] |= 1L << (next & 63);
+                }
+                RAY_LENGTHS[ray] = (byte) length;
+            }
+        }
+        Arrays.fill(DISTANCES, (byte) UNREACHABLE);
+        int[] queue = new int[CELLS];
+        for (int source = 0; source < CELLS; source++) {
+            if (!Board.isValidPosition(source / Board.COLS, source % Board.COLS)) {
+                continue;
+            }
+            int head = 0, tail = 0;
+            queue[tail++] = source;
+            DISTANCES[source * CELLS + source] = 0;
+            while (head < tail) {
+                int cell = queue[head++];
+                for (int dir = 0; dir < 4; dir++) {
+                    int next = NEIGHBORS[cell * 4 + dir];
+                    if (next >= 0 && DISTANCES[source * CELLS + next] == UNREACHABLE) {
+                        DISTANCES[source * CELLS + next] = (byte) (DISTANCES[source * CELLS + cell] + 1);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    private final Map<Key, PathField> cache;
+    private final int[] queue = new int[CELLS];
+    private final byte[] distances = new byte[CELLS];
+    private final byte[] firstSteps = new byte[CELLS];
+    private long hits;
+    private long misses;
+
+    public PathService() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize número máximo de resultados de {@link #field} guardados.
+     */
+    public PathService(int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Tamanho do cache deve ser positivo: " + cacheSize);
+        }
+        this.cache = new LinkedHashMap<>(Math.min(cacheSize, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PathField> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Distância entre duas casas contornando os lagos, sem considerar peças, ou {@link #UNREACHABLE} se alguma
+     * delas for lago.
+     */
+    public static int distance(int from, int to) {
+        return DISTANCES[from * CELLS + to];
+    }
+
+    /**
+     * Vizinha de {@code cell} na direção {@code dir} (0 leste, 1 oeste, 2 norte, 3 sul), ou {@link #UNREACHABLE}
+     * fora do tabuleiro e nos lagos.
+     */
+    public static int neighbor(int cell, int dir) {
+        return NEIGHBORS[cell * 4 + dir];
+    }
+
+    /**
+     * Vizinhas ortogonais de {@code cell} dentro do tabuleiro e fora dos lagos.
+     */
+    public static CellSet neighbors(int cell) {
+        return NEIGHBOR_SETS[cell];
+    }
+
+    /**
+     * Número de casas em linha reta a partir de {@code cell} na direção {@code dir}, parando antes do primeiro lago
+     * ou da borda.
+     */
+    public static int rayLength(int cell, int dir) {
+        return RAY_LENGTHS[cell * 4 + dir];
+    }
+
+    /**
+     * Casa a {@code step} passos de {@code cell} na direção {@code dir}, com {@code 1 <= step <= rayLength}.
+     */
+    public static int rayCell(int cell, int dir, int step) {
+        return RAYS[(cell * 4 + dir) * MAX_RAY + step - 1];
+    }
+
+    /**
+     * Quantas casas livres seguidas há a partir de {@code cell} na direção {@code dir}, até a primeira casa de
+     * {@code occupied}, lago ou borda. O bloqueador sai dos bits, sem percorrer a linha: é o bit mais baixo da
+     * linha para leste e sul e o mais alto para oeste e norte.
+     */
+    public static int freeSteps(int cell, int dir, CellSet occupied) {
+        return freeSteps(cell, dir, occupied.low(), occupied.high());
+    }
+
+    /**
+     * {@link #freeSteps(int, int, CellSet)} com a ocupação em dois longs, como nos campos do {@link CellSet}.
+     */
+    public static int freeSteps(int cell, int dir, long occupiedLow, long occupiedHigh) {
+        int ray = cell * 4 + dir;
+        long low = RAY_BITS[ray * 2] & occupiedLow;
+        long high = RAY_BITS[ray * 2 + 1] & occupiedHigh;
+        if ((low | high) == 0) {
+            return RAY_LENGTHS[ray];
+        }
+        int blocker;
+        if (dir == 0 || dir == 3) {
+            blocker = low != 0 ? Long.numberOfTrailingZeros(low) : 64 + Long.numberOfTrailingZeros(high);
+        } else {
+            blocker = high != 0 ? 127 - Long.numberOfLeadingZeros(high) : 63 - Long.numberOfLeadingZeros(low);
+        }
+        return Math.abs(blocker - cell) / (dir < 2 ? 1 : Board.COLS) - 1;
+    }
+
+    /**
+     * Caminhos mínimos a partir de {@code source}, sem entrar em {@code blocked} e sem atravessar {@code stops}.
+     * A origem é sempre expandida, mesmo que esteja em um dos conjuntos.
+     */
+    public synchronized PathField field(int source, CellSet blocked, CellSet stops) {
+        Key key = new Key(source, blocked, stops);
+        PathField field = cache.get(key);
+        if (field != null) {
+            hits++;
+            return field;
+        }
+        misses++;
+        field = search(source, blocked, stops);
+        cache.put(key, field);
+        return field;
+    }
+
+    private PathField search(int source, CellSet blocked, CellSet stops) {
+        Arrays.fill(distances, (byte) UNREACHABLE);
+        Arrays.fill(firstSteps, (byte) UNREACHABLE);
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        distances[source] = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            if (cell != source && stops.contains(cell)) {
+                continue;
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int next = NEIGHBORS[cell * 4 + dir];
+                if (next < 0 || distances[next] != UNREACHABLE || blocked.contains(next)) {
+                    continue;
+                }
+                distances[next] = (byte) (distances[cell] + 1);
+                firstSteps[next] = cell == source ? (byte) next : firstSteps[cell];
+                queue[tail++] = next;
+            }
+        }
+        byte[] order = new byte[tail];
+        for (int i = 0; i < tail; i++) {
+            order[i] = (byte) queue[i];
+        }
+        return new PathField(source, distances.clone(), firstSteps.clone(), order);
+    }
+
+    /**
+     * Consultas respondidas pelo cache.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private record Key(int source, CellSet blocked, CellSet stops) {
+    }
+}
@@ -2,6 +2,8 @@ package game.pieces;
 
 import game.Board;
 
+import java.util.UUID;
+
 public class OpponentPiece extends Piece {
 
     public OpponentPiece(Board board) {
@@ -17,6 +19,31 @@ public class OpponentPiece extends Piece {
         this.strength = 999;
     }
 
+    private OpponentPiece(Piece enemy, Board board) {
+        super(enemy, board);
+        this.strength = 999;
+        this.player = null;
+    }
+
+    /**
+     * Máscara de uma peça adversária para a visão oculta: mantém apenas a posição e o identificador
+     * ({@link Piece#getId()}), sem tipo, força ou dono.
+     */
+    public static OpponentPiece hiding(Piece enemy, Board board) {
+        return new OpponentPiece(enemy, board);
+    }
+
+    /**
+     * Peça mascarada vista pelo adversário em um feedback: identificador, dono e posição, sem tabuleiro.
+     */
+    public static OpponentPiece masked(UUID id, String owner, int x, int y) {
+        OpponentPiece piece = new OpponentPiece((Board) null);
+        piece.restoreId(id);
+        piece.player = owner;
+        piece.setPosition(x, y);
+        return piece;
+    }
+
     @Override
     public String getRepresentation() {return "OP"; }
 
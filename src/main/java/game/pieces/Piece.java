@@ -5,7 +5,7 @@ import game.feedbacks.*;
 import java.util.UUID;
 
 public abstract class Piece {
-    private final UUID id;
+    private UUID id;
     protected int strength;
     protected int posX;
     protected int posY;
@@ -42,6 +42,23 @@ public abstract class Piece {
         this.posY = piece.getPosY();
     }
 
+    /**
+     * Identificador opaco e aleatório da peça, estável durante a partida e mantido nas cópias.
+     * Na visão oculta, a peça adversária mascarada mantém o identificador da original, o que permite
+     * acompanhar cada peça adversária sem revelar o tipo dela.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Devolve à peça o identificador que ela tinha antes de ser recriada a partir de um retrato,
+     * como ao retomar uma partida de um checkpoint. Não deve ser usado durante a partida.
+     */
+    public void restoreId(UUID id) {
+        this.id = id;
+    }
+
     public boolean equals(Piece piece) {
         return this.id.equals(piece.id);
     }
@@ -14,6 +14,8 @@ public enum QuantityPerPiece {
     SOLDIER("S", 8),
     SUBLIEUTENANT("ST", 4);
 
+    private static final QuantityPerPiece[] VALUES = values();
+
     private final String code;
     private final int quantity;
 
@@ -29,5 +31,24 @@ public enum QuantityPerPiece {
     public String getCode() {
         return code;
     }
+
+    /**
+     * Retorna o tipo correspondente à sigla da peça (ex.: "CP", "S").
+     */
+    public static QuantityPerPiece fromCode(String code) {
+        for (QuantityPerPiece qpp : VALUES) {
+            if (qpp.code.equals(code)) {
+                return qpp;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de peça desconhecido: " + code);
+    }
+
+    /**
+     * Retorna o tipo pelo ordinal, sem alocar o array de {@link #values()}.
+     */
+    public static QuantityPerPiece fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
 }
 
@@ -29,18 +29,9 @@ public class Soldier extends Piece {
             return super.canMove(newX, newY);
         }
 
-        dx = Integer.compare(newX, posX);
-        dy = Integer.compare(newY, posY);
-        int currentX = posX;
-        int currentY = posY;
-        while (currentX != newX || currentY != newY) {
-            currentX += dx;
-            currentY += dy;
-            if (board.getPiece(currentX, currentY) != null) {
-                return false;
-            }
-        }
-        return true;
+        // Movimento longo: destino e caminho livres, sem atravessar lagos nem sair do tabuleiro
+        int dir = newY > posY ? 0 : newY < posY ? 1 : newX < posX ? 2 : 3;
+        return dx + dy <= board.freeSteps(posX * Board.COLS + posY, dir);
     }
 
     @Override
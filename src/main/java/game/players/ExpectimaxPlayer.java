@@ -0,0 +1,145 @@
+package game.players;
+
+import game.Board;
+import game.endgame.EndgameTablebase;
+import game.feedbacks.AttackFeedback;
+import game.feedbacks.Feedback;
+import game.feedbacks.InvalidMoveFeedback;
+import game.feedbacks.LandMineDeactivationFeedback;
+import game.feedbacks.MoveFeedback;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.search.BeliefTracker;
+import game.search.ExpectimaxSearch;
+import game.search.InformationSet;
+import game.search.SearchState;
+
+import java.util.Random;
+
+/**
+ * Jogador que decide cada jogada com {@link ExpectimaxSearch}: alfa-beta nas partes determinísticas e
+ * nós de chance nos combates contra peças ocultas, ponderados pelas crenças do {@link BeliefTracker}.
+ * A profundidade cresce iterativamente dentro de um tempo fixo por jogada.
+ */
+public class ExpectimaxPlayer implements Player {
+    private final String playerName;
+    private final long moveTimeMillis;
+    private final int maxDepth;
+    private final Random random;
+    private final BeliefTracker beliefs = new BeliefTracker();
+    private final ExpectimaxSearch search = new ExpectimaxSearch();
+
+    private int player;
+    private boolean started;
+    private int lastMove = SearchState.PASS;
+    private int ownLastPieceCell = -1;
+    private int ownConsecutiveMoves;
+    private int lastDepth;
+    private double lastScore;
+    private String lastPrincipalVariation = "";
+
+    public ExpectimaxPlayer() {
+        this("Expectimax", 200, ExpectimaxSearch.MAX_DEPTH, new Random().nextLong());
+    }
+
+    /**
+     * @param moveTimeMillis tempo de busca por jogada.
+     * @param maxDepth profundidade máxima, em meias-jogadas, entre 1 e {@link ExpectimaxSearch#MAX_DEPTH}.
+     */
+    public ExpectimaxPlayer(String playerName, long moveTimeMillis, int maxDepth, long seed) {
+        if (maxDepth < 1 || maxDepth > ExpectimaxSearch.MAX_DEPTH) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 1 e " + ExpectimaxSearch.MAX_DEPTH + ": " + maxDepth);
+        }
+        this.playerName = playerName;
+        this.moveTimeMillis = moveTimeMillis;
+        this.maxDepth = maxDepth;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Tabelas de finais usadas quando a posição é totalmente conhecida, ou {@code null}.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        search.setTablebase(tablebase);
+    }
+
+    @Override
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Profundidade da última iteração completa na última jogada.
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Valor esperado da última jogada, em pontos de material.
+     */
+    public double getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * Variante principal da última jogada, ex.: {@code D3-E3 G3-F3}, ou vazia antes da primeira.
+     */
+    public String getLastPrincipalVariation() {
+        return lastPrincipalVariation;
+    }
+
+    /**
+     * Posiciona o Prisioneiro na última fileira, protegido por Minas Terrestres, e as demais peças ao acaso.
+     */
+    @Override
+    public Piece[][] setup(Board board) {
+        player = board.player1.getPlayerName().equals(playerName) ? 1 : 2;
+        started = false;
+        lastMove = SearchState.PASS;
+        ownLastPieceCell = -1;
+        ownConsecutiveMoves = 0;
+        return ProtectedPrisonerSetup.create(playerName, board, random);
+    }
+
+    @Override
+    public PieceAction play(Board board, Feedback myLastFeedback, Feedback enemyLastFeedback) {
+        if (!started) {
+            beliefs.reset(board);
+            started = true;
+        } else if (lastMove != SearchState.PASS) {
+            beliefs.onOwnMove(SearchState.from(lastMove), SearchState.to(lastMove), myLastFeedback);
+            updateConsecutiveMoves(myLastFeedback);
+        }
+        beliefs.onEnemyMove(enemyLastFeedback, board);
+
+        InformationSet info = InformationSet.of(board, player, beliefs, ownLastPieceCell, ownConsecutiveMoves);
+        lastMove = search.search(info, beliefs, System.nanoTime() + moveTimeMillis * 1_000_000L, maxDepth);
+        lastDepth = search.getCompletedDepth();
+        lastScore = search.getScore();
+        lastPrincipalVariation = search.formatPrincipalVariation();
+        if (lastMove == SearchState.PASS) {
+            return null;
+        }
+
+        int from = SearchState.from(lastMove);
+        int to = SearchState.to(lastMove);
+        Piece piece = board.getPiece(from / Board.COLS, from % Board.COLS);
+        return new PieceAction(piece, to / Board.COLS, to % Board.COLS);
+    }
+
+    /**
+     * Acompanha a regra de movimentos consecutivos da mesma peça, como o {@link Board} faz.
+     */
+    private void updateConsecutiveMoves(Feedback feedback) {
+        int from = SearchState.from(lastMove);
+        ownConsecutiveMoves = from == ownLastPieceCell ? ownConsecutiveMoves + 1 : 1;
+        if (feedback instanceof MoveFeedback || feedback instanceof AttackFeedback || feedback instanceof LandMineDeactivationFeedback) {
+            ownLastPieceCell = SearchState.to(lastMove);
+        } else if (feedback instanceof InvalidMoveFeedback) {
+            ownLastPieceCell = from;
+        } else {
+            ownLastPieceCell = -1;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package game.players;
+
+import game.Board;
+import game.BoardChange;
+import game.feedbacks.Feedback;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.records.GameRecord;
+
+import java.util.List;
+
+/**
+ * Jogador que usa um posicionamento fixo, dado pelos códigos de tipo de {@link GameRecord#encodeSetup},
+ * e delega as jogadas a outro jogador. O {@code setup} do outro jogador também é chamado, para que ele
+ * prepare seu estado interno, mas o resultado é descartado.
+ */
+public class FixedSetupPlayer implements Player {
+    private final Player delegate;
+    private final byte[] setup;
+
+    public FixedSetupPlayer(Player delegate, byte[] setup) {
+        if (setup.length != GameRecord.SETUP_CELLS) {
+            throw new IllegalArgumentException("Posicionamento deve ter " + GameRecord.SETUP_CELLS + " casas: " + setup.length);
+        }
+        this.delegate = delegate;
+        this.setup = setup.clone();
+    }
+
+    @Override
+    public String getPlayerName() {
+        return delegate.getPlayerName();
+    }
+
+    @Override
+    public Piece[][] setup(Board board) {
+        delegate.setup(board);
+        return GameRecord.decodeSetup(setup, getPlayerName(), board);
+    }
+
+    @Override
+    public PieceAction play(Board board, Feedback myLastFeedback, Feedback enemyLastFeedback) {
+        return delegate.play(board, myLastFeedback, enemyLastFeedback);
+    }
+
+    @Override
+    public void onBoardDelta(List<BoardChange> changes) {
+        delegate.onBoardDelta(changes);
+    }
+
+    @Override
+    public byte[] saveState() {
+        return delegate.saveState();
+    }
+
+    @Override
+    public void restoreState(byte[] state) {
+        delegate.restoreState(state);
+    }
+}
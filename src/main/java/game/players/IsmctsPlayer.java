@@ -0,0 +1,201 @@
+package game.players;
+
+import game.Board;
+import game.feedbacks.AttackFeedback;
+import game.feedbacks.Feedback;
+import game.feedbacks.InvalidMoveFeedback;
+import game.feedbacks.LandMineDeactivationFeedback;
+import game.feedbacks.MoveFeedback;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.pieces.QuantityPerPiece;
+import game.search.EnemyEvidence;
+import game.search.InformationSet;
+import game.search.IsmctsSearch;
+import game.search.SearchState;
+import game.search.SearchStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Jogador que decide cada jogada com ISMCTS ({@link IsmctsSearch}) dentro de um tempo fixo por jogada.
+ * As peças ocultas do adversário são sorteadas a cada simulação, respeitando as quantidades de
+ * {@link QuantityPerPiece} e as evidências dos feedbacks ({@link EnemyEvidence}).
+ * <p>
+ * A busca roda em paralelo na raiz: cada thread mantém a própria árvore, e as visitas das jogadas da raiz
+ * são somadas para a escolha. Entre uma jogada e outra, cada árvore é reaproveitada a partir do nó
+ * alcançado pela própria jogada e pela resposta do adversário.
+ * <p>
+ * As árvores extras rodam em um pool compartilhado por todos os jogadores, com threads daemon que encerram depois
+ * de um minuto ociosas; a thread que chama {@link #play} busca a primeira árvore. Assim, jogadores criados a cada
+ * partida (como no {@code SetupOptimizer} e no {@code SelfPlayGenerator}) não deixam threads para trás.
+ */
+public class IsmctsPlayer implements Player {
+    private static final int MAX_TREE_NODES = 250_000;
+    private static final ExecutorService SEARCH_POOL = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ismcts-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String playerName;
+    private final long moveTimeMillis;
+    private final int threads;
+    private final Random random;
+    private final IsmctsSearch[] searches;
+    private final EnemyEvidence evidence = new EnemyEvidence();
+
+    private int player;
+    private boolean started;
+    private int lastMove = SearchState.PASS;
+    private int ownLastPieceCell = -1;
+    private int ownConsecutiveMoves;
+    private SearchStats lastSearchStats;
+
+    public IsmctsPlayer() {
+        this("ISMCTS", 200, Runtime.getRuntime().availableProcessors(), new Random().nextLong());
+    }
+
+    /**
+     * @param moveTimeMillis tempo de busca por jogada.
+     * @param threads número de árvores buscadas em paralelo.
+     */
+    public IsmctsPlayer(String playerName, long moveTimeMillis, int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser positivo: " + threads);
+        }
+        this.playerName = playerName;
+        this.moveTimeMillis = moveTimeMillis;
+        this.threads = threads;
+        this.random = new Random(seed);
+        this.searches = new IsmctsSearch[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new IsmctsSearch(random.nextLong(), MAX_TREE_NODES);
+        }
+    }
+
+    @Override
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Estatísticas da busca da última jogada, ou {@code null} antes da primeira.
+     */
+    public SearchStats getLastSearchStats() {
+        return lastSearchStats;
+    }
+
+    /**
+     * Posiciona o Prisioneiro na última fileira, protegido por Minas Terrestres, e as demais peças ao acaso.
+     */
+    @Override
+    public Piece[][] setup(Board board) {
+        player = board.player1.getPlayerName().equals(playerName) ? 1 : 2;
+        started = false;
+        lastMove = SearchState.PASS;
+        ownLastPieceCell = -1;
+        ownConsecutiveMoves = 0;
+        for (IsmctsSearch search : searches) {
+            search.clear();
+        }
+        return ProtectedPrisonerSetup.create(playerName, board, random);
+    }
+
+    @Override
+    public PieceAction play(Board board, Feedback myLastFeedback, Feedback enemyLastFeedback) {
+        boolean reuseTree = started;
+        if (!started) {
+            evidence.reset(board);
+            started = true;
+        } else if (lastMove != SearchState.PASS) {
+            evidence.onOwnMove(SearchState.from(lastMove), SearchState.to(lastMove), myLastFeedback);
+            updateConsecutiveMoves(myLastFeedback);
+        }
+        int enemyMove = evidence.onEnemyMove(enemyLastFeedback, board);
+
+        for (IsmctsSearch search : searches) {
+            if (reuseTree && lastMove != SearchState.PASS && enemyMove != SearchState.PASS) {
+                search.advance(lastMove, enemyMove);
+            } else {
+                search.clear();
+            }
+        }
+
+        InformationSet info = InformationSet.of(board, player, evidence, ownLastPieceCell, ownConsecutiveMoves);
+        lastMove = search(info);
+        if (lastMove == SearchState.PASS) {
+            return null;
+        }
+
+        int from = SearchState.from(lastMove);
+        int to = SearchState.to(lastMove);
+        Piece piece = board.getPiece(from / Board.COLS, from % Board.COLS);
+        return new PieceAction(piece, to / Board.COLS, to % Board.COLS);
+    }
+
+    /**
+     * Acompanha a regra de movimentos consecutivos da mesma peça, como o {@link Board} faz.
+     */
+    private void updateConsecutiveMoves(Feedback feedback) {
+        int from = SearchState.from(lastMove);
+        ownConsecutiveMoves = from == ownLastPieceCell ? ownConsecutiveMoves + 1 : 1;
+        if (feedback instanceof MoveFeedback || feedback instanceof AttackFeedback || feedback instanceof LandMineDeactivationFeedback) {
+            ownLastPieceCell = SearchState.to(lastMove);
+        } else if (feedback instanceof InvalidMoveFeedback) {
+            ownLastPieceCell = from;
+        } else {
+            ownLastPieceCell = -1;
+        }
+    }
+
+    private int search(InformationSet info) {
+        long start = System.nanoTime();
+        long deadline = start + moveTimeMillis * 1_000_000L;
+        long reusedVisits = 0;
+        for (IsmctsSearch search : searches) {
+            reusedVisits += search.getRootVisits();
+        }
+
+        List<Future<?>> futures = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            IsmctsSearch search = searches[i];
+            futures.add(SEARCH_POOL.submit(() -> search.search(info, deadline)));
+        }
+        searches[0].search(info, deadline);
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na busca", e.getCause());
+        }
+
+        long[] visits = new long[SearchState.MOVE_CODES];
+        long iterations = 0, nodes = 0, treeNodes = 0;
+        for (IsmctsSearch search : searches) {
+            search.addRootVisits(visits);
+            iterations += search.getIterations();
+            nodes += search.getNodes();
+            treeNodes += search.getTreeSize();
+        }
+        lastSearchStats = new SearchStats(threads, iterations, nodes, treeNodes, reusedVisits, System.nanoTime() - start);
+
+        int best = SearchState.PASS;
+        for (int move = 0; move < visits.length; move++) {
+            if (visits[move] > 0 && (best == SearchState.PASS || visits[move] > visits[best])) {
+                best = move;
+            }
+        }
+        return best;
+    }
+}
@@ -1,7 +1,9 @@
 package game.players;
 
 import game.Board;
+import game.AttackMaps;
 import game.feedbacks.*;
+import game.paths.CellSet;
 import game.pieces.PieceAction;
 import game.pieces.PieceFactory;
 import game.pieces.QuantityPerPiece;
@@ -15,6 +17,8 @@ public class PauloSilvestrePlayer implements Player {
     private final Deque<Piece> pecasMovidasRecentemente;
     private static final int MAX_MOVIMENTOS_CONSECUTIVOS = 2;
     private static final Set<String> POSICOES_AGUA = Set.of("E3", "E4", "E7", "E8", "F3", "F4", "F7", "F8");
+    /** Casas a menos de 3 passos (distância de Manhattan) de cada casa. */
+    private static final CellSet[] VIZINHANCA_PROXIMA = new CellSet[Board.ROWS * Board.COLS];
     private final Random aleatorio;
     private List<Feedback> historicoCombates = new ArrayList<>();
     private int rodadasDesdeAtaque = 0;
@@ -33,6 +37,18 @@ public class PauloSilvestrePlayer implements Player {
         entry("OP", -1)  // Inimigo desconhecido
     );
     
+    static {
+        for (int cell = 0; cell < VIZINHANCA_PROXIMA.length; cell++) {
+            CellSet vizinhanca = CellSet.EMPTY;
+            for (int outra = 0; outra < VIZINHANCA_PROXIMA.length; outra++) {
+                if (Math.abs(cell / Board.COLS - outra / Board.COLS) + Math.abs(cell % Board.COLS - outra % Board.COLS) < 3) {
+                    vizinhanca = vizinhanca.with(outra);
+                }
+            }
+            VIZINHANCA_PROXIMA[cell] = vizinhanca;
+        }
+    }
+
     public PauloSilvestrePlayer() {
         this.pecasMovidasRecentemente = new ArrayDeque<>(MAX_MOVIMENTOS_CONSECUTIVOS);
         this.aleatorio = new Random();
@@ -278,19 +294,9 @@ public Piece[][] setup(Board tabuleiro) {
     }
 
     private double calcularFatorProximidadeInimigo(int x, int y, Board tabuleiro) {
-        int distanciaInimigoMaisProximo = Integer.MAX_VALUE;
-        for (int i = 0; i < Board.ROWS; i++) {
-            for (int j = 0; j < Board.COLS; j++) {
-                Piece p = tabuleiro.getPiece(i, j);
-                if (p != null && !nomeJogador.equals(p.getPlayer())) {
-                    int distancia = Math.abs(x - i) + Math.abs(y - j);
-                    if (distancia < distanciaInimigoMaisProximo) {
-                        distanciaInimigoMaisProximo = distancia;
-                    }
-                }
-            }
-        }
-        return distanciaInimigoMaisProximo < 3 ? 1.5 : 1.0;
+        AttackMaps mapas = tabuleiro.getAttackMaps();
+        CellSet inimigos = mapas.getPieces(AttackMaps.HIDDEN).union(mapas.getPieces(3 - tabuleiro.getSide(nomeJogador)));
+        return inimigos.intersects(VIZINHANCA_PROXIMA[x * Board.COLS + y]) ? 1.5 : 1.0;
     }
 
     private void registrarMovimento(Piece pecaMovida) {
@@ -1,10 +1,13 @@
 package game.players;
 
 import game.Board;
+import game.BoardChange;
 import game.feedbacks.Feedback;
 import game.pieces.Piece;
 import game.pieces.PieceAction;
 
+import java.util.List;
+
 public interface Player {
     String getPlayerName();
 
@@ -18,4 +21,28 @@ public interface Player {
      * Prepara uma jogada e retorna um objeto da jogada para ser executado pelo Board.
      */
     PieceAction play(Board board, Feedback myLastFeedback, Feedback enemyLastFeedback);
+
+    /**
+     * Opcional: recebe, logo antes de cada {@link #play}, as mudanças no tabuleiro desde a jogada anterior deste
+     * jogador (o resultado dela e a jogada do adversário), na ordem em que aconteceram. Permite manter modelos
+     * internos de forma incremental, sem comparar o tabuleiro inteiro a cada jogada.
+     * As mudanças ainda não entregues são gravadas no checkpoint, então a primeira lista depois de retomar
+     * a partida é a mesma que o jogador receberia sem a interrupção.
+     */
+    default void onBoardDelta(List<BoardChange> changes) {
+    }
+
+    /**
+     * Opcional: serializa o estado interno do jogador para ser gravado no checkpoint da partida.
+     * @return o estado serializado, ou {@code null} se o jogador não guarda estado.
+     */
+    default byte[] saveState() {
+        return null;
+    }
+
+    /**
+     * Opcional: restaura o estado devolvido por {@link #saveState()} ao retomar uma partida.
+     */
+    default void restoreState(byte[] state) {
+    }
 }
@@ -0,0 +1,58 @@
+package game.players;
+
+import game.Board;
+import game.pieces.Piece;
+import game.pieces.PieceFactory;
+import game.pieces.QuantityPerPiece;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Posicionamento usado pelos jogadores de busca: o Prisioneiro na última fileira, protegido por
+ * Minas Terrestres, e as demais peças ao acaso.
+ */
+final class ProtectedPrisonerSetup {
+
+    private ProtectedPrisonerSetup() {
+    }
+
+    static Piece[][] create(String playerName, Board board, Random random) {
+        String[][] codes = new String[4][10];
+        int prisonerColumn = random.nextInt(10);
+        codes[3][prisonerColumn] = QuantityPerPiece.PRISONER.getCode();
+        codes[2][prisonerColumn] = QuantityPerPiece.LAND_MINE.getCode();
+        if (prisonerColumn > 0) {
+            codes[3][prisonerColumn - 1] = QuantityPerPiece.LAND_MINE.getCode();
+        }
+        if (prisonerColumn < 9) {
+            codes[3][prisonerColumn + 1] = QuantityPerPiece.LAND_MINE.getCode();
+        }
+
+        List<String> remaining = new ArrayList<>();
+        for (QuantityPerPiece piece : QuantityPerPiece.values()) {
+            int placed = 0;
+            for (String[] row : codes) {
+                for (String code : row) {
+                    if (piece.getCode().equals(code)) {
+                        placed++;
+                    }
+                }
+            }
+            remaining.addAll(Collections.nCopies(piece.getQuantity() - placed, piece.getCode()));
+        }
+        Collections.shuffle(remaining, random);
+
+        Piece[][] result = new Piece[4][10];
+        int index = 0;
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 10; j++) {
+                String code = codes[i][j] != null ? codes[i][j] : remaining.get(index++);
+                result[i][j] = PieceFactory.createPiece(code, playerName, board);
+            }
+        }
+        return result;
+    }
+}
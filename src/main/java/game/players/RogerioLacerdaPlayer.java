@@ -2,6 +2,8 @@ package game.players;
 
 import game.Board;
 import game.feedbacks.*;
+import game.paths.CellSet;
+import game.paths.PathService;
 import game.pieces.Piece;
 import game.pieces.PieceAction;
 import game.pieces.PieceFactory;
@@ -299,6 +301,7 @@ public class RogerioLacerdaPlayer implements Player {
         List<PieceAction> movimentosPossiveis = new ArrayList<>();
         List<PieceAction> attackMoves = new ArrayList<>();
         int[][] direcoes = {{1, 0}, {-1, 0}, {0, -1}, {0, 1}};
+        CellSet ocupadas = tabuleiro.getOccupied();
 
         for (int i = 0; i < Board.ROWS; i++) {
             for (int j = 0; j < Board.COLS; j++) {
@@ -308,38 +311,19 @@ public class RogerioLacerdaPlayer implements Player {
                     if (canMove) {
                         for (int[] dir : direcoes) {
                             if (peca.getRepresentation().equals("S")) {
-                                int adjX = i + dir[0];
-                                int adjY = j + dir[1];
-                                if (Board.isValidPosition(adjX, adjY)) {
-                                    Piece target = tabuleiro.getPiece(adjX, adjY);
-                                    if (target == null) {
-                                        movimentosPossiveis.add(new PieceAction(peca, adjX, adjY));
-                                    } else if (target.getPlayer() == null) {
-                                        attackMoves.add(new PieceAction(peca, adjX, adjY));
+                                int origem = i * Board.COLS + j;
+                                int direcao = dir[0] == 1 ? 3 : dir[0] == -1 ? 2 : dir[1] == -1 ? 1 : 0;
+                                if (PathService.rayLength(origem, direcao) > 0) {
+                                    int adjacente = PathService.rayCell(origem, direcao, 1);
+                                    Piece target = tabuleiro.getPiece(adjacente / Board.COLS, adjacente % Board.COLS);
+                                    if (target != null && target.getPlayer() == null) {
+                                        attackMoves.add(new PieceAction(peca, adjacente / Board.COLS, adjacente % Board.COLS));
                                     }
                                 }
-                                int d = 2;
-                                while (true) {
-                                    int novoX = i + dir[0] * d;
-                                    int novoY = j + dir[1] * d;
-                                    if (!Board.isValidPosition(novoX, novoY)) break;
-                                    Piece target = tabuleiro.getPiece(novoX, novoY);
-                                    if (target != null) break;
-                                    boolean pathClear = true;
-                                    for (int k = 1; k < d; k++) {
-                                        int interX = i + dir[0] * k;
-                                        int interY = j + dir[1] * k;
-                                        if (tabuleiro.getPiece(interX, interY) != null) {
-                                            pathClear = false;
-                                            break;
-                                        }
-                                    }
-                                    if (pathClear) {
-                                        movimentosPossiveis.add(new PieceAction(peca, novoX, novoY));
-                                    } else {
-                                        break;
-                                    }
-                                    d++;
+                                int livres = PathService.freeSteps(origem, direcao, ocupadas);
+                                for (int d = 1; d <= livres; d++) {
+                                    int destino = PathService.rayCell(origem, direcao, d);
+                                    movimentosPossiveis.add(new PieceAction(peca, destino / Board.COLS, destino % Board.COLS));
                                 }
                             } else {
                                 int novoX = i + dir[0];
@@ -405,35 +389,27 @@ public class RogerioLacerdaPlayer implements Player {
 
 
     private boolean isAdjacentToEnemy(int x, int y, Board tabuleiro) {
-        int[][] dirs = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}}; 
-        for (int[] dir : dirs) {
-            int nx = x + dir[0];
-            int ny = y + dir[1];
-            if (Board.isValidPosition(nx, ny)) {
-                Piece p = tabuleiro.getPiece(nx, ny);
-                if (p != null && p.getPlayer() != null && !p.getPlayer().equals(nomeJogador)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return PathService.neighbors(x * Board.COLS + y).intersects(enemyPieces(tabuleiro));
     }
 
  
     private double distanceToNearestEnemy(int x, int y, Board tabuleiro) {
         double minDist = Double.MAX_VALUE;
-        for (int i = 0; i < Board.ROWS; i++) {
-            for (int j = 0; j < Board.COLS; j++) {
-                Piece p = tabuleiro.getPiece(i, j);
-                if (p != null && p.getPlayer() != null && !p.getPlayer().equals(nomeJogador)) {
-                    double dist = Math.sqrt(Math.pow(i - x, 2) + Math.pow(j - y, 2));
-                    if (dist < minDist) minDist = dist;
-                }
-            }
+        CellSet enemies = enemyPieces(tabuleiro);
+        for (int cell = enemies.next(0); cell >= 0; cell = enemies.next(cell + 1)) {
+            double dist = Math.sqrt(Math.pow(cell / Board.COLS - x, 2) + Math.pow(cell % Board.COLS - y, 2));
+            if (dist < minDist) minDist = dist;
         }
         return minDist;
     }
 
+    /**
+     * Peças do adversário com dono conhecido; as peças ocultas da visão do jogador não entram.
+     */
+    private CellSet enemyPieces(Board tabuleiro) {
+        return tabuleiro.getAttackMaps().getPieces(3 - tabuleiro.getSide(nomeJogador));
+    }
+
 
     private int getTotalRevealedEnemyPieces() {
         int total = 0;
@@ -1,6 +1,5 @@
 package game.players;
 
-import java.util.Queue;
 import java.util.Map;
 import java.util.LinkedList;
 import java.util.HashMap;
@@ -13,6 +12,9 @@ import game.feedbacks.EqualStrengthFeedback;
 import game.feedbacks.Feedback;
 import game.feedbacks.LandmineFeedback;
 import game.feedbacks.MoveFeedback;
+import game.paths.CellSet;
+import game.paths.PathField;
+import game.paths.PathService;
 import game.pieces.Piece;
 import game.pieces.PieceAction;
 import game.pieces.PieceFactory;
@@ -24,6 +26,7 @@ public class YuriAlvesPlayer implements Player
 	private Map<String, Integer> countDistribution = new HashMap<String, Integer>();
 	private List<Map<String, Integer>> lastTargetPositions = new LinkedList<Map<String, Integer>>();
 	private String[][] enemyPiecePositions = new String[10][10];
+	private PathService paths = new PathService();
 
 	@Override
 	public String getPlayerName()
@@ -113,6 +116,23 @@ public class YuriAlvesPlayer implements Player
 		Integer targetY = 0;
 		Integer oldX = 0;
 		Integer oldY = 0;
+		CellSet ownCells = CellSet.EMPTY;
+		CellSet enemyCells = CellSet.EMPTY;
+		for (int x = 0; x < 10; x++)
+		{
+			for (int y = 0; y < 10; y++)
+			{
+				Piece piece = board.getPiece(x, y);
+				if (piece != null && piece.getPlayer() == null)
+				{
+					enemyCells = enemyCells.with(x*10+y);
+				}
+				else if (piece != null)
+				{
+					ownCells = ownCells.with(x*10+y);
+				}
+			}
+		}
 		// implement inner state update
 		for (int x = 0; x < 10; x++)
 		{
@@ -144,72 +164,16 @@ public class YuriAlvesPlayer implements Player
 				)
 				{
 		
-					Boolean[][] overlayBoard = new Boolean[10][10];
-					for (int i = 0; i < 10; i++)
-					{
-						for (int j = 0; j < 10; j++)
-						{
-							overlayBoard[i][j] = false;
-						}
-					}
-					Queue<List<Map<String, Integer>>> searchSpace = new LinkedList<List<Map<String, Integer>>>();
-					List<Map<String, Integer>> startSearchPath = new LinkedList<Map<String, Integer>>();
-					Map<String, Integer> startSearchPathPositon = new HashMap<String, Integer>();
-					startSearchPathPositon.put("x", x);
-					startSearchPathPositon.put("y", y);
-					startSearchPathPositon.put("distance", 0);
-					startSearchPath.add(startSearchPathPositon);
-					searchSpace.add(startSearchPath);
-					while (true)
+					PathField field = this.paths.field(x*10+y, ownCells, enemyCells);
+					for (int reachedIndex = 1; reachedIndex < field.reachedCount(); reachedIndex++)
 					{
-						List<Map<String, Integer>> currentSearchPath = searchSpace.poll();
-						if (currentSearchPath == null)
-						{
-							break;
-						}
-						Integer currentX = currentSearchPath.getLast().get("x");
-						Integer currentY = currentSearchPath.getLast().get("y");
-						Integer currentDistance = currentSearchPath.getLast().get("distance");
-						overlayBoard[currentX][currentY] = true;
-						if (board.getPiece(currentX, currentY) == null || board.getPiece(currentX, currentY) == currentPiece)
-						{
-							List<Map<String, Integer>> directions = new LinkedList<Map<String, Integer>>();
-							Map<String, Integer> right = new HashMap<String, Integer>();
-							Map<String, Integer> left = new HashMap<String, Integer>();
-							Map<String, Integer> up = new HashMap<String, Integer>();
-							Map<String, Integer> down = new HashMap<String, Integer>();
-							right.put("x", currentX+1);
-							right.put("y", currentY);
-							left.put("x", currentX-1);
-							left.put("y", currentY);
-							up.put("x", currentX);
-							up.put("y", currentY+1);
-							down.put("x", currentX);
-							down.put("y", currentY-1);
-							directions.add(up);
-							directions.add(down);
-							directions.add(left);
-							directions.add(right);
-							for (Map<String, Integer> direction : directions)
-							{
-								if
-								(
-									Board.isValidPosition(direction.get("x"), direction.get("y")) &&
-									(
-										board.getPiece(direction.get("x"), direction.get("y")) == null ||
-										board.getPiece(direction.get("x"), direction.get("y")).getPlayer() == null
-									) &&
-									overlayBoard[direction.get("x")][direction.get("y")] == false
-								)
-								{
-									List<Map<String, Integer>> newSearchPath = new LinkedList<Map<String, Integer>>(currentSearchPath);
-									direction.put("distance", currentDistance+1);
-									newSearchPath.add(direction);
-									searchSpace.add(newSearchPath);
-								}
-							}
-						}
-						else if (board.getPiece(currentX, currentY).getPlayer() == null)
+						int reachedCell = field.reached(reachedIndex);
+						Integer currentX = reachedCell/10;
+						Integer currentY = reachedCell%10;
+						Integer distance = field.distance(reachedCell);
+						Integer firstStepX = field.firstStep(reachedCell)/10;
+						Integer firstStepY = field.firstStep(reachedCell)%10;
+						if (enemyCells.contains(reachedCell))
 						{
 							Integer victoryCount = 0;
 							Integer countDistributionTotal = 0;
@@ -243,13 +207,13 @@ public class YuriAlvesPlayer implements Player
 							}
 							if (2*victoryCount >= countDistributionTotal || targetPiece == null || currentPiece.getRepresentation().equals("S"))
 							{
-								Double newMaxValue = ((double)victoryCount/(double)countDistributionTotal)*(20.0/(double)currentSearchPath.getLast().get("distance"));
+								Double newMaxValue = ((double)victoryCount/(double)countDistributionTotal)*(20.0/(double)distance);
 								if (newMaxValue > maxValue)
 								{
 									maxValue = newMaxValue;
 									targetPiece = currentPiece;
-									targetX = currentSearchPath.get(1).get("x");
-									targetY = currentSearchPath.get(1).get("y");
+									targetX = firstStepX;
+									targetY = firstStepY;
 									oldX = x;
 									oldY = y;
 								}
@@ -257,12 +221,12 @@ public class YuriAlvesPlayer implements Player
 							else
 							{
 								Integer defeatCount = countDistributionTotal-victoryCount;
-								Double newMaxValue = ((double)defeatCount/(double)countDistributionTotal)*(20.0/(double)currentSearchPath.getLast().get("distance"));
+								Double newMaxValue = ((double)defeatCount/(double)countDistributionTotal)*(20.0/(double)distance);
 								if (newMaxValue > maxValue)
 								{
 									maxValue = newMaxValue;
-									Integer newTargetX = currentSearchPath.get(1).get("x");
-									Integer newTargetY = currentSearchPath.get(1).get("y");
+									Integer newTargetX = firstStepX;
+									Integer newTargetY = firstStepY;
 									if (newTargetX > currentX)
 									{
 										newTargetX = currentX-1;
@@ -0,0 +1,87 @@
+package game.records;
+
+import java.nio.ByteBuffer;
+
+import static game.records.GameRecordCodec.*;
+
+/**
+ * Partida lida diretamente do buffer mapeado do {@link GameArchive}, sem cópia.
+ * Os campos são decodificados sob demanda com leituras absolutas, então a mesma instância
+ * pode ser lida por várias threads.
+ */
+public final class ArchivedGame {
+    private final int id;
+    private final ByteBuffer buffer;
+    private final int base;
+    private final int movesStart;
+
+    ArchivedGame(int id, ByteBuffer buffer, int base, int movesStart) {
+        this.id = id;
+        this.buffer = buffer;
+        this.base = base;
+        this.movesStart = movesStart;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getSeed() {
+        return buffer.getLong(base + SEED_OFFSET);
+    }
+
+    public boolean isPlayer1Starts() {
+        return (buffer.get(base + FLAGS_OFFSET) & 1) != 0;
+    }
+
+    public int getWinner() {
+        return buffer.get(base + WINNER_OFFSET);
+    }
+
+    public GameEndReason getEndReason() {
+        return GameEndReason.fromOrdinal(buffer.get(base + END_REASON_OFFSET));
+    }
+
+    public String getPlayer1Name() {
+        return getString(buffer, base + PLAYER1_NAME_OFFSET);
+    }
+
+    public String getPlayer2Name() {
+        int player1NameLength = buffer.getShort(base + PLAYER1_NAME_OFFSET) & 0xFFFF;
+        return getString(buffer, base + PLAYER1_NAME_OFFSET + Short.BYTES + player1NameLength);
+    }
+
+    public byte[] getPlayer1Setup() {
+        return getSetup(buffer, movesStart - Integer.BYTES - 2 * PACKED_SETUP_BYTES);
+    }
+
+    public byte[] getPlayer2Setup() {
+        return getSetup(buffer, movesStart - Integer.BYTES - PACKED_SETUP_BYTES);
+    }
+
+    public int getMoveCount() {
+        return buffer.getInt(movesStart - Integer.BYTES);
+    }
+
+    /**
+     * Retorna a {@link MoveEntry} da meia-jogada {@code index}.
+     */
+    public int getMove(int index) {
+        if (index < 0 || index >= getMoveCount()) {
+            throw new IndexOutOfBoundsException("Jogada " + index + " fora da partida " + id);
+        }
+        return buffer.getInt(movesStart + index * MoveEntry.BYTES);
+    }
+
+    public int getMovingPlayer(int index) {
+        boolean player1 = (index % 2 == 0) == isPlayer1Starts();
+        return player1 ? 1 : 2;
+    }
+
+    /**
+     * Decodifica a partida inteira em um {@link GameRecord}.
+     */
+    public GameRecord toRecord() {
+        return GameRecordCodec.decode(buffer.duplicate().position(base));
+    }
+}
@@ -0,0 +1,161 @@
+package game.records;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static game.records.GameRecordCodec.*;
+
+/**
+ * Leitor de acesso aleatório para segmentos gravados pelo {@link GameRecordWriter}.
+ * Os arquivos são mapeados em memória em janelas de até 2 GB e um índice em arrays primitivos
+ * guarda, para cada partida, a janela, o início do registro e o início das jogadas.
+ * Ir para a partida N, meia-jogada M custa duas leituras no índice e uma no buffer mapeado.
+ * <p>
+ * A indexação de um segmento para no primeiro registro incompleto ou inválido (tamanho menor que o cabeçalho
+ * fixo, sem {@link GameRecordCodec#MAGIC} ou com campos que passam do fim do registro), como o buraco zerado
+ * que o {@link GameRecordWriter} deixa quando o processo cai no meio de uma gravação.
+ */
+public class GameArchive implements Closeable {
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+    /** Menor registro possível, com o prefixo de tamanho, nomes vazios e nenhuma jogada. */
+    private static final int MIN_RECORD_SIZE = PLAYER1_NAME_OFFSET + 2 * Short.BYTES + 2 * PACKED_SETUP_BYTES + Integer.BYTES;
+
+    private final List<FileChannel> channels = new ArrayList<>();
+    private final List<ByteBuffer> windows = new ArrayList<>();
+    private int[] gameWindow = new int[1024];
+    private int[] gameBase = new int[1024];
+    private int[] gameMovesStart = new int[1024];
+    private int size;
+
+    public GameArchive(Path... segments) throws IOException {
+        this(List.of(segments));
+    }
+
+    public GameArchive(List<Path> segments) throws IOException {
+        try {
+            for (Path segment : segments) {
+                FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ);
+                channels.add(channel);
+                indexSegment(segment, channel);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void indexSegment(Path segment, FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        long windowStart = 0;
+
+        while (windowStart < fileSize) {
+            long windowSize = Math.min(MAX_WINDOW_SIZE, fileSize - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            int windowIndex = windows.size();
+            windows.add(window);
+
+            int position = 0;
+            while (position + MIN_RECORD_SIZE <= windowSize) {
+                int length = window.getInt(position);
+                if (length < MIN_RECORD_SIZE - Integer.BYTES || window.getInt(position + MAGIC_OFFSET) != MAGIC) {
+                    return; // registro inválido: o restante do segmento é ignorado
+                }
+                long recordEnd = position + (long) Integer.BYTES + length;
+                if (recordEnd > windowSize) {
+                    break; // registro truncado ou que continua na próxima janela
+                }
+                int movesStart = movesStart(window, position, (int) recordEnd);
+                if (movesStart < 0) {
+                    return;
+                }
+                addGame(windowIndex, position, movesStart);
+                position = (int) recordEnd;
+            }
+
+            if (position == 0 || windowStart + windowSize == fileSize) {
+                break; // final do arquivo, possivelmente com um registro incompleto
+            }
+            windowStart += position;
+        }
+    }
+
+    /**
+     * Início das jogadas do registro em {@code base}, ou -1 se os nomes ou as jogadas não couberem até {@code recordEnd}.
+     */
+    private static int movesStart(ByteBuffer window, int base, int recordEnd) {
+        long offset = base + PLAYER1_NAME_OFFSET;
+        offset += Short.BYTES + (window.getShort((int) offset) & 0xFFFF);
+        if (offset + Short.BYTES > recordEnd) {
+            return -1;
+        }
+        offset += Short.BYTES + (window.getShort((int) offset) & 0xFFFF);
+        offset += 2 * PACKED_SETUP_BYTES + Integer.BYTES;
+        if (offset > recordEnd) {
+            return -1;
+        }
+        long moveCount = window.getInt((int) offset - Integer.BYTES);
+        return moveCount >= 0 && offset + moveCount * MoveEntry.BYTES == recordEnd ? (int) offset : -1;
+    }
+
+    private void addGame(int window, int base, int movesStart) {
+        if (size == gameBase.length) {
+            gameWindow = Arrays.copyOf(gameWindow, size * 2);
+            gameBase = Arrays.copyOf(gameBase, size * 2);
+            gameMovesStart = Arrays.copyOf(gameMovesStart, size * 2);
+        }
+        gameWindow[size] = window;
+        gameBase[size] = base;
+        gameMovesStart[size] = movesStart;
+        size++;
+    }
+
+    /**
+     * Número de partidas indexadas.
+     */
+    public int size() {
+        return size;
+    }
+
+    public ArchivedGame getGame(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Partida " + id + " fora do arquivo com " + size + " partidas");
+        }
+        return new ArchivedGame(id, windows.get(gameWindow[id]), gameBase[id], gameMovesStart[id]);
+    }
+
+    /**
+     * Retorna a {@link MoveEntry} da meia-jogada {@code moveIndex} da partida {@code id}.
+     */
+    public int getMove(int id, int moveIndex) {
+        return getGame(id).getMove(moveIndex);
+    }
+
+    /**
+     * Percorre todas as partidas na ordem do índice; o stream pode ser paralelizado.
+     */
+    public Stream<ArchivedGame> games() {
+        return IntStream.range(0, size).mapToObj(this::getGame);
+    }
+
+    public ArchivedGame sample(Random random) {
+        return getGame(random.nextInt(size));
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (FileChannel channel : channels) {
+            channel.close();
+        }
+    }
+}
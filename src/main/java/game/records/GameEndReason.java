@@ -0,0 +1,18 @@
+package game.records;
+
+/**
+ * Motivo pelo qual uma partida registrada terminou.
+ */
+public enum GameEndReason {
+    NOT_FINISHED,
+    PRISONER_FOUND,
+    PLAYER_WITHOUT_PIECES,
+    MAX_NUMBER_OF_MOVES,
+    INVALID_SETUP;
+
+    private static final GameEndReason[] VALUES = values();
+
+    public static GameEndReason fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,156 @@
+package game.records;
+
+import game.Board;
+import game.pieces.QuantityPerPiece;
+
+/**
+ * Notação textual das partidas, linha a linha, compatível com o formato binário.
+ * <pre>
+ * [Player1 "Player1"]
+ * [Player2 "Player2"]
+ * [Seed "-4962768465676381896"]
+ * [Start "1"]
+ * [Result "2 PRISONER_FOUND"]
+ * [Setup1 "CP,S,M,G,...,S/.../.../..."]
+ * [Setup2 "..."]
+ * D3-C3 G7-F7 C3xF3[CP&gt;SG] A2-A5? ??-???
+ * </pre>
+ * As etiquetas descrevem jogadores, semente, quem começa (1 ou 2), vencedor e motivo do fim.
+ * Os posicionamentos seguem a matriz 4x10 de {@code Player.setup}: linhas separadas por {@code /},
+ * casas por {@code ,} e casa vazia como {@code -}.
+ * <p>
+ * Cada meia-jogada é um token com as coordenadas já usadas nas mensagens do jogo (linha A-J, coluna 1-10):
+ * <ul>
+ *     <li>{@code D3-C3}: movimento;</li>
+ *     <li>{@code D3-C3?}: jogada inválida; {@code ??} indica casa ausente ou fora do tabuleiro;</li>
+ *     <li>{@code D3xC3[A op D]}: combate, com os tipos revelados do atacante e do defensor e o resultado
+ *     {@code >} vitória, {@code <} derrota, {@code =} mesma força, {@code *} mina terrestre,
+ *     {@code +} mina desativada ou {@code #} prisioneiro encontrado.</li>
+ * </ul>
+ * Linhas iniciadas por {@code ;} são comentários. Uma linha em branco ou uma nova etiqueta encerra as jogadas.
+ */
+public final class GameNotation {
+    static final String UNKNOWN_SQUARE = "??";
+    static final String UNKNOWN_TYPE = "?";
+    static final String EMPTY_CELL = "-";
+    static final String COMBAT_OPERATORS = "><=*+#";
+
+    private GameNotation() {
+    }
+
+    public static String formatSquare(int cell) {
+        if (cell == MoveEntry.NO_CELL) {
+            return UNKNOWN_SQUARE;
+        }
+        return (char) ('A' + cell / Board.COLS) + Integer.toString(cell % Board.COLS + 1);
+    }
+
+    public static int parseSquare(String square) {
+        if (square.equals(UNKNOWN_SQUARE)) {
+            return MoveEntry.NO_CELL;
+        }
+        if (square.length() < 2 || square.length() > 3) {
+            throw new IllegalArgumentException("Casa inválida: " + square);
+        }
+        int x = square.charAt(0) - 'A';
+        int y;
+        try {
+            y = Integer.parseInt(square.substring(1)) - 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Casa inválida: " + square);
+        }
+        if (x < 0 || x >= Board.ROWS || y < 0 || y >= Board.COLS) {
+            throw new IllegalArgumentException("Casa inválida: " + square);
+        }
+        return x * Board.COLS + y;
+    }
+
+    public static String formatMove(int entry) {
+        MoveOutcome outcome = MoveEntry.outcome(entry);
+        String from = formatSquare(MoveEntry.fromCell(entry));
+        String to = formatSquare(MoveEntry.toCell(entry));
+
+        return switch (outcome) {
+            case MOVE -> from + "-" + to;
+            case INVALID -> from + "-" + to + "?";
+            default -> from + "x" + to + "[" + formatType(MoveEntry.attackerType(entry))
+                    + COMBAT_OPERATORS.charAt(outcome.ordinal() - MoveOutcome.ATTACK.ordinal())
+                    + formatType(MoveEntry.defenderType(entry)) + "]";
+        };
+    }
+
+    public static int parseMove(String token) {
+        int separator = token.indexOf('-', 1);
+        boolean combat = false;
+        if (separator < 0) {
+            separator = token.indexOf('x');
+            combat = true;
+        }
+        if (separator < 2) {
+            throw new IllegalArgumentException("Jogada inválida na notação: " + token);
+        }
+        int from = parseSquare(token.substring(0, separator));
+        String rest = token.substring(separator + 1);
+
+        if (!combat) {
+            boolean invalid = rest.endsWith("?") && !rest.equals(UNKNOWN_SQUARE);
+            int to = parseSquare(invalid ? rest.substring(0, rest.length() - 1) : rest);
+            return MoveEntry.encode(from, to, invalid ? MoveOutcome.INVALID : MoveOutcome.MOVE, 0, 0);
+        }
+
+        int open = rest.indexOf('[');
+        if (open < 0 || !rest.endsWith("]")) {
+            throw new IllegalArgumentException("Combate sem resultado na notação: " + token);
+        }
+        int to = parseSquare(rest.substring(0, open));
+        String result = rest.substring(open + 1, rest.length() - 1);
+        for (int i = 1; i < result.length() - 1; i++) {
+            int operator = COMBAT_OPERATORS.indexOf(result.charAt(i));
+            if (operator >= 0) {
+                MoveOutcome outcome = MoveOutcome.fromOrdinal(MoveOutcome.ATTACK.ordinal() + operator);
+                int attacker = parseType(result.substring(0, i));
+                int defender = parseType(result.substring(i + 1));
+                return MoveEntry.encode(from, to, outcome, attacker, defender);
+            }
+        }
+        throw new IllegalArgumentException("Resultado de combate inválido na notação: " + token);
+    }
+
+    static String formatType(int code) {
+        return code == 0 ? UNKNOWN_TYPE : QuantityPerPiece.fromOrdinal(code - 1).getCode();
+    }
+
+    static int parseType(String type) {
+        return type.equals(UNKNOWN_TYPE) ? 0 : QuantityPerPiece.fromCode(type).ordinal() + 1;
+    }
+
+    static String formatSetup(byte[] setup) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < GameRecord.SETUP_CELLS; i++) {
+            if (i > 0) {
+                sb.append(i % GameRecord.SETUP_COLS == 0 ? '/' : ',');
+            }
+            sb.append(setup[i] == 0 ? EMPTY_CELL : formatType(setup[i]));
+        }
+        return sb.toString();
+    }
+
+    static byte[] parseSetup(String value) {
+        String[] rows = value.split("/");
+        if (rows.length != GameRecord.SETUP_ROWS) {
+            throw new IllegalArgumentException("Posicionamento deve ter " + GameRecord.SETUP_ROWS + " linhas: " + value);
+        }
+        byte[] setup = new byte[GameRecord.SETUP_CELLS];
+        for (int i = 0; i < rows.length; i++) {
+            String[] cells = rows[i].split(",");
+            if (cells.length != GameRecord.SETUP_COLS) {
+                throw new IllegalArgumentException("Linha do posicionamento deve ter " + GameRecord.SETUP_COLS + " casas: " + rows[i]);
+            }
+            for (int j = 0; j < cells.length; j++) {
+                String cell = cells[j].trim();
+                setup[i * GameRecord.SETUP_COLS + j] = (byte) (cell.equals(EMPTY_CELL) ? 0 : parseType(cell));
+            }
+        }
+        return setup;
+    }
+}
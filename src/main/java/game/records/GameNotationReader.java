@@ -0,0 +1,132 @@
+package game.records;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lê partidas na notação de {@link GameNotation} a partir de um {@link Reader}, linha a linha.
+ * Apenas a partida corrente fica em memória, então arquivos de qualquer tamanho podem ser processados.
+ */
+public class GameNotationReader implements AutoCloseable {
+    private final BufferedReader reader;
+    private String pendingLine;
+    private int lineNumber;
+
+    public GameNotationReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Lê a próxima partida ou retorna {@code null} no fim da entrada.
+     */
+    public GameRecord next() throws IOException {
+        Map<String, String> tags = new HashMap<>();
+        String line = nextLine();
+        while (line != null && (line.isBlank() || line.startsWith(";"))) {
+            line = nextLine();
+        }
+        if (line == null) {
+            return null;
+        }
+
+        while (line != null && line.startsWith("[")) {
+            parseTag(line, tags);
+            line = nextLine();
+            while (line != null && line.startsWith(";")) {
+                line = nextLine();
+            }
+        }
+
+        GameRecord record = createRecord(tags);
+        while (line != null && !line.isBlank() && !line.startsWith("[")) {
+            if (!line.startsWith(";")) {
+                for (String token : line.trim().split("\\s+")) {
+                    try {
+                        record.addMove(GameNotation.parseMove(token));
+                    } catch (IllegalArgumentException e) {
+                        throw error(e.getMessage());
+                    }
+                }
+            }
+            line = nextLine();
+        }
+        if (line != null && line.startsWith("[")) {
+            pendingLine = line;
+        }
+        return record;
+    }
+
+    private String nextLine() throws IOException {
+        if (pendingLine != null) {
+            String line = pendingLine;
+            pendingLine = null;
+            return line;
+        }
+        lineNumber++;
+        String line = reader.readLine();
+        return line == null ? null : line.strip();
+    }
+
+    private void parseTag(String line, Map<String, String> tags) {
+        int space = line.indexOf(' ');
+        if (space < 0 || !line.endsWith("\"]") || line.charAt(space + 1) != '"' || line.length() < space + 4) {
+            throw error("Etiqueta inválida: " + line);
+        }
+        String value = line.substring(space + 2, line.length() - 2);
+        tags.put(line.substring(1, space), unescape(value));
+    }
+
+    private static String unescape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                c = value.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private GameRecord createRecord(Map<String, String> tags) {
+        try {
+            GameRecord record = new GameRecord(
+                    requireTag(tags, "Player1"),
+                    requireTag(tags, "Player2"),
+                    Long.parseLong(tags.getOrDefault("Seed", "0")),
+                    GameNotation.parseSetup(requireTag(tags, "Setup1")),
+                    GameNotation.parseSetup(requireTag(tags, "Setup2"))
+            );
+            record.setPlayer1Starts(!"2".equals(tags.get("Start")));
+
+            String result = tags.get("Result");
+            if (result != null) {
+                String[] parts = result.split(" ");
+                record.finish(Integer.parseInt(parts[0]), parts.length > 1 ? GameEndReason.valueOf(parts[1]) : GameEndReason.NOT_FINISHED);
+            }
+            return record;
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage());
+        }
+    }
+
+    private String requireTag(Map<String, String> tags, String key) {
+        String value = tags.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Etiqueta obrigatória ausente: " + key);
+        }
+        return value;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Linha " + lineNumber + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,50 @@
+package game.records;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Exporta registros de partidas para a notação textual de {@link GameNotation}.
+ */
+public class GameNotationWriter implements AutoCloseable {
+    private static final int MOVES_PER_LINE = 10;
+
+    private final Writer writer;
+
+    public GameNotationWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void write(GameRecord record) throws IOException {
+        writeTag("Player1", record.getPlayer1Name());
+        writeTag("Player2", record.getPlayer2Name());
+        writeTag("Seed", Long.toString(record.getSeed()));
+        writeTag("Start", record.isPlayer1Starts() ? "1" : "2");
+        writeTag("Result", record.getWinner() + " " + record.getEndReason().name());
+        writeTag("Setup1", GameNotation.formatSetup(record.getPlayer1Setup()));
+        writeTag("Setup2", GameNotation.formatSetup(record.getPlayer2Setup()));
+
+        for (int i = 0; i < record.getMoveCount(); i++) {
+            writer.write(GameNotation.formatMove(record.getMove(i)));
+            writer.write((i + 1) % MOVES_PER_LINE == 0 || i == record.getMoveCount() - 1 ? "\n" : " ");
+        }
+        writer.write("\n");
+    }
+
+    private void writeTag(String key, String value) throws IOException {
+        writer.write('[');
+        writer.write(key);
+        writer.write(" \"");
+        writer.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+        writer.write("\"]\n");
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
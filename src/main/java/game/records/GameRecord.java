@@ -0,0 +1,168 @@
+package game.records;
+
+import game.Board;
+import game.feedbacks.Feedback;
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.pieces.PieceFactory;
+import game.pieces.QuantityPerPiece;
+
+import java.util.Arrays;
+
+/**
+ * Registro compacto de uma partida: jogadores, semente, posicionamentos iniciais
+ * e uma entrada de tamanho fixo ({@link MoveEntry}) por meia-jogada.
+ */
+public class GameRecord {
+    public static final int SETUP_ROWS = 4;
+    public static final int SETUP_COLS = 10;
+    public static final int SETUP_CELLS = SETUP_ROWS * SETUP_COLS;
+    public static final int LAND_MINE_CODE = QuantityPerPiece.LAND_MINE.ordinal() + 1;
+    public static final int PRISONER_CODE = QuantityPerPiece.PRISONER.ordinal() + 1;
+
+    private final String player1Name;
+    private final String player2Name;
+    private final long seed;
+    private final byte[] player1Setup;
+    private final byte[] player2Setup;
+    private boolean player1Starts;
+    private int[] moves;
+    private int moveCount;
+    private int winner;
+    private GameEndReason endReason = GameEndReason.NOT_FINISHED;
+
+    public GameRecord(String player1Name, String player2Name, long seed, Piece[][] player1Setup, Piece[][] player2Setup) {
+        this(player1Name, player2Name, seed, encodeSetup(player1Setup), encodeSetup(player2Setup));
+    }
+
+    public GameRecord(String player1Name, String player2Name, long seed, byte[] player1Setup, byte[] player2Setup) {
+        this.player1Name = player1Name;
+        this.player2Name = player2Name;
+        this.seed = seed;
+        this.player1Setup = player1Setup;
+        this.player2Setup = player2Setup;
+        this.moves = new int[256];
+    }
+
+    /**
+     * Retorna o código de 4 bits do tipo da peça: 0 para casa vazia ou peça oculta,
+     * {@code ordinal + 1} de {@link QuantityPerPiece} para as demais.
+     */
+    public static int typeCode(Piece piece) {
+        if (piece == null || piece instanceof OpponentPiece) {
+            return 0;
+        }
+        return QuantityPerPiece.fromCode(piece.getRepresentation()).ordinal() + 1;
+    }
+
+    /**
+     * Converte o posicionamento 4x10 devolvido por {@code Player.setup} em códigos de tipo.
+     * Matrizes com tamanho incorreto são registradas como vazias.
+     */
+    public static byte[] encodeSetup(Piece[][] setup) {
+        byte[] codes = new byte[SETUP_CELLS];
+        if (setup == null || setup.length != SETUP_ROWS) {
+            return codes;
+        }
+        for (int i = 0; i < SETUP_ROWS; i++) {
+            if (setup[i] == null || setup[i].length != SETUP_COLS) {
+                return new byte[SETUP_CELLS];
+            }
+            for (int j = 0; j < SETUP_COLS; j++) {
+                codes[i * SETUP_COLS + j] = (byte) typeCode(setup[i][j]);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Reconstrói as peças de um posicionamento registrado.
+     */
+    public static Piece[][] decodeSetup(byte[] codes, String player, Board board) {
+        Piece[][] setup = new Piece[SETUP_ROWS][SETUP_COLS];
+        for (int i = 0; i < SETUP_ROWS; i++) {
+            for (int j = 0; j < SETUP_COLS; j++) {
+                int code = codes[i * SETUP_COLS + j];
+                if (code != 0) {
+                    setup[i][j] = PieceFactory.createPiece(QuantityPerPiece.fromOrdinal(code - 1).getCode(), player, board);
+                }
+            }
+        }
+        return setup;
+    }
+
+    public void addMove(PieceAction action, Feedback feedback) {
+        addMove(MoveEntry.of(action, feedback));
+    }
+
+    public void addMove(int entry) {
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[moveCount++] = entry;
+    }
+
+    public void finish(int winner, GameEndReason endReason) {
+        this.winner = winner;
+        this.endReason = endReason;
+    }
+
+    public String getPlayer1Name() {
+        return player1Name;
+    }
+
+    public String getPlayer2Name() {
+        return player2Name;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public byte[] getPlayer1Setup() {
+        return player1Setup;
+    }
+
+    public byte[] getPlayer2Setup() {
+        return player2Setup;
+    }
+
+    public boolean isPlayer1Starts() {
+        return player1Starts;
+    }
+
+    public void setPlayer1Starts(boolean player1Starts) {
+        this.player1Starts = player1Starts;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public int getMove(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Jogada " + index + " fora do registro de " + moveCount + " jogadas");
+        }
+        return moves[index];
+    }
+
+    /**
+     * Jogador que fez a meia-jogada {@code index} (1 ou 2).
+     */
+    public int getMovingPlayer(int index) {
+        boolean player1 = (index % 2 == 0) == player1Starts;
+        return player1 ? 1 : 2;
+    }
+
+    /**
+     * Vencedor da partida: 1, 2 ou 0 em caso de empate ou partida não concluída.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public GameEndReason getEndReason() {
+        return endReason;
+    }
+}
@@ -0,0 +1,157 @@
+package game.records;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formato binário de um {@link GameRecord} (big-endian):
+ * <pre>
+ *  int    tamanho do restante do registro, em bytes
+ *  int    {@link #MAGIC}
+ *  byte   {@link #VERSION}
+ *  long   semente
+ *  byte   flags (bit 0: Player1 começa)
+ *  byte   vencedor (0, 1 ou 2)
+ *  byte   {@link GameEndReason}
+ *  short  + UTF-8  nome do Player1
+ *  short  + UTF-8  nome do Player2
+ *  20 B   posicionamento do Player1 (40 casas x 4 bits)
+ *  20 B   posicionamento do Player2
+ *  int    número de meias-jogadas
+ *  int[]  {@link MoveEntry} por meia-jogada
+ * </pre>
+ * Uma partida de 5000 meias-jogadas ocupa cerca de 20 KB.
+ */
+public final class GameRecordCodec {
+    public static final int MAGIC = 0x434D4254; // "CMBT"
+    public static final byte VERSION = 1;
+    public static final int PACKED_SETUP_BYTES = GameRecord.SETUP_CELLS / 2;
+
+    // Deslocamentos fixos a partir do início do registro, usados pela leitura sem cópia do GameArchive.
+    static final int MAGIC_OFFSET = 4;
+    static final int VERSION_OFFSET = 8;
+    static final int SEED_OFFSET = 9;
+    static final int FLAGS_OFFSET = 17;
+    static final int WINNER_OFFSET = 18;
+    static final int END_REASON_OFFSET = 19;
+    static final int PLAYER1_NAME_OFFSET = 20;
+
+    private GameRecordCodec() {
+    }
+
+    public static int encodedSize(GameRecord record) {
+        return Integer.BYTES + headerSize(record) + record.getMoveCount() * MoveEntry.BYTES;
+    }
+
+    private static int headerSize(GameRecord record) {
+        return Integer.BYTES + 1 + Long.BYTES + 3
+                + Short.BYTES + utf8Length(record.getPlayer1Name())
+                + Short.BYTES + utf8Length(record.getPlayer2Name())
+                + 2 * PACKED_SETUP_BYTES
+                + Integer.BYTES;
+    }
+
+    public static void encode(GameRecord record, ByteBuffer out) {
+        out.putInt(encodedSize(record) - Integer.BYTES);
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.putLong(record.getSeed());
+        out.put((byte) (record.isPlayer1Starts() ? 1 : 0));
+        out.put((byte) record.getWinner());
+        out.put((byte) record.getEndReason().ordinal());
+        putString(out, record.getPlayer1Name());
+        putString(out, record.getPlayer2Name());
+        putSetup(out, record.getPlayer1Setup());
+        putSetup(out, record.getPlayer2Setup());
+        out.putInt(record.getMoveCount());
+        for (int i = 0; i < record.getMoveCount(); i++) {
+            out.putInt(record.getMove(i));
+        }
+    }
+
+    /**
+     * Lê um registro a partir da posição atual do buffer, avançando-a até o fim do registro.
+     */
+    public static GameRecord decode(ByteBuffer in) {
+        try {
+            int length = in.getInt();
+            int end = in.position() + length;
+            if (in.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Registro de partida inválido: assinatura incorreta");
+            }
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Versão de registro não suportada: " + version);
+            }
+            long seed = in.getLong();
+            boolean player1Starts = (in.get() & 1) != 0;
+            int winner = in.get();
+            GameEndReason endReason = GameEndReason.fromOrdinal(in.get());
+            String player1Name = getString(in);
+            String player2Name = getString(in);
+            byte[] player1Setup = getSetup(in);
+            byte[] player2Setup = getSetup(in);
+
+            GameRecord record = new GameRecord(player1Name, player2Name, seed, player1Setup, player2Setup);
+            record.setPlayer1Starts(player1Starts);
+            record.finish(winner, endReason);
+            int moveCount = in.getInt();
+            for (int i = 0; i < moveCount; i++) {
+                record.addMove(in.getInt());
+            }
+            if (in.position() != end) {
+                throw new IllegalArgumentException("Registro de partida inválido: tamanho inconsistente");
+            }
+            return record;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Registro de partida truncado", e);
+        }
+    }
+
+    static void putSetup(ByteBuffer out, byte[] setup) {
+        for (int i = 0; i < GameRecord.SETUP_CELLS; i += 2) {
+            out.put((byte) ((setup[i] & 0xF) << 4 | (setup[i + 1] & 0xF)));
+        }
+    }
+
+    static byte[] getSetup(ByteBuffer in) {
+        byte[] setup = getSetup(in, in.position());
+        in.position(in.position() + PACKED_SETUP_BYTES);
+        return setup;
+    }
+
+    static byte[] getSetup(ByteBuffer in, int offset) {
+        byte[] setup = new byte[GameRecord.SETUP_CELLS];
+        for (int i = 0; i < GameRecord.SETUP_CELLS; i += 2) {
+            int packed = in.get(offset + i / 2);
+            setup[i] = (byte) ((packed >>> 4) & 0xF);
+            setup[i + 1] = (byte) (packed & 0xF);
+        }
+        return setup;
+    }
+
+    static String getString(ByteBuffer in) {
+        String value = getString(in, in.position());
+        in.position(in.position() + Short.BYTES + (in.getShort(in.position()) & 0xFFFF));
+        return value;
+    }
+
+    static String getString(ByteBuffer in, int offset) {
+        byte[] bytes = new byte[in.getShort(offset) & 0xFFFF];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = in.get(offset + Short.BYTES + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,61 @@
+package game.records;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acrescenta registros de partidas ao fim de um arquivo de segmento.
+ * Cada thread serializa o registro em um buffer próprio e reserva sua região do arquivo
+ * de forma atômica, permitindo que várias partidas sejam gravadas ao mesmo tempo sem bloqueio.
+ */
+public class GameRecordWriter implements Closeable {
+    private static final int INITIAL_BUFFER_SIZE = 32 * 1024;
+
+    private final FileChannel channel;
+    private final AtomicLong position;
+    private final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE));
+
+    public GameRecordWriter(Path segment) throws IOException {
+        this.channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.position = new AtomicLong(channel.size());
+    }
+
+    /**
+     * Grava o registro e retorna o deslocamento em que ele começa no arquivo.
+     */
+    public long append(GameRecord record) throws IOException {
+        int size = GameRecordCodec.encodedSize(record);
+        ByteBuffer buffer = buffers.get();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size) << 1);
+            buffers.set(buffer);
+        }
+        buffer.clear();
+        GameRecordCodec.encode(record, buffer);
+        buffer.flip();
+
+        long offset = position.getAndAdd(size);
+        long target = offset;
+        while (buffer.hasRemaining()) {
+            target += channel.write(buffer, target);
+        }
+        return offset;
+    }
+
+    /**
+     * Força a gravação em disco dos registros já escritos.
+     */
+    public void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
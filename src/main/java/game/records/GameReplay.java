@@ -0,0 +1,213 @@
+package game.records;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.MoveUndo;
+import game.feedbacks.Feedback;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.players.SimplePlayer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Reconstrói posições de uma partida registrada a partir de retratos ({@link BoardSnapshot})
+ * guardados a cada {@code K} meias-jogadas. Qualquer posição é obtida restaurando o retrato
+ * anterior mais próximo e aplicando no máximo {@code K - 1} jogadas.
+ */
+public class GameReplay {
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+    private final GameRecord record;
+    private final int keyframeInterval;
+    private final BoardSnapshot[] keyframes;
+
+    public GameReplay(GameRecord record) {
+        this(record, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public GameReplay(GameRecord record, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Intervalo entre retratos deve ser positivo: " + keyframeInterval);
+        }
+        this.record = record;
+        this.keyframeInterval = keyframeInterval;
+        this.keyframes = new BoardSnapshot[record.getMoveCount() / keyframeInterval + 1];
+
+        Board board = initialBoard();
+        for (int move = 0; move <= record.getMoveCount(); move++) {
+            if (move % keyframeInterval == 0) {
+                keyframes[move / keyframeInterval] = board.snapshot();
+            }
+            if (move < record.getMoveCount()) {
+                applyMove(board, record.getMove(move));
+            }
+        }
+    }
+
+    private GameReplay(GameRecord record, int keyframeInterval, BoardSnapshot[] keyframes) {
+        this.record = record;
+        this.keyframeInterval = keyframeInterval;
+        this.keyframes = keyframes;
+    }
+
+    /**
+     * Lê retratos gravados por {@link #encodeKeyframes()}, evitando reprocessar a partida inteira.
+     */
+    public static GameReplay withKeyframes(GameRecord record, ByteBuffer in) {
+        int keyframeInterval = in.getInt();
+        int keyframeCount = in.getInt();
+        if (keyframeInterval < 1 || keyframeCount != record.getMoveCount() / keyframeInterval + 1
+                || (long) keyframeCount * BoardSnapshot.BYTES > in.remaining()) {
+            throw new IllegalArgumentException("Retratos não correspondem ao registro da partida");
+        }
+        BoardSnapshot[] keyframes = new BoardSnapshot[keyframeCount];
+        for (int i = 0; i < keyframes.length; i++) {
+            keyframes[i] = BoardSnapshot.readFrom(in);
+        }
+        return new GameReplay(record, keyframeInterval, keyframes);
+    }
+
+    /**
+     * Serializa os retratos para serem guardados junto ao registro.
+     */
+    public ByteBuffer encodeKeyframes() {
+        ByteBuffer out = ByteBuffer.allocate(2 * Integer.BYTES + keyframes.length * BoardSnapshot.BYTES);
+        out.putInt(keyframeInterval);
+        out.putInt(keyframes.length);
+        for (BoardSnapshot keyframe : keyframes) {
+            keyframe.writeTo(out);
+        }
+        return out.flip();
+    }
+
+    public GameRecord getRecord() {
+        return record;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Tabuleiro após {@code halfMove} meias-jogadas (0 é o posicionamento inicial).
+     * O registro não guarda os identificadores das peças, então cada tabuleiro devolvido tem identificadores novos.
+     */
+    public Board positionAt(int halfMove) {
+        checkHalfMove(halfMove);
+        Board board = emptyBoard();
+        board.restore(keyframes[halfMove / keyframeInterval]);
+        for (int move = halfMove - halfMove % keyframeInterval; move < halfMove; move++) {
+            applyMove(board, record.getMove(move));
+        }
+        return board;
+    }
+
+    /**
+     * Retorna um cursor posicionado no início da partida, que avança e volta jogada a jogada.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void checkHalfMove(int halfMove) {
+        if (halfMove < 0 || halfMove > record.getMoveCount()) {
+            throw new IndexOutOfBoundsException("Meia-jogada " + halfMove + " fora da partida com " + record.getMoveCount() + " jogadas");
+        }
+    }
+
+    private Board emptyBoard() {
+        Board board = new Board();
+        board.player1 = new SimplePlayer(record.getPlayer1Name());
+        board.player2 = new SimplePlayer(record.getPlayer2Name());
+        return board;
+    }
+
+    private Board initialBoard() {
+        Board board = emptyBoard();
+        board.addPlayerSetup(GameRecord.decodeSetup(record.getPlayer1Setup(), record.getPlayer1Name(), board), 1);
+        board.addPlayerSetup(GameRecord.decodeSetup(record.getPlayer2Setup(), record.getPlayer2Name(), board), 2);
+        return board;
+    }
+
+    /**
+     * Recria a ação registrada na entrada. Destinos fora do tabuleiro são refeitos como (-1, -1).
+     */
+    static PieceAction toAction(Board board, int entry) {
+        int fromCell = MoveEntry.fromCell(entry);
+        if (fromCell == MoveEntry.NO_CELL) {
+            return null;
+        }
+        int toCell = MoveEntry.toCell(entry);
+        Piece piece = board.getPiece(fromCell / Board.COLS, fromCell % Board.COLS);
+        if (toCell == MoveEntry.NO_CELL) {
+            return new PieceAction(piece, -1, -1);
+        }
+        return new PieceAction(piece, toCell / Board.COLS, toCell % Board.COLS);
+    }
+
+    static Feedback applyMove(Board board, int entry) {
+        return board.executeAction(toAction(board, entry));
+    }
+
+    /**
+     * Navegação bidirecional: cada avanço guarda um {@link MoveUndo}, que é desfeito ao voltar.
+     * Saltos com {@link #seek(int)} partem do retrato mais próximo.
+     */
+    public class Cursor {
+        private final Deque<MoveUndo> undos = new ArrayDeque<>();
+        private Board board;
+        private int halfMove;
+
+        private Cursor() {
+            seek(0);
+        }
+
+        public Board getBoard() {
+            return board;
+        }
+
+        public int getHalfMove() {
+            return halfMove;
+        }
+
+        public boolean hasNext() {
+            return halfMove < record.getMoveCount();
+        }
+
+        public boolean hasPrevious() {
+            return halfMove > 0;
+        }
+
+        public Feedback next() {
+            if (!hasNext()) {
+                throw new IndexOutOfBoundsException("Fim da partida");
+            }
+            PieceAction action = toAction(board, record.getMove(halfMove));
+            undos.push(board.prepareUndo(action));
+            halfMove++;
+            return board.executeAction(action);
+        }
+
+        public void previous() {
+            if (!hasPrevious()) {
+                throw new IndexOutOfBoundsException("Início da partida");
+            }
+            if (undos.isEmpty()) {
+                seek(halfMove - 1);
+                return;
+            }
+            board.undo(undos.pop());
+            halfMove--;
+        }
+
+        public void seek(int target) {
+            checkHalfMove(target);
+            board = positionAt(target);
+            halfMove = target;
+            undos.clear();
+        }
+    }
+}
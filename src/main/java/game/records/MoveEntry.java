@@ -0,0 +1,97 @@
+package game.records;
+
+import game.Board;
+import game.feedbacks.*;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+
+/**
+ * Codificação de uma meia-jogada em um único int:
+ * <pre>
+ *  bits  0-6  casa de origem  (x * 10 + y, ou {@link #NO_CELL})
+ *  bits  7-13 casa de destino (x * 10 + y, ou {@link #NO_CELL})
+ *  bits 14-17 {@link MoveOutcome}
+ *  bits 18-21 tipo do atacante revelado (0 se não houve combate)
+ *  bits 22-25 tipo do defensor revelado (0 se não houve combate)
+ * </pre>
+ * Os tipos seguem {@link GameRecord#typeCode(Piece)}.
+ */
+public final class MoveEntry {
+    public static final int NO_CELL = 127;
+    public static final int BYTES = Integer.BYTES;
+
+    private MoveEntry() {
+    }
+
+    public static int encode(int fromCell, int toCell, MoveOutcome outcome, int attackerType, int defenderType) {
+        return (fromCell & 0x7F)
+                | (toCell & 0x7F) << 7
+                | outcome.ordinal() << 14
+                | (attackerType & 0xF) << 18
+                | (defenderType & 0xF) << 22;
+    }
+
+    /**
+     * Codifica a ação de um jogador e o feedback devolvido pelo {@link Board}.
+     * A peça da ação deve ser a da visão oculta entregue ao jogador, que mantém a posição de origem.
+     */
+    public static int of(PieceAction action, Feedback feedback) {
+        MoveOutcome outcome = MoveOutcome.of(feedback);
+        if (action == null || action.getPiece() == null) {
+            return encode(NO_CELL, NO_CELL, outcome, 0, 0);
+        }
+
+        Piece piece = action.getPiece();
+        int fromCell = cell(piece.getPosX(), piece.getPosY());
+        int toCell = cell(action.getNewPosX(), action.getNewPosY());
+        if (!outcome.isCombat()) {
+            return encode(fromCell, toCell, outcome, 0, 0);
+        }
+
+        return encode(fromCell, toCell, outcome, GameRecord.typeCode(piece), defenderType(feedback));
+    }
+
+    private static int defenderType(Feedback feedback) {
+        if (feedback instanceof AttackFeedback attack) {
+            return GameRecord.typeCode(attack.defender);
+        } else if (feedback instanceof DefeatFeedback defeat) {
+            return GameRecord.typeCode(defeat.defender);
+        } else if (feedback instanceof EqualStrengthFeedback equal) {
+            return GameRecord.typeCode(equal.defender);
+        } else if (feedback instanceof LandmineFeedback landmine) {
+            return GameRecord.typeCode(landmine.getPiece());
+        } else if (feedback instanceof LandMineDeactivationFeedback) {
+            return GameRecord.LAND_MINE_CODE;
+        } else if (feedback instanceof PrisonerFeedback) {
+            return GameRecord.PRISONER_CODE;
+        }
+        return 0;
+    }
+
+    public static int cell(int x, int y) {
+        if (x < 0 || x >= Board.ROWS || y < 0 || y >= Board.COLS) {
+            return NO_CELL;
+        }
+        return x * Board.COLS + y;
+    }
+
+    public static int fromCell(int entry) {
+        return entry & 0x7F;
+    }
+
+    public static int toCell(int entry) {
+        return (entry >>> 7) & 0x7F;
+    }
+
+    public static MoveOutcome outcome(int entry) {
+        return MoveOutcome.fromOrdinal((entry >>> 14) & 0xF);
+    }
+
+    public static int attackerType(int entry) {
+        return (entry >>> 18) & 0xF;
+    }
+
+    public static int defenderType(int entry) {
+        return (entry >>> 22) & 0xF;
+    }
+}
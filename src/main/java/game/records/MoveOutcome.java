@@ -0,0 +1,49 @@
+package game.records;
+
+import game.feedbacks.*;
+
+/**
+ * Resultado de uma meia-jogada, codificado em 4 bits no registro binário.
+ */
+public enum MoveOutcome {
+    MOVE,
+    ATTACK,
+    DEFEAT,
+    EQUAL_STRENGTH,
+    LANDMINE,
+    LANDMINE_DEACTIVATION,
+    PRISONER,
+    INVALID;
+
+    private static final MoveOutcome[] VALUES = values();
+
+    public static MoveOutcome fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    public static MoveOutcome of(Feedback feedback) {
+        if (feedback instanceof MoveFeedback) {
+            return MOVE;
+        } else if (feedback instanceof AttackFeedback) {
+            return ATTACK;
+        } else if (feedback instanceof DefeatFeedback) {
+            return DEFEAT;
+        } else if (feedback instanceof EqualStrengthFeedback) {
+            return EQUAL_STRENGTH;
+        } else if (feedback instanceof LandmineFeedback) {
+            return LANDMINE;
+        } else if (feedback instanceof LandMineDeactivationFeedback) {
+            return LANDMINE_DEACTIVATION;
+        } else if (feedback instanceof PrisonerFeedback) {
+            return PRISONER;
+        }
+        return INVALID;
+    }
+
+    /**
+     * Indica se o resultado revela o tipo das peças envolvidas.
+     */
+    public boolean isCombat() {
+        return this != MOVE && this != INVALID;
+    }
+}
@@ -0,0 +1,275 @@
+package game.records;
+
+import game.Board;
+import game.pieces.Piece;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static game.records.GameRecordCodec.PACKED_SETUP_BYTES;
+
+/**
+ * Livro de posicionamentos iniciais com os resultados obtidos contra cada adversário, gravado pelo
+ * {@link SetupBookBuilder} e lido por mapeamento em memória (big-endian):
+ * <pre>
+ *  int    {@link #MAGIC}
+ *  byte   {@link #VERSION}
+ *  int    número de adversários K
+ *  K x (short + UTF-8)  nomes dos adversários
+ *  int    número de posicionamentos N
+ *  N x entrada:
+ *      20 B       posicionamento (40 casas x 4 bits, como no {@link GameRecordCodec})
+ *      K x 3 int  partidas, vitórias e empates contra cada adversário
+ * </pre>
+ * As entradas têm tamanho fixo, então a entrada N fica a uma multiplicação do início.
+ * <p>
+ * As seleções recebem o nome do adversário; {@code null} ou um adversário ausente do livro usam os resultados
+ * somados contra todos. Na abertura são calculados, para cada adversário, o melhor posicionamento e a
+ * distribuição acumulada dos pesos, de modo que {@link #best} e {@link #weightedRandom} custam O(1) e O(log N),
+ * {@link #explore} percorre arrays primitivos e todas podem ser chamadas por várias threads.
+ */
+public class SetupBook implements Closeable {
+    public static final int MAGIC = 0x434D5342; // "CMSB"
+    public static final byte VERSION = 1;
+    static final int STATS = 3;
+
+    /** Quantil normal do limite inferior de Wilson usado por {@link #best}. */
+    private static final double CONFIDENCE_Z = 1.96;
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final List<String> opponents;
+    private final int entriesStart;
+    private final int entrySize;
+    private final int size;
+    private final int[] bestByColumn;
+    private final double[][] cumulativeByColumn;
+    private final long[] gamesByColumn;
+    private final int[][] playedByColumn;
+    private final float[][] pointsByColumn;
+
+    public SetupBook(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Livro de posicionamentos grande demais: " + path);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES + 1 || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Livro de posicionamentos inválido: " + path);
+            }
+            if (buffer.get(Integer.BYTES) != VERSION) {
+                throw new IOException("Versão de livro não suportada: " + buffer.get(Integer.BYTES));
+            }
+
+            int position = Integer.BYTES + 1;
+            int columns = buffer.getInt(position);
+            position += Integer.BYTES;
+            List<String> names = new ArrayList<>(columns);
+            for (int i = 0; i < columns; i++) {
+                names.add(GameRecordCodec.getString(buffer, position));
+                position += Short.BYTES + (buffer.getShort(position) & 0xFFFF);
+            }
+            this.opponents = Collections.unmodifiableList(names);
+            this.size = buffer.getInt(position);
+            this.entriesStart = position + Integer.BYTES;
+            this.entrySize = entrySize(columns);
+            if ((long) entriesStart + (long) size * entrySize != buffer.capacity()) {
+                throw new IOException("Livro de posicionamentos truncado: " + path);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        int columns = opponents.size() + 1;
+        this.bestByColumn = new int[columns];
+        this.cumulativeByColumn = new double[columns][];
+        this.gamesByColumn = new long[columns];
+        this.playedByColumn = new int[columns][size];
+        this.pointsByColumn = new float[columns][size];
+        for (int column = 0; column < columns; column++) {
+            index(column);
+        }
+    }
+
+    static int entrySize(int opponents) {
+        return PACKED_SETUP_BYTES + opponents * STATS * Integer.BYTES;
+    }
+
+    /**
+     * Calcula o melhor posicionamento e os pesos acumulados da coluna; a última coluna soma todos os adversários.
+     */
+    private void index(int column) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        double bestBound = -1;
+        long games = 0;
+        for (int index = 0; index < size; index++) {
+            int played = stat(index, column, 0);
+            double points = points(index, column);
+            playedByColumn[column][index] = played;
+            pointsByColumn[column][index] = (float) points;
+            games += played;
+            total += (points + 1) / (played + 2);
+            cumulative[index] = total;
+            double bound = wilsonLowerBound(points, played);
+            if (bound > bestBound) {
+                bestBound = bound;
+                bestByColumn[column] = index;
+            }
+        }
+        cumulativeByColumn[column] = cumulative;
+        gamesByColumn[column] = games;
+    }
+
+    private static double wilsonLowerBound(double points, int games) {
+        if (games == 0) {
+            return 0;
+        }
+        double z2 = CONFIDENCE_Z * CONFIDENCE_Z;
+        double rate = points / games;
+        double center = rate + z2 / (2 * games);
+        double margin = CONFIDENCE_Z * Math.sqrt(rate * (1 - rate) / games + z2 / (4.0 * games * games));
+        return (center - margin) / (1 + z2 / games);
+    }
+
+    private int column(String opponent) {
+        int column = opponent == null ? -1 : opponents.indexOf(opponent);
+        return column < 0 ? opponents.size() : column;
+    }
+
+    private int stat(int index, int column, int stat) {
+        if (column == opponents.size()) {
+            int total = 0;
+            for (int i = 0; i < opponents.size(); i++) {
+                total += stat(index, i, stat);
+            }
+            return total;
+        }
+        return buffer.getInt(entriesStart + index * entrySize + PACKED_SETUP_BYTES + (column * STATS + stat) * Integer.BYTES);
+    }
+
+    /**
+     * Vitórias mais meio ponto por empate.
+     */
+    private double points(int index, int column) {
+        return stat(index, column, 1) + stat(index, column, 2) / 2.0;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("Livro de posicionamentos vazio");
+        }
+    }
+
+    /**
+     * Posicionamento com o maior limite inferior de Wilson (95%) para a taxa de pontos contra o adversário,
+     * o que evita preferir posicionamentos com poucas partidas e resultado bom por acaso.
+     */
+    public int best(String opponent) {
+        checkNotEmpty();
+        return bestByColumn[column(opponent)];
+    }
+
+    /**
+     * Sorteia um posicionamento com probabilidade proporcional à taxa de pontos estimada com Laplace,
+     * {@code (pontos + 1) / (partidas + 2)}, de modo que posicionamentos sem partidas também podem sair.
+     */
+    public int weightedRandom(String opponent, Random random) {
+        checkNotEmpty();
+        double[] cumulative = cumulativeByColumn[column(opponent)];
+        double target = random.nextDouble() * cumulative[size - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        index = index < 0 ? -index - 1 : index + 1;
+        return Math.min(index, size - 1);
+    }
+
+    /**
+     * Posicionamento com o maior UCB1 contra o adversário: os ainda não testados primeiro, depois os que
+     * combinam taxa de pontos alta com poucas partidas. Percorre todo o livro.
+     */
+    public int explore(String opponent) {
+        checkNotEmpty();
+        int column = column(opponent);
+        int[] playedByIndex = playedByColumn[column];
+        float[] pointsByIndex = pointsByColumn[column];
+        double logGames = Math.log(gamesByColumn[column] + 1);
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int index = 0; index < size; index++) {
+            int played = playedByIndex[index];
+            if (played == 0) {
+                return index;
+            }
+            double value = pointsByIndex[index] / played + EXPLORATION * Math.sqrt(logGames / played);
+            if (value > bestValue) {
+                bestValue = value;
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Peças do posicionamento {@code index}, prontas para serem devolvidas por {@code Player.setup}.
+     */
+    public Piece[][] getSetup(int index, String player, Board board) {
+        return GameRecord.decodeSetup(getCodes(index), player, board);
+    }
+
+    /**
+     * Códigos de tipo das 40 casas do posicionamento, na ordem de {@link GameRecord#encodeSetup}.
+     */
+    public byte[] getCodes(int index) {
+        checkIndex(index);
+        return GameRecordCodec.getSetup(buffer, entriesStart + index * entrySize);
+    }
+
+    public int getGames(int index, String opponent) {
+        checkIndex(index);
+        return stat(index, column(opponent), 0);
+    }
+
+    public int getWins(int index, String opponent) {
+        checkIndex(index);
+        return stat(index, column(opponent), 1);
+    }
+
+    public int getDraws(int index, String opponent) {
+        checkIndex(index);
+        return stat(index, column(opponent), 2);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Posicionamento " + index + " fora do livro com " + size + " posicionamentos");
+        }
+    }
+
+    /**
+     * Número de posicionamentos.
+     */
+    public int size() {
+        return size;
+    }
+
+    public List<String> getOpponents() {
+        return opponents;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,122 @@
+package game.records;
+
+import game.setups.PackedSetup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acumula resultados de posicionamentos por adversário e grava o {@link SetupBook}.
+ * Partidas encerradas por posicionamento inválido ou não concluídas são ignoradas.
+ */
+public class SetupBookBuilder {
+    private final Map<String, Integer> opponents = new LinkedHashMap<>();
+    private final Map<PackedSetup, int[]> results = new HashMap<>();
+    private final List<PackedSetup> order = new ArrayList<>();
+
+    /**
+     * Registra uma partida jogada com {@code setup} contra {@code opponent}.
+     * @param result 1 para vitória, 0 para empate e -1 para derrota.
+     */
+    public void add(byte[] setup, String opponent, int result) {
+        if (setup.length != GameRecord.SETUP_CELLS) {
+            throw new IllegalArgumentException("Posicionamento deve ter " + GameRecord.SETUP_CELLS + " casas: " + setup.length);
+        }
+        if (result < -1 || result > 1) {
+            throw new IllegalArgumentException("Resultado inválido: " + result);
+        }
+        int column = opponents.computeIfAbsent(opponent, name -> opponents.size());
+        PackedSetup key = PackedSetup.of(setup);
+        int[] counts = results.get(key);
+        if (counts == null) {
+            counts = new int[0];
+            order.add(key);
+        }
+        if (counts.length <= column * SetupBook.STATS) {
+            counts = Arrays.copyOf(counts, (column + 1) * SetupBook.STATS);
+        }
+        counts[column * SetupBook.STATS]++;
+        if (result > 0) {
+            counts[column * SetupBook.STATS + 1]++;
+        } else if (result == 0) {
+            counts[column * SetupBook.STATS + 2]++;
+        }
+        results.put(key, counts);
+    }
+
+    /**
+     * Registra os posicionamentos dos dois jogadores de uma partida.
+     */
+    public void addGame(byte[] player1Setup, byte[] player2Setup, String player1Name, String player2Name,
+                        int winner, GameEndReason endReason) {
+        if (endReason == GameEndReason.NOT_FINISHED || endReason == GameEndReason.INVALID_SETUP) {
+            return;
+        }
+        add(player1Setup, player2Name, winner == 0 ? 0 : winner == 1 ? 1 : -1);
+        add(player2Setup, player1Name, winner == 0 ? 0 : winner == 2 ? 1 : -1);
+    }
+
+    public void addRecord(GameRecord record) {
+        addGame(record.getPlayer1Setup(), record.getPlayer2Setup(), record.getPlayer1Name(), record.getPlayer2Name(),
+                record.getWinner(), record.getEndReason());
+    }
+
+    public void addArchive(GameArchive archive) {
+        for (int id = 0; id < archive.size(); id++) {
+            ArchivedGame game = archive.getGame(id);
+            addGame(game.getPlayer1Setup(), game.getPlayer2Setup(), game.getPlayer1Name(), game.getPlayer2Name(),
+                    game.getWinner(), game.getEndReason());
+        }
+    }
+
+    /**
+     * Número de posicionamentos distintos.
+     */
+    public int size() {
+        return order.size();
+    }
+
+    /**
+     * Grava o livro em {@code path}, substituindo o arquivo de uma vez.
+     */
+    public void write(Path path) throws IOException {
+        int columns = opponents.size();
+        int size = Integer.BYTES + 1 + Integer.BYTES + Integer.BYTES;
+        for (String opponent : opponents.keySet()) {
+            size += Short.BYTES + opponent.getBytes(StandardCharsets.UTF_8).length;
+        }
+        size += order.size() * SetupBook.entrySize(columns);
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(SetupBook.MAGIC);
+        out.put(SetupBook.VERSION);
+        out.putInt(columns);
+        for (String opponent : opponents.keySet()) {
+            byte[] name = opponent.getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) name.length);
+            out.put(name);
+        }
+        out.putInt(order.size());
+        for (PackedSetup key : order) {
+            key.write(out);
+            int[] counts = results.get(key);
+            for (int i = 0; i < columns * SetupBook.STATS; i++) {
+                out.putInt(i < counts.length ? counts[i] : 0);
+            }
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, out.array());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
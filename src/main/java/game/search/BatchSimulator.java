@@ -0,0 +1,398 @@
+package game.search;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.paths.CellSet;
+import game.paths.PathService;
+
+/**
+ * Simulador em lote: {@code N} partidas sem peças ocultas guardadas como arrays primitivos paralelos
+ * (um byte por casa de cada partida, jogador da vez, contador de jogadas e regra de movimentos consecutivos),
+ * avançadas juntas, meia-jogada a meia-jogada, por uma política aleatória embutida. As regras de movimento,
+ * combate, movimentos consecutivos e fim de jogo são as do {@link SearchState}, que reproduz as do {@link Board}.
+ * <p>
+ * A política sorteia uma peça móvel do jogador da vez e uma direção e joga a primeira jogada válida a partir
+ * delas; se a vizinha estiver livre, um Soldado anda um número sorteado de casas livres nessa direção. Cada partida
+ * guarda a lista das suas peças móveis e a máscara das casas ocupadas, então a escolha não percorre o tabuleiro e
+ * o alcance do Soldado sai das linhas pré-calculadas do {@link PathService}. O jogador só passa a vez se não
+ * tiver nenhuma jogada. A escolha não é uniforme entre as jogadas (peças logo depois de peças bloqueadas na lista
+ * saem mais), o que basta para simulações de Monte Carlo.
+ * <p>
+ * Nenhuma operação aloca memória. Não pode ser usado por várias threads ao mesmo tempo; use um simulador por
+ * thread, com sementes diferentes.
+ */
+public final class BatchSimulator {
+    /** Motivos do fim de uma partida, de {@link #getEnding}: partida em andamento ou não carregada. */
+    public static final int NO_ENDING = 0;
+    /** Prisioneiro capturado, como no {@code PrisonerFeedback}. */
+    public static final int PRISONER_CAPTURED = 1;
+    /** Jogador sem peças móveis, como no {@code PlayerWithoutPiecesFeedback} de {@link Board#isGameFinished}. */
+    public static final int NO_MOVABLE_PIECES = 2;
+    /** Empate pelo limite de jogadas, como no {@code MaxNumberOfMovesFeedback}. */
+    public static final int MOVE_LIMIT = 3;
+    /** Peças móveis de um jogador no posicionamento completo. */
+    static final int MAX_PIECES = 40;
+
+    private static final int CELLS = SearchState.CELLS;
+    private static final int MAX_CONSECUTIVE = Board.MAX_CONSECUTIVE_MOVES_SAME_PIECE;
+
+    private final int size;
+    private final byte[] cells;
+    /** Posição na lista de peças móveis do dono de cada casa, ou -1. */
+    private final byte[] pieceIndex;
+    /** Casas das peças móveis de cada partida e jogador, {@link #MAX_PIECES} por lista. */
+    private final byte[] pieces;
+    private final byte[] pieceCounts;
+    /** Casas ocupadas de cada partida, um bit por casa como no {@link CellSet}. */
+    private final long[] occupiedLow;
+    private final long[] occupiedHigh;
+    private final byte[] lastPieceCells;
+    private final byte[] consecutiveMoves;
+    private final byte[] sidesToMove;
+    private final short[] numberMoves;
+    private final byte[] winners;
+    private final byte[] endings;
+    private final int[] lastMoves;
+    private long random;
+    private long halfMoves;
+
+    /**
+     * Cria o simulador com {@code size} partidas já encerradas em empate; carregue-as com {@link #load}.
+     */
+    public BatchSimulator(int size, long seed) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Número de partidas deve ser positivo: " + size);
+        }
+        this.size = size;
+        this.cells = new byte[size * CELLS];
+        this.pieceIndex = new byte[size * CELLS];
+        this.pieces = new byte[size * 2 * MAX_PIECES];
+        this.pieceCounts = new byte[size * 2];
+        this.occupiedLow = new long[size];
+        this.occupiedHigh = new long[size];
+        this.lastPieceCells = new byte[size * 2];
+        this.consecutiveMoves = new byte[size * 2];
+        this.sidesToMove = new byte[size];
+        this.numberMoves = new short[size];
+        this.winners = new byte[size];
+        this.endings = new byte[size];
+        this.lastMoves = new int[size];
+        setSeed(seed);
+    }
+
+    public void setSeed(long seed) {
+        // xorshift não sai do zero
+        long mixed = seed * 0x9E3779B97F4A7C15L;
+        this.random = mixed == 0 ? 0x9E3779B97F4A7C15L : mixed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void checkGame(int game) {
+        if (game < 0 || game >= size) {
+            throw new IndexOutOfBoundsException("Partida " + game + " fora do lote com " + size + " partidas");
+        }
+    }
+
+    /**
+     * Copia a posição de {@code state} para a partida {@code game}.
+     * @throws IllegalArgumentException se a posição tiver peças ocultas.
+     */
+    public void load(int game, SearchState state) {
+        checkGame(game);
+        int base = game * CELLS;
+        pieceCounts[game * 2] = 0;
+        pieceCounts[game * 2 + 1] = 0;
+        occupiedLow[game] = 0;
+        occupiedHigh[game] = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int code = state.getCell(cell);
+            int type = code & BoardSnapshot.TYPE_MASK;
+            if (type == BoardSnapshot.OPPONENT_CODE) {
+                throw new IllegalArgumentException("Posição com peça oculta na casa " + cell);
+            }
+            setCell(game, cell, code);
+            pieceIndex[base + cell] = -1;
+            if (SearchState.isMovable(type)) {
+                int list = game * 2 + SearchState.owner(code) - 1;
+                if (pieceCounts[list] == MAX_PIECES) {
+                    throw new IllegalArgumentException("Mais de " + MAX_PIECES + " peças móveis do jogador " + SearchState.owner(code));
+                }
+                pieceIndex[base + cell] = pieceCounts[list];
+                pieces[list * MAX_PIECES + pieceCounts[list]++] = (byte) cell;
+            }
+        }
+        for (int player = 1; player <= 2; player++) {
+            lastPieceCells[game * 2 + player - 1] = (byte) state.getLastPieceCell(player);
+            consecutiveMoves[game * 2 + player - 1] = (byte) state.getConsecutiveMoves(player);
+        }
+        sidesToMove[game] = (byte) state.getSideToMove();
+        numberMoves[game] = (short) state.getNumberMoves();
+        winners[game] = (byte) state.getWinner();
+        if (state.getWinner() == SearchState.ONGOING) {
+            endings[game] = NO_ENDING;
+        } else if (state.getWinner() == SearchState.DRAW) {
+            endings[game] = MOVE_LIMIT;
+        } else {
+            endings[game] = (byte) (pieceCounts[game * 2 + 2 - state.getWinner()] == 0 ? NO_MOVABLE_PIECES : PRISONER_CAPTURED);
+        }
+        lastMoves[game] = SearchState.PASS;
+    }
+
+    /**
+     * Copia a partida {@code game} para {@code state}. O vencedor não é copiado: uma partida encerrada volta a
+     * ficar em andamento no {@code state}.
+     */
+    public void store(int game, SearchState state) {
+        checkGame(game);
+        int base = game * CELLS;
+        for (int cell = 0; cell < CELLS; cell++) {
+            state.setCell(cell, cells[base + cell]);
+        }
+        int[] last = {-1, lastPieceCells[game * 2], lastPieceCells[game * 2 + 1]};
+        int[] consecutive = {0, consecutiveMoves[game * 2], consecutiveMoves[game * 2 + 1]};
+        state.reset(sidesToMove[game], numberMoves[game], last, consecutive);
+    }
+
+    /**
+     * Avança uma meia-jogada em cada partida em andamento.
+     * @return quantas partidas continuam em andamento.
+     */
+    public int step() {
+        int ongoing = 0;
+        for (int game = 0; game < size; game++) {
+            if (winners[game] == SearchState.ONGOING) {
+                int move = choose(game);
+                lastMoves[game] = move;
+                play(game, move);
+                halfMoves++;
+                if (winners[game] == SearchState.ONGOING) {
+                    ongoing++;
+                }
+            }
+        }
+        return ongoing;
+    }
+
+    /**
+     * Avança todas as partidas até o fim, que chega no máximo em {@link SearchState#MAX_NUMBER_OF_MOVES} jogadas.
+     */
+    public void run() {
+        while (step() > 0) {
+            // as partidas encerram pelo limite de jogadas
+        }
+    }
+
+    /**
+     * Avança no máximo {@code maxSteps} meias-jogadas.
+     * @return quantas partidas continuam em andamento.
+     */
+    public int run(int maxSteps) {
+        int ongoing = ongoing();
+        for (int i = 0; i < maxSteps && ongoing > 0; i++) {
+            ongoing = step();
+        }
+        return ongoing;
+    }
+
+    private int ongoing() {
+        int ongoing = 0;
+        for (int game = 0; game < size; game++) {
+            ongoing += winners[game] == SearchState.ONGOING ? 1 : 0;
+        }
+        return ongoing;
+    }
+
+    private int nextInt(int bound) {
+        long x = random;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        random = x;
+        return (int) (((x >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Política embutida: a partir de uma peça e de uma direção sorteadas, a primeira jogada válida percorrendo as
+     * peças e as direções em ordem circular; {@link SearchState#PASS} se não houver nenhuma.
+     */
+    private int choose(int game) {
+        int side = sidesToMove[game];
+        int list = game * 2 + side - 1;
+        int count = pieceCounts[list];
+        int base = game * CELLS;
+        int own = SearchState.ownerBit(side);
+        int blocked = consecutiveMoves[list] >= MAX_CONSECUTIVE ? lastPieceCells[list] : -1;
+        int start = nextInt(count * 4);
+        int index = start >>> 2;
+        for (int i = 0; i < count; i++) {
+            int from = pieces[list * MAX_PIECES + index];
+            index = index + 1 == count ? 0 : index + 1;
+            if (from == blocked) {
+                continue;
+            }
+            for (int turn = 0; turn < 4; turn++) {
+                int dir = (start + turn) & 3;
+                int to = PathService.neighbor(from, dir);
+                if (to < 0) {
+                    continue;
+                }
+                int target = cells[base + to];
+                if (target != 0) {
+                    if ((target & BoardSnapshot.PLAYER2_BIT) != own) {
+                        return SearchState.move(from, to);
+                    }
+                    continue;
+                }
+                if ((cells[base + from] & BoardSnapshot.TYPE_MASK) == SearchState.SOLDIER) {
+                    int free = PathService.freeSteps(from, dir, occupiedLow[game], occupiedHigh[game]);
+                    to = PathService.rayCell(from, dir, 1 + nextInt(free));
+                }
+                return SearchState.move(from, to);
+            }
+        }
+        return SearchState.PASS;
+    }
+
+    /**
+     * Executa a jogada na partida, como {@link SearchState#play}, mantendo as listas de peças móveis.
+     */
+    private void play(int game, int move) {
+        int side = sidesToMove[game];
+        int enemy = 3 - side;
+        int base = game * CELLS;
+        numberMoves[game]++;
+
+        if (move != SearchState.PASS) {
+            int from = SearchState.from(move);
+            int to = SearchState.to(move);
+            int list = game * 2 + side - 1;
+            int attacker = cells[base + from];
+            int defender = cells[base + to];
+            boolean samePiece = lastPieceCells[list] == from;
+            setCell(game, from, 0);
+            int survivorCell = to;
+
+            if (defender == 0) {
+                setCell(game, to, attacker);
+                relocate(base, list, from, to);
+            } else {
+                int defenderType = defender & BoardSnapshot.TYPE_MASK;
+                if (defenderType == SearchState.PRISONER) {
+                    winners[game] = (byte) side;
+                    endings[game] = PRISONER_CAPTURED;
+                    return;
+                }
+                int result = SearchState.fight(attacker & BoardSnapshot.TYPE_MASK, defenderType);
+                if (result > 0) {
+                    if (defenderType != SearchState.LAND_MINE) {
+                        remove(game, enemy, to);
+                    }
+                    setCell(game, to, attacker);
+                    relocate(base, list, from, to);
+                } else {
+                    remove(game, side, from);
+                    survivorCell = -1;
+                    if (result == 0 || defenderType == SearchState.LAND_MINE) {
+                        setCell(game, to, 0);
+                        if (defenderType != SearchState.LAND_MINE) {
+                            remove(game, enemy, to);
+                        }
+                    }
+                }
+            }
+
+            consecutiveMoves[list] = (byte) (samePiece ? consecutiveMoves[list] + 1 : 1);
+            lastPieceCells[list] = (byte) survivorCell;
+        }
+
+        sidesToMove[game] = (byte) enemy;
+        if (pieceCounts[game * 2] == 0) {
+            winners[game] = 2;
+            endings[game] = NO_MOVABLE_PIECES;
+        } else if (pieceCounts[game * 2 + 1] == 0) {
+            winners[game] = 1;
+            endings[game] = NO_MOVABLE_PIECES;
+        } else if (numberMoves[game] >= SearchState.MAX_NUMBER_OF_MOVES) {
+            winners[game] = SearchState.DRAW;
+            endings[game] = MOVE_LIMIT;
+        }
+    }
+
+    /**
+     * Troca o conteúdo da casa, mantendo a máscara de ocupação da partida.
+     */
+    private void setCell(int game, int cell, int code) {
+        cells[game * CELLS + cell] = (byte) code;
+        long bit = 1L << (cell & 63);
+        if (cell < 64) {
+            occupiedLow[game] = code != 0 ? occupiedLow[game] | bit : occupiedLow[game] & ~bit;
+        } else {
+            occupiedHigh[game] = code != 0 ? occupiedHigh[game] | bit : occupiedHigh[game] & ~bit;
+        }
+    }
+
+    private void relocate(int base, int list, int from, int to) {
+        int index = pieceIndex[base + from];
+        pieces[list * MAX_PIECES + index] = (byte) to;
+        pieceIndex[base + to] = (byte) index;
+        pieceIndex[base + from] = -1;
+    }
+
+    /**
+     * Tira a peça móvel de {@code player} da casa da lista, trocando-a pela última, e esquece a sequência de
+     * movimentos se era a peça dela.
+     */
+    private void remove(int game, int player, int cell) {
+        int base = game * CELLS;
+        int list = game * 2 + player - 1;
+        int index = pieceIndex[base + cell];
+        int last = --pieceCounts[list];
+        int lastCell = pieces[list * MAX_PIECES + last];
+        pieces[list * MAX_PIECES + index] = (byte) lastCell;
+        pieceIndex[base + lastCell] = (byte) index;
+        pieceIndex[base + cell] = -1;
+        if (lastPieceCells[list] == cell) {
+            lastPieceCells[list] = -1;
+        }
+    }
+
+    /**
+     * @return 1 ou 2 para o vencedor, {@link SearchState#DRAW} para empate ou {@link SearchState#ONGOING}.
+     */
+    public int getWinner(int game) {
+        checkGame(game);
+        return winners[game];
+    }
+
+    /**
+     * Motivo do fim da partida: {@link #PRISONER_CAPTURED}, {@link #NO_MOVABLE_PIECES}, {@link #MOVE_LIMIT}
+     * ou {@link #NO_ENDING}.
+     */
+    public int getEnding(int game) {
+        checkGame(game);
+        return endings[game];
+    }
+
+    public int getNumberMoves(int game) {
+        checkGame(game);
+        return numberMoves[game];
+    }
+
+    /**
+     * Última jogada executada na partida por {@link #step}, ou {@link SearchState#PASS}.
+     */
+    public int getLastMove(int game) {
+        checkGame(game);
+        return lastMoves[game];
+    }
+
+    /**
+     * Meias-jogadas executadas desde a criação, somando todas as partidas.
+     */
+    public long getHalfMoves() {
+        return halfMoves;
+    }
+}
@@ -0,0 +1,207 @@
+package game.search;
+
+import game.Board;
+import game.pieces.QuantityPerPiece;
+
+import java.util.Arrays;
+
+/**
+ * Crença bayesiana sobre o tipo de cada peça oculta do adversário, guardada em um único
+ * {@code double[100 * 12]}: a linha de uma casa tem a probabilidade de cada tipo ({@code ordinal} de
+ * {@link QuantityPerPiece}) estar nela.
+ * <p>
+ * Os feedbacks são interpretados por {@link EnemyEvidence}; cada evidência atualiza só as linhas afetadas:
+ * a linha acompanha a peça quando ela se move, uma peça que se moveu tem verossimilhança zero para
+ * Mina Terrestre e Prisioneiro, e um tipo revelado zera os demais. Evidências mais fracas, como as
+ * heurísticas de cada jogador, podem ser aplicadas com {@link #multiply}.
+ * <p>
+ * Antes de cada leitura, os tipos descartados pelas deduções exatas de {@link PieceConstraints} são zerados
+ * e a crença é renormalizada contra as peças restantes de cada tipo (ajuste proporcional iterativo):
+ * a soma de cada tipo nas casas ocultas fica igual às peças dele ainda não identificadas, e cada linha soma 1.
+ */
+public class BeliefTracker extends EnemyEvidence {
+    public static final int TYPES = SearchState.TYPES;
+    private static final int NORMALIZATION_ROUNDS = 4;
+
+    private final double[] belief = new double[SearchState.CELLS * TYPES];
+    private final double[] typeSums = new double[TYPES];
+    private final double[] typeScale = new double[TYPES];
+    private final int[] remaining = new int[TYPES];
+    private final PieceConstraints constraints = new PieceConstraints();
+    private boolean normalized;
+
+    @Override
+    public void reset(Board hiddenView) {
+        Arrays.fill(belief, 0);
+        super.reset(hiddenView);
+    }
+
+    @Override
+    protected void onCellChanged(int cell) {
+        int base = cell * TYPES;
+        if (!isOccupied(cell)) {
+            Arrays.fill(belief, base, base + TYPES, 0);
+        } else if (getKnownType(cell) != 0) {
+            Arrays.fill(belief, base, base + TYPES, 0);
+            belief[base + getKnownType(cell) - 1] = 1;
+        } else {
+            double sum = 0;
+            for (int t = 0; t < TYPES; t++) {
+                sum += belief[base + t];
+            }
+            if (sum == 0) {
+                // Peça nova para o rastreador: a priori proporcional às peças ainda não eliminadas
+                for (int t = 0; t < TYPES; t++) {
+                    belief[base + t] = QuantityPerPiece.fromOrdinal(t).getQuantity() - getCaptured(t + 1);
+                }
+            }
+            applyMoved(cell);
+        }
+        normalized = false;
+    }
+
+    @Override
+    protected void onPieceMoved(int from, int to) {
+        System.arraycopy(belief, from * TYPES, belief, to * TYPES, TYPES);
+        Arrays.fill(belief, from * TYPES, from * TYPES + TYPES, 0);
+        onCellChanged(to);
+    }
+
+    private void applyMoved(int cell) {
+        if (hasMoved(cell)) {
+            belief[cell * TYPES + SearchState.LAND_MINE - 1] = 0;
+            belief[cell * TYPES + SearchState.PRISONER - 1] = 0;
+        }
+    }
+
+    /**
+     * Aplica uma evidência suave: multiplica a probabilidade de {@code type} na casa pela verossimilhança.
+     */
+    public void multiply(int cell, int type, double likelihood) {
+        if (likelihood < 0) {
+            throw new IllegalArgumentException("Verossimilhança negativa: " + likelihood);
+        }
+        if (isOccupied(cell) && getKnownType(cell) == 0) {
+            belief[cell * TYPES + type - 1] *= likelihood;
+            normalized = false;
+        }
+    }
+
+    /**
+     * Probabilidade de a peça adversária na casa ser do tipo (código {@code ordinal + 1}).
+     */
+    public double getProbability(int cell, int type) {
+        normalize();
+        return belief[cell * TYPES + type - 1];
+    }
+
+    /**
+     * Crença renormalizada, com {@link #TYPES} valores por casa. O array é compartilhado e não deve ser alterado.
+     */
+    public double[] getBeliefs() {
+        normalize();
+        return belief;
+    }
+
+    /**
+     * Probabilidade de uma peça de {@code attackerType} vencer o combate contra a peça adversária na casa.
+     */
+    public double winProbability(int attackerType, int cell) {
+        normalize();
+        double total = 0;
+        for (int t = 0; t < TYPES; t++) {
+            if (SearchState.fight(attackerType, t + 1) > 0) {
+                total += belief[cell * TYPES + t];
+            }
+        }
+        return total;
+    }
+
+    private void normalize() {
+        if (normalized) {
+            return;
+        }
+        for (int t = 0; t < TYPES; t++) {
+            remaining[t] = getUnidentified(t + 1);
+        }
+        if (constraints.update(this)) {
+            for (int cell = 0; cell < SearchState.CELLS; cell++) {
+                if (isHidden(cell)) {
+                    applyMask(cell);
+                }
+            }
+        }
+
+        for (int round = 0; round < NORMALIZATION_ROUNDS; round++) {
+            Arrays.fill(typeSums, 0);
+            for (int cell = 0; cell < SearchState.CELLS; cell++) {
+                if (isHidden(cell)) {
+                    int base = cell * TYPES;
+                    for (int t = 0; t < TYPES; t++) {
+                        typeSums[t] += belief[base + t];
+                    }
+                }
+            }
+            for (int t = 0; t < TYPES; t++) {
+                typeScale[t] = typeSums[t] > 0 ? remaining[t] / typeSums[t] : 0;
+            }
+
+            for (int cell = 0; cell < SearchState.CELLS; cell++) {
+                if (isHidden(cell)) {
+                    scaleRow(cell);
+                }
+            }
+        }
+        normalized = true;
+    }
+
+    private void scaleRow(int cell) {
+        int base = cell * TYPES;
+        double sum = 0;
+        for (int t = 0; t < TYPES; t++) {
+            belief[base + t] *= typeScale[t];
+            sum += belief[base + t];
+        }
+        if (sum == 0) {
+            // Evidências inconsistentes com as contagens: volta para as peças restantes
+            for (int t = 0; t < TYPES; t++) {
+                belief[base + t] = remaining[t];
+            }
+            applyMoved(cell);
+            if (constraints.isConsistent()) {
+                applyMask(cell);
+            }
+            for (int t = 0; t < TYPES; t++) {
+                sum += belief[base + t];
+            }
+            if (sum == 0) {
+                return;
+            }
+        }
+        double inverse = 1 / sum;
+        for (int t = 0; t < TYPES; t++) {
+            belief[base + t] *= inverse;
+        }
+    }
+
+    private void applyMask(int cell) {
+        int mask = constraints.getMask(cell);
+        for (int t = 0; t < TYPES; t++) {
+            if ((mask & 1 << t) == 0) {
+                belief[cell * TYPES + t] = 0;
+            }
+        }
+    }
+
+    /**
+     * Restrições exatas usadas na última renormalização.
+     */
+    public PieceConstraints getConstraints() {
+        normalize();
+        return constraints;
+    }
+
+    private boolean isHidden(int cell) {
+        return isOccupied(cell) && getKnownType(cell) == 0;
+    }
+}
@@ -0,0 +1,91 @@
+package game.search;
+
+import game.BoardSnapshot;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sorteia determinizações de um {@link InformationSet}: posições completas em que cada peça adversária
+ * oculta recebe um tipo concreto, respeitando as quantidades restantes de cada tipo e as evidências
+ * acumuladas (peças que já se moveram não são Mina Terrestre nem Prisioneiro; tipos revelados ficam fixos).
+ * <p>
+ * O sorteio não usa rejeição. As peças restantes ficam em um vetor com os tipos móveis primeiro; as casas
+ * que já se moveram sorteiam sem reposição entre os tipos móveis e as demais entre tudo o que sobrou
+ * (Fisher-Yates parcial). Isso equivale a sortear cada casa com peso igual às peças restantes de cada tipo,
+ * e toda atribuição compatível tem a mesma probabilidade.
+ * <p>
+ * O vetor de peças é montado uma vez por {@link InformationSet} e os buffers são reaproveitados,
+ * de modo que cada amostra não aloca memória. Não é thread-safe; use uma instância por thread.
+ */
+public final class DeterminizationSampler {
+    private final byte[] basePool = new byte[SearchState.CELLS];
+    private final byte[] pool = new byte[SearchState.CELLS];
+    private final byte[] cells = new byte[SearchState.CELLS];
+    private InformationSet cachedInfo;
+    private int movablePoolSize;
+    private int poolSize;
+    private SplittableRandom random;
+
+    public DeterminizationSampler(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void setSeed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Preenche {@code out} com uma determinização e reinicia o estado para a busca.
+     */
+    public void sample(InformationSet info, SearchState out) {
+        sample(info, cells);
+        out.setCells(cells);
+        info.resetState(out);
+    }
+
+    /**
+     * Preenche {@code out}, com uma casa por byte no formato do {@link BoardSnapshot}, com uma determinização.
+     */
+    public void sample(InformationSet info, byte[] out) {
+        if (info != cachedInfo) {
+            loadPool(info);
+        }
+        info.copyKnownCells(out);
+        System.arraycopy(basePool, 0, pool, 0, poolSize);
+
+        int enemy = SearchState.ownerBit(3 - info.getPlayer());
+        int hiddenCount = info.getHiddenCount();
+        int movedCount = info.getMovedHiddenCount();
+        SplittableRandom random = this.random;
+        for (int i = 0; i < hiddenCount; i++) {
+            // As primeiras posições do vetor guardam os tipos já usados
+            int limit = i < movedCount && i < movablePoolSize ? movablePoolSize : poolSize;
+            int type = SearchState.SOLDIER;
+            if (i < limit) {
+                int j = i + random.nextInt(limit - i);
+                type = pool[j];
+                pool[j] = pool[i];
+                pool[i] = (byte) type;
+            }
+            out[info.getHiddenCell(i)] = (byte) (type | enemy);
+        }
+    }
+
+    private void loadPool(InformationSet info) {
+        int size = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int type = 1; type <= SearchState.TYPES; type++) {
+                if (SearchState.isMovable(type) == (pass == 0)) {
+                    for (int i = 0; i < info.getUnidentified(type) && size < basePool.length; i++) {
+                        basePool[size++] = (byte) type;
+                    }
+                }
+            }
+            if (pass == 0) {
+                movablePoolSize = size;
+            }
+        }
+        poolSize = size;
+        cachedInfo = info;
+    }
+}
@@ -0,0 +1,227 @@
+package game.search;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.feedbacks.*;
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+import game.pieces.QuantityPerPiece;
+
+import java.util.Arrays;
+
+/**
+ * Evidências acumuladas, ao longo da partida, sobre as peças ocultas do adversário:
+ * quais casas ele ocupa, os tipos revelados em combate ou por movimento longo de Soldado,
+ * quais peças já se moveram (logo não são Mina Terrestre nem Prisioneiro) e quantas peças
+ * de cada tipo já foram eliminadas.
+ * <p>
+ * A cada jogada, aplique {@link #onOwnMove} com o feedback da própria jogada anterior e
+ * {@link #onEnemyMove} com o feedback da jogada do adversário, nesta ordem.
+ * Subclasses podem acompanhar as mudanças por {@link #onCellChanged} e {@link #onPieceMoved}.
+ */
+public class EnemyEvidence {
+    private final boolean[] occupied = new boolean[SearchState.CELLS];
+    private final byte[] knownType = new byte[SearchState.CELLS];
+    private final boolean[] moved = new boolean[SearchState.CELLS];
+    private final int[] captured = new int[SearchState.TYPES + 1];
+    private int lastPieceCell = -1;
+    private int consecutiveMoves;
+
+    /**
+     * Recomeça as evidências a partir das peças ocultas da visão entregue ao jogador.
+     */
+    public void reset(Board hiddenView) {
+        Arrays.fill(knownType, (byte) 0);
+        Arrays.fill(moved, false);
+        Arrays.fill(captured, 0);
+        lastPieceCell = -1;
+        consecutiveMoves = 0;
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            occupied[cell] = hiddenView.getPiece(cell / Board.COLS, cell % Board.COLS) instanceof OpponentPiece;
+            onCellChanged(cell);
+        }
+    }
+
+    /**
+     * Registra o que a própria jogada de {@code from} para {@code to} revelou sobre a peça adversária atacada.
+     */
+    public void onOwnMove(int from, int to, Feedback feedback) {
+        if (to < 0 || to >= SearchState.CELLS || !occupied[to]) {
+            return;
+        }
+        if (feedback instanceof AttackFeedback attack) {
+            capture(to, typeCode(attack.defender));
+        } else if (feedback instanceof EqualStrengthFeedback equal) {
+            capture(to, typeCode(equal.defender));
+        } else if (feedback instanceof LandmineFeedback || feedback instanceof LandMineDeactivationFeedback) {
+            capture(to, SearchState.LAND_MINE);
+        } else if (feedback instanceof DefeatFeedback defeat) {
+            knownType[to] = (byte) typeCode(defeat.defender);
+            onCellChanged(to);
+        }
+    }
+
+    /**
+     * Registra a jogada do adversário, vista pelo feedback convertido, e confere as casas com a visão oculta atual.
+     * @return a jogada do adversário no formato de {@link SearchState}, ou {@link SearchState#PASS} se não houve jogada válida.
+     */
+    public int onEnemyMove(Feedback feedback, Board hiddenView) {
+        int from = -1;
+        int to = -1;
+        boolean survived = false;
+
+        if (feedback instanceof MoveFeedback move) {
+            from = cell(move.fromX, move.fromY);
+            to = cell(move.toX, move.toY);
+            boolean longMove = Math.abs(move.fromX - move.toX) + Math.abs(move.fromY - move.toY) > 1;
+            transfer(from, to, longMove ? SearchState.SOLDIER : 0);
+            survived = true;
+        } else if (feedback instanceof AttackFeedback attack) {
+            from = cell(attack.fromX, attack.fromY);
+            to = cell(attack.toX, attack.toY);
+            transfer(from, to, typeCode(attack.attacker));
+            survived = true;
+        } else if (feedback instanceof DefeatFeedback defeat) {
+            // O atacante ainda guarda a posição de origem
+            from = cell(defeat.attacker);
+            to = cell(defeat.toX, defeat.toY);
+            capture(from, typeCode(defeat.attacker));
+        } else if (feedback instanceof EqualStrengthFeedback equal) {
+            from = cell(equal.attacker);
+            to = cell(equal.defender);
+            capture(from, typeCode(equal.attacker));
+        } else if (feedback instanceof LandmineFeedback landmine) {
+            from = cell(landmine.getVictim());
+            to = cell(landmine.getPiece());
+            capture(from, typeCode(landmine.getVictim()));
+        } else if (feedback instanceof LandMineDeactivationFeedback deactivation) {
+            to = cell(deactivation.getPiece());
+            from = vacatedNeighbor(to, hiddenView);
+            if (from >= 0) {
+                transfer(from, to, SearchState.CORPORAL);
+                survived = true;
+            }
+        }
+
+        if (from >= 0) {
+            consecutiveMoves = from == lastPieceCell ? consecutiveMoves + 1 : 1;
+            lastPieceCell = survived ? to : -1;
+        } else {
+            lastPieceCell = -1;
+            consecutiveMoves = 0;
+        }
+        reconcile(hiddenView);
+        return from >= 0 && to >= 0 ? SearchState.move(from, to) : SearchState.PASS;
+    }
+
+    private void transfer(int from, int to, int revealedType) {
+        knownType[to] = (byte) (revealedType != 0 ? revealedType : knownType[from]);
+        moved[to] = true;
+        occupied[to] = true;
+        occupied[from] = false;
+        knownType[from] = 0;
+        moved[from] = false;
+        onPieceMoved(from, to);
+    }
+
+    private void capture(int cell, int type) {
+        captured[type]++;
+        clear(cell);
+    }
+
+    private void clear(int cell) {
+        occupied[cell] = false;
+        knownType[cell] = 0;
+        moved[cell] = false;
+        onCellChanged(cell);
+    }
+
+    private int vacatedNeighbor(int cell, Board hiddenView) {
+        for (int dir = 0; dir < 4; dir++) {
+            int neighbor = SearchState.NEIGHBOR[cell * 4 + dir];
+            if (neighbor >= 0 && occupied[neighbor]
+                    && !(hiddenView.getPiece(neighbor / Board.COLS, neighbor % Board.COLS) instanceof OpponentPiece)) {
+                return neighbor;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Garante que as casas acompanhadas são as mesmas das peças ocultas da visão.
+     */
+    private void reconcile(Board hiddenView) {
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            boolean hidden = hiddenView.getPiece(cell / Board.COLS, cell % Board.COLS) instanceof OpponentPiece;
+            if (hidden != occupied[cell]) {
+                clear(cell);
+                occupied[cell] = hidden;
+                onCellChanged(cell);
+            }
+        }
+    }
+
+    /**
+     * Chamado quando a evidência sobre a casa muda: ocupação, tipo revelado ou peça eliminada.
+     */
+    protected void onCellChanged(int cell) {
+    }
+
+    /**
+     * Chamado quando a peça oculta de {@code from} se move para {@code to}, já com as evidências de {@code to} atualizadas.
+     */
+    protected void onPieceMoved(int from, int to) {
+    }
+
+    public boolean isOccupied(int cell) {
+        return occupied[cell];
+    }
+
+    /**
+     * Tipo revelado da peça na casa, ou 0 se desconhecido.
+     */
+    public int getKnownType(int cell) {
+        return knownType[cell];
+    }
+
+    public boolean hasMoved(int cell) {
+        return moved[cell];
+    }
+
+    public int getCaptured(int type) {
+        return captured[type];
+    }
+
+    /**
+     * Quantas peças do tipo ainda não foram eliminadas nem identificadas no tabuleiro.
+     */
+    public int getUnidentified(int type) {
+        int count = QuantityPerPiece.fromOrdinal(type - 1).getQuantity() - captured[type];
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            if (occupied[cell] && knownType[cell] == type) {
+                count--;
+            }
+        }
+        return Math.max(count, 0);
+    }
+
+    public int getLastPieceCell() {
+        return lastPieceCell;
+    }
+
+    public int getConsecutiveMoves() {
+        return consecutiveMoves;
+    }
+
+    private static int typeCode(Piece piece) {
+        return BoardSnapshot.typeCode(piece);
+    }
+
+    private static int cell(int x, int y) {
+        return x * Board.COLS + y;
+    }
+
+    private static int cell(Piece piece) {
+        return cell(piece.getPosX(), piece.getPosY());
+    }
+}
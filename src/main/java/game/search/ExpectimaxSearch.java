@@ -0,0 +1,620 @@
+package game.search;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.endgame.EndgameTablebase;
+import game.records.GameNotation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Busca expectimax com poda alfa-beta e profundidade limitada sobre o que o jogador sabe da posição.
+ * Combates contra peças adversárias ocultas são nós de chance ponderados pelas crenças do {@link BeliefTracker}:
+ * os tipos possíveis são agrupados pelo resultado (vitória, empate, derrota e Prisioneiro encontrado) e os ramos
+ * são podados com os limites do Star1 (Ballard). O restante da árvore é determinístico e usa alfa-beta com
+ * ordenação de jogadas: a variante principal da iteração anterior, depois ataques e depois a heurística de histórico.
+ * <p>
+ * Aproximações: uma peça oculta que vence um combate continua oculta com a mesma crença, peças ocultas só
+ * andam uma casa por vez e a regra de movimentos consecutivos só é aplicada na raiz.
+ * A profundidade cresce iterativamente até o prazo, e o resultado é o da última iteração completa.
+ * <p>
+ * Os nós de decisão são guardados em uma {@link TranspositionTable} com chaves Zobrist que incluem a peça oculta
+ * de cada casa. A chave de cada busca recebe um sal calculado das crenças das peças ocultas, porque elas mudam entre
+ * uma jogada e outra: buscas com as mesmas crenças reaproveitam as entradas umas das outras.
+ * Uma instância não é thread-safe, mas várias instâncias podem compartilhar a mesma tabela.
+ * <p>
+ * Com um {@link EndgameTablebase} configurado, posições em que o tipo de todas as peças é conhecido (reveladas ou
+ * com crença 1) e que estão nas tabelas como vitória ou derrota são decididas pela tabela, sem busca.
+ */
+public final class ExpectimaxSearch {
+    public static final double WIN = 10_000;
+    public static final int MAX_DEPTH = 32;
+
+    private static final int TYPES = SearchState.TYPES;
+    private static final int UNKNOWN = BoardSnapshot.OPPONENT_CODE;
+    private static final int MAX_SLOTS = 40;
+    private static final int NO_SLOT = -1;
+    private static final int MOVED = 0x40;
+    private static final int SLOT_MASK = 0x3F;
+    private static final double ADVANCE_WEIGHT = 0.02;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private static final int PRISONER_FOUND = 0;
+    private static final int WIN_FIGHT = 1;
+    private static final int BOTH_DIE = 2;
+    private static final int LOSE_FIGHT = 3;
+    private static final int MOVE = 4;
+
+    /** Valor material de cada tipo, o mesmo de {@link SearchState#material}. */
+    private static final double[] VALUE = new double[TYPES + 1];
+
+    static {
+        for (int type = 1; type <= TYPES; type++) {
+            VALUE[type] = SearchState.STRENGTH[type];
+        }
+        VALUE[SearchState.LAND_MINE] = 2;
+        VALUE[SearchState.SECRET_AGENT] = 4;
+    }
+
+    private static final long[] PIECE_KEYS = new long[SearchState.CELLS * 0x20];
+    private static final long[] SLOT_KEYS = new long[SearchState.CELLS * 0x80];
+    private static final long SIDE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < SLOT_KEYS.length; i++) {
+            SLOT_KEYS[i] = random.nextLong();
+        }
+        SIDE_KEY = random.nextLong();
+    }
+
+    /** Crença a partir da qual o tipo de uma peça oculta é tratado como conhecido. */
+    private static final double CERTAIN = 1 - 1e-9;
+
+    private final TranspositionTable table;
+    private EndgameTablebase tablebase;
+    private long key;
+
+    private final byte[] cells = new byte[SearchState.CELLS];
+    private final byte[] slots = new byte[SearchState.CELLS];
+    private final double[] belief = new double[MAX_SLOTS * TYPES];
+    private final double[] slotMovable = new double[MAX_SLOTS];
+    private final double[] slotValue = new double[MAX_SLOTS];
+    private final double[] slotMovedValue = new double[MAX_SLOTS];
+    private final double[] outcomes = new double[4];
+
+    private final SearchState rootState = new SearchState();
+    private final int[][] moves = new int[MAX_DEPTH + 1][SearchState.MAX_MOVES];
+    private final double[][] keys = new double[MAX_DEPTH + 1][SearchState.MAX_MOVES];
+    private final int[][] pv = new int[MAX_DEPTH + 1][MAX_DEPTH + 1];
+    private final int[] pvLength = new int[MAX_DEPTH + 1];
+    private final int[] previousPv = new int[MAX_DEPTH + 1];
+    private int previousPvLength;
+    private final int[] history = new int[SearchState.MOVE_CODES];
+    private final byte[] undo = new byte[(MAX_DEPTH + 1) * 4];
+
+    private int side;
+    private long nodes;
+    private long deadlineNanos;
+    private boolean timeLimited;
+    private boolean aborted;
+
+    private int bestMove = SearchState.PASS;
+    private double score;
+    private int completedDepth;
+    private int[] principalVariation = new int[0];
+
+    public ExpectimaxSearch() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param table tabela de transposição, que pode ser compartilhada com outras buscas.
+     */
+    public ExpectimaxSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Tabelas de finais consultadas na raiz, ou {@code null} para sempre buscar.
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Busca a melhor jogada do jogador de {@code info} até {@code deadlineNanos} ({@link System#nanoTime()})
+     * ou até {@code maxDepth} meias-jogadas. A primeira iteração sempre é concluída.
+     * @param beliefs crenças atualizadas com os mesmos feedbacks usados para montar {@code info}.
+     * @return a jogada escolhida, ou {@link SearchState#PASS} se não há jogada válida.
+     */
+    public int search(InformationSet info, BeliefTracker beliefs, long deadlineNanos, int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 1 e " + MAX_DEPTH + ": " + maxDepth);
+        }
+        if (info.getHiddenCount() > MAX_SLOTS) {
+            throw new IllegalArgumentException("Peças ocultas demais: " + info.getHiddenCount());
+        }
+        load(info, beliefs);
+        table.newSearch();
+        this.deadlineNanos = deadlineNanos;
+        nodes = 0;
+        bestMove = SearchState.PASS;
+        score = 0;
+        completedDepth = 0;
+        principalVariation = new int[0];
+        previousPvLength = 0;
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 2;
+        }
+
+        if (rootState.generateMoves(moves[0]) == 0) {
+            return SearchState.PASS;
+        }
+        if (tablebase != null && probeTablebase(info, beliefs)) {
+            return bestMove;
+        }
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            aborted = false;
+            timeLimited = depth > 1;
+            double value = negamax(depth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0);
+            if (aborted) {
+                break;
+            }
+            completedDepth = depth;
+            score = value;
+            principalVariation = Arrays.copyOf(pv[0], pvLength[0]);
+            bestMove = principalVariation[0];
+            System.arraycopy(pv[0], 0, previousPv, 0, pvLength[0]);
+            previousPvLength = pvLength[0];
+            if (Math.abs(value) >= WIN - MAX_DEPTH) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Decide a raiz pelas tabelas de finais quando todos os tipos são conhecidos e a posição não é empate.
+     * Vitórias e derrotas em {@code n} meias-jogadas valem {@code ±(WIN - n)}. As que não cabem nas jogadas restantes
+     * chegam da tabela como empate, e a raiz volta para a busca.
+     */
+    private boolean probeTablebase(InformationSet info, BeliefTracker beliefs) {
+        SearchState known = new SearchState();
+        known.copyFrom(rootState);
+        int enemy = SearchState.ownerBit(3 - side);
+        for (int slot = 0; slot < info.getHiddenCount(); slot++) {
+            int cell = info.getHiddenCell(slot);
+            int type = 0;
+            for (int candidate = 1; candidate <= TYPES && type == 0; candidate++) {
+                if (beliefs.getProbability(cell, candidate) >= CERTAIN) {
+                    type = candidate;
+                }
+            }
+            if (type == 0) {
+                return false;
+            }
+            known.setCell(cell, type | enemy);
+        }
+        info.resetState(known);
+
+        int value = tablebase.probe(known);
+        if (value == EndgameTablebase.UNKNOWN || value == 0) {
+            return false;
+        }
+        int move = tablebase.bestMove(known);
+        if (move == EndgameTablebase.UNKNOWN) {
+            return false;
+        }
+        bestMove = move;
+        score = value > 0 ? WIN - value : -WIN - value;
+        principalVariation = new int[] { move };
+        return true;
+    }
+
+    private void load(InformationSet info, BeliefTracker beliefs) {
+        info.copyKnownCells(cells);
+        info.copyKnownCells(rootState);
+        info.resetState(rootState);
+        side = info.getPlayer();
+        Arrays.fill(slots, (byte) NO_SLOT);
+
+        for (int slot = 0; slot < info.getHiddenCount(); slot++) {
+            int cell = info.getHiddenCell(slot);
+            boolean moved = slot < info.getMovedHiddenCount();
+            slots[cell] = (byte) (moved ? slot | MOVED : slot);
+            double movable = 0, value = 0, movedValue = 0;
+            for (int type = 1; type <= TYPES; type++) {
+                double p = beliefs.getProbability(cell, type);
+                belief[slot * TYPES + type - 1] = p;
+                value += p * VALUE[type];
+                if (SearchState.isMovable(type)) {
+                    movable += p;
+                    movedValue += p * VALUE[type];
+                }
+            }
+            slotMovable[slot] = movable;
+            slotValue[slot] = value;
+            slotMovedValue[slot] = movable > 0 ? movedValue / movable : value;
+        }
+
+        key = beliefSalt(info.getHiddenCount()) ^ (side == 2 ? SIDE_KEY : 0);
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            key ^= cellKey(cell);
+        }
+    }
+
+    /**
+     * Hash das crenças das {@code hidden} primeiras peças ocultas; as casas delas já entram na chave por
+     * {@link #cellKey}.
+     */
+    private long beliefSalt(int hidden) {
+        long salt = 0;
+        for (int i = 0; i < hidden * TYPES; i++) {
+            salt = mix((salt + 0x9E3779B97F4A7C15L) ^ Double.doubleToLongBits(belief[i]));
+        }
+        return salt;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private long cellKey(int cell) {
+        int code = cells[cell];
+        if (code == 0) {
+            return 0;
+        }
+        long cellKey = PIECE_KEYS[cell * 0x20 + code];
+        return slots[cell] == NO_SLOT ? cellKey : cellKey ^ SLOT_KEYS[cell * 0x80 + slots[cell]];
+    }
+
+    private double negamax(int depth, double alpha, double beta, int ply) {
+        pvLength[ply] = ply;
+        if (++nodes % TIME_CHECK_INTERVAL == 0 && timeLimited && System.nanoTime() >= deadlineNanos) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (depth == 0 || ply == MAX_DEPTH) {
+            return evaluate();
+        }
+
+        int tableMove = SearchState.PASS;
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.NONE) {
+            tableMove = TranspositionTable.move(entry);
+            // Na raiz a tabela só ordena as jogadas, porque a regra de movimentos consecutivos não entra na chave
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                double stored = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER && stored >= beta
+                        || bound == TranspositionTable.UPPER && stored <= alpha) {
+                    return Math.max(alpha, Math.min(beta, stored));
+                }
+            }
+        }
+
+        int[] plyMoves = moves[ply];
+        int count = ply == 0 ? rootState.generateMoves(plyMoves) : generateMoves(plyMoves);
+        if (count == 0) {
+            side = 3 - side;
+            key ^= SIDE_KEY;
+            double value = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            key ^= SIDE_KEY;
+            side = 3 - side;
+            return value;
+        }
+        scoreMoves(ply, count, tableMove);
+
+        int bestMove = SearchState.PASS;
+        for (int i = 0; i < count; i++) {
+            int move = nextMove(ply, i, count);
+            double value = moveValue(move, depth, alpha, beta, ply);
+            if (aborted) {
+                return 0;
+            }
+            if (value > alpha) {
+                alpha = value;
+                bestMove = move;
+                pv[ply][ply] = move;
+                System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+                pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+                if (alpha >= beta) {
+                    history[move] += depth * depth;
+                    table.store(key, depth, TranspositionTable.LOWER, toTable(beta, ply), move);
+                    return beta;
+                }
+            }
+        }
+        table.store(key, depth, bestMove == SearchState.PASS ? TranspositionTable.UPPER : TranspositionTable.EXACT,
+                toTable(alpha, ply), bestMove);
+        return alpha;
+    }
+
+    /**
+     * Vitórias valem {@code WIN - ply}; na tabela elas ficam relativas à posição guardada.
+     */
+    private static double toTable(double score, int ply) {
+        return score >= WIN - MAX_DEPTH ? score + ply : score <= MAX_DEPTH - WIN ? score - ply : score;
+    }
+
+    private static double fromTable(double score, int ply) {
+        return score >= WIN - MAX_DEPTH ? score - ply : score <= MAX_DEPTH - WIN ? score + ply : score;
+    }
+
+    /**
+     * Valor da jogada para quem a faz. Combates contra peças ocultas são resolvidos como nó de chance.
+     */
+    private double moveValue(int move, int depth, double alpha, double beta, int ply) {
+        int from = SearchState.from(move);
+        int to = SearchState.to(move);
+        int attacker = cells[from] & BoardSnapshot.TYPE_MASK;
+        int defender = cells[to] & BoardSnapshot.TYPE_MASK;
+        pvLength[ply + 1] = ply + 1;
+        if (cells[to] == 0) {
+            return child(from, to, MOVE, depth, alpha, beta, ply);
+        }
+        if (defender == SearchState.PRISONER) {
+            return WIN - ply;
+        }
+        if (attacker != UNKNOWN && defender != UNKNOWN) {
+            return child(from, to, resolve(attacker, defender), depth, alpha, beta, ply);
+        }
+
+        // Nó de chance: probabilidade de cada resultado pelos tipos possíveis da peça oculta
+        Arrays.fill(outcomes, 0);
+        int slot = (attacker == UNKNOWN ? slots[from] : slots[to]) & SLOT_MASK;
+        boolean movable = attacker == UNKNOWN || (slots[to] & MOVED) != 0;
+        double total = 0;
+        for (int type = 1; type <= TYPES; type++) {
+            double p = belief[slot * TYPES + type - 1];
+            if (p == 0 || movable && !SearchState.isMovable(type)) {
+                continue;
+            }
+            total += p;
+            if (type == SearchState.PRISONER) {
+                outcomes[PRISONER_FOUND] += p;
+            } else {
+                outcomes[attacker == UNKNOWN ? resolve(type, defender) : resolve(attacker, type)] += p;
+            }
+        }
+        if (total == 0) {
+            // Crença inconsistente com o movimento: trata como troca
+            return child(from, to, BOTH_DIE, depth, alpha, beta, ply);
+        }
+
+        // Star1: cada ramo recebe a janela que ainda pode mudar o resultado do nó
+        double sum = 0;
+        double done = 0;
+        double lower = -WIN;
+        double upper = WIN;
+        for (int outcome = PRISONER_FOUND; outcome <= LOSE_FIGHT; outcome++) {
+            double p = outcomes[outcome] / total;
+            if (p == 0) {
+                continue;
+            }
+            double rest = Math.max(0, 1 - done - p);
+            double a = (alpha - sum - upper * rest) / p;
+            double b = (beta - sum - lower * rest) / p;
+            double value = outcome == PRISONER_FOUND ? WIN - ply
+                    : child(from, to, outcome, depth, Math.max(a, lower), Math.min(b, upper), ply);
+            if (aborted) {
+                return 0;
+            }
+            if (value <= a) {
+                return alpha;
+            }
+            if (value >= b) {
+                return beta;
+            }
+            sum += p * value;
+            done += p;
+        }
+        return sum;
+    }
+
+    private static int resolve(int attackerType, int defenderType) {
+        int result = SearchState.fight(attackerType, defenderType);
+        if (result > 0) {
+            return WIN_FIGHT;
+        }
+        return result == 0 || defenderType == SearchState.LAND_MINE ? BOTH_DIE : LOSE_FIGHT;
+    }
+
+    private double child(int from, int to, int outcome, int depth, double alpha, double beta, int ply) {
+        int base = ply * 4;
+        undo[base] = cells[from];
+        undo[base + 1] = cells[to];
+        undo[base + 2] = slots[from];
+        undo[base + 3] = slots[to];
+        long parentKey = key;
+        key ^= cellKey(from) ^ cellKey(to);
+
+        if (outcome == MOVE || outcome == WIN_FIGHT) {
+            cells[to] = cells[from];
+            slots[to] = slots[from] == NO_SLOT ? NO_SLOT : (byte) (slots[from] | MOVED);
+        } else if (outcome == BOTH_DIE) {
+            cells[to] = 0;
+            slots[to] = NO_SLOT;
+        }
+        cells[from] = 0;
+        slots[from] = NO_SLOT;
+        side = 3 - side;
+        key ^= cellKey(from) ^ cellKey(to) ^ SIDE_KEY;
+
+        double value = -negamax(depth - 1, -beta, -alpha, ply + 1);
+
+        side = 3 - side;
+        cells[from] = undo[base];
+        cells[to] = undo[base + 1];
+        slots[from] = undo[base + 2];
+        slots[to] = undo[base + 3];
+        key = parentKey;
+        return value;
+    }
+
+    private int generateMoves(int[] out) {
+        int count = 0;
+        int own = SearchState.ownerBit(side);
+        for (int from = 0; from < SearchState.CELLS; from++) {
+            int code = cells[from];
+            if (code == 0 || (code & BoardSnapshot.PLAYER2_BIT) != own) {
+                continue;
+            }
+            int type = code & BoardSnapshot.TYPE_MASK;
+            if (type == UNKNOWN) {
+                int slot = slots[from];
+                if ((slot & MOVED) == 0 && slotMovable[slot & SLOT_MASK] == 0) {
+                    continue;
+                }
+            } else if (!SearchState.isMovable(type)) {
+                continue;
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int to = SearchState.NEIGHBOR[from * 4 + dir];
+                if (to < 0) {
+                    continue;
+                }
+                int target = cells[to];
+                if (target != 0) {
+                    if ((target & BoardSnapshot.PLAYER2_BIT) != own) {
+                        out[count++] = SearchState.move(from, to);
+                    }
+                    continue;
+                }
+                out[count++] = SearchState.move(from, to);
+                if (type == SearchState.SOLDIER) {
+                    int next = SearchState.NEIGHBOR[to * 4 + dir];
+                    while (next >= 0 && cells[next] == 0) {
+                        out[count++] = SearchState.move(from, next);
+                        next = SearchState.NEIGHBOR[next * 4 + dir];
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private void scoreMoves(int ply, int count, int tableMove) {
+        int pvMove = ply < previousPvLength ? previousPv[ply] : SearchState.PASS;
+        int[] plyMoves = moves[ply];
+        double[] plyKeys = keys[ply];
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            int to = SearchState.to(move);
+            if (move == tableMove) {
+                plyKeys[i] = Double.MAX_VALUE;
+            } else if (move == pvMove) {
+                plyKeys[i] = Double.MAX_VALUE / 2;
+            } else if (cells[to] != 0) {
+                plyKeys[i] = 1e9 + 16 * pieceValue(to) - pieceValue(SearchState.from(move));
+            } else {
+                plyKeys[i] = history[move];
+            }
+        }
+    }
+
+    private int nextMove(int ply, int index, int count) {
+        int[] plyMoves = moves[ply];
+        double[] plyKeys = keys[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (plyKeys[i] > plyKeys[best]) {
+                best = i;
+            }
+        }
+        int move = plyMoves[best];
+        plyMoves[best] = plyMoves[index];
+        plyMoves[index] = move;
+        double key = plyKeys[best];
+        plyKeys[best] = plyKeys[index];
+        plyKeys[index] = key;
+        return move;
+    }
+
+    private double pieceValue(int cell) {
+        int type = cells[cell] & BoardSnapshot.TYPE_MASK;
+        if (type != UNKNOWN) {
+            return VALUE[type];
+        }
+        int slot = slots[cell];
+        return (slot & MOVED) != 0 ? slotMovedValue[slot & SLOT_MASK] : slotValue[slot & SLOT_MASK];
+    }
+
+    /**
+     * Material de cada lado, com o valor esperado das peças ocultas, e um pequeno bônus pelo avanço das peças móveis.
+     */
+    private double evaluate() {
+        double total = 0;
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            int code = cells[cell];
+            if (code == 0) {
+                continue;
+            }
+            int type = code & BoardSnapshot.TYPE_MASK;
+            int owner = SearchState.owner(code);
+            double value = pieceValue(cell);
+            if (type == UNKNOWN ? (slots[cell] & MOVED) != 0 : SearchState.isMovable(type)) {
+                int row = cell / Board.COLS;
+                value += ADVANCE_WEIGHT * (owner == 1 ? row : Board.ROWS - 1 - row);
+            }
+            total += owner == side ? value : -value;
+        }
+        return total;
+    }
+
+    /**
+     * Profundidade da última iteração completa.
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Valor esperado da melhor jogada para quem a faz, em pontos de material; vitórias valem perto de {@link #WIN}.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Variante principal da última iteração completa, começando pela jogada escolhida.
+     * Depois de um nó de chance ela segue o ramo que a alfa-beta manteve, não necessariamente o mais provável.
+     */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Variante principal na notação de {@link GameNotation}, ex.: {@code D3-E3 G3-F3}.
+     */
+    public String formatPrincipalVariation() {
+        StringBuilder sb = new StringBuilder();
+        for (int move : principalVariation) {
+            if (!sb.isEmpty()) {
+                sb.append(' ');
+            }
+            sb.append(GameNotation.formatSquare(SearchState.from(move))).append('-')
+                    .append(GameNotation.formatSquare(SearchState.to(move)));
+        }
+        return sb.toString();
+    }
+}
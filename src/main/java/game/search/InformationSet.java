@@ -0,0 +1,143 @@
+package game.search;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de informação do jogador da vez: tudo o que ele sabe da posição atual.
+ * As próprias peças e os tipos adversários revelados ficam no tabuleiro base; as demais peças
+ * adversárias ficam como {@link BoardSnapshot#OPPONENT_CODE}, junto com os tipos que ainda podem ocupá-las.
+ * É imutável depois de criado e pode ser compartilhado entre as threads da busca.
+ */
+public final class InformationSet {
+    private final int player;
+    private final byte[] cells;
+    private final int numberMoves;
+    private final int[] lastPieceCell;
+    private final int[] consecutiveMoves;
+    private final int[] hiddenCells;
+    private final int movedHiddenCount;
+    private final int[] unidentified;
+
+    private InformationSet(int player, byte[] cells, int numberMoves, int[] lastPieceCell, int[] consecutiveMoves,
+                           int[] hiddenCells, int movedHiddenCount, int[] unidentified) {
+        this.player = player;
+        this.cells = cells;
+        this.numberMoves = numberMoves;
+        this.lastPieceCell = lastPieceCell;
+        this.consecutiveMoves = consecutiveMoves;
+        this.hiddenCells = hiddenCells;
+        this.movedHiddenCount = movedHiddenCount;
+        this.unidentified = unidentified;
+    }
+
+    /**
+     * Monta o conjunto de informação a partir da visão oculta entregue a {@code player}.
+     * @param ownLastPieceCell casa da última peça movida pelo próprio jogador, ou -1.
+     * @param ownConsecutiveMoves quantas vezes seguidas essa peça foi movida.
+     */
+    public static InformationSet of(Board hiddenView, int player, EnemyEvidence evidence, int ownLastPieceCell, int ownConsecutiveMoves) {
+        int own = SearchState.ownerBit(player);
+        int enemy = SearchState.ownerBit(3 - player);
+        byte[] cells = new byte[SearchState.CELLS];
+        int[] moved = new int[SearchState.CELLS];
+        int[] still = new int[SearchState.CELLS];
+        int movedCount = 0;
+        int stillCount = 0;
+
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            Piece piece = hiddenView.getPiece(cell / Board.COLS, cell % Board.COLS);
+            if (piece instanceof OpponentPiece) {
+                int type = evidence.getKnownType(cell);
+                if (type == 0) {
+                    cells[cell] = (byte) (BoardSnapshot.OPPONENT_CODE | enemy);
+                    if (evidence.hasMoved(cell)) {
+                        moved[movedCount++] = cell;
+                    } else {
+                        still[stillCount++] = cell;
+                    }
+                } else {
+                    cells[cell] = (byte) (type | enemy);
+                }
+            } else if (piece != null) {
+                cells[cell] = (byte) (BoardSnapshot.typeCode(piece) | own);
+            }
+        }
+
+        int[] unidentified = new int[SearchState.TYPES + 1];
+        for (int type = 1; type <= SearchState.TYPES; type++) {
+            unidentified[type] = evidence.getUnidentified(type);
+        }
+
+        int[] lastPieceCell = new int[3];
+        int[] consecutiveMoves = new int[3];
+        lastPieceCell[player] = ownLastPieceCell;
+        consecutiveMoves[player] = ownConsecutiveMoves;
+        lastPieceCell[3 - player] = evidence.getLastPieceCell();
+        consecutiveMoves[3 - player] = evidence.getConsecutiveMoves();
+
+        // Casas ocultas que já se moveram primeiro
+        int[] hidden = Arrays.copyOf(moved, movedCount + stillCount);
+        System.arraycopy(still, 0, hidden, movedCount, stillCount);
+        return new InformationSet(player, cells, hiddenView.numberMoves, lastPieceCell, consecutiveMoves,
+                hidden, movedCount, unidentified);
+    }
+
+    /**
+     * Jogador dono do conjunto de informação, que é também o jogador da vez.
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Copia a parte conhecida da posição para {@code state}; as casas ocultas ficam como {@link BoardSnapshot#OPPONENT_CODE}
+     * até serem preenchidas, e o estado deve ser reiniciado com {@link #resetState} em seguida.
+     */
+    public void copyKnownCells(SearchState state) {
+        state.setCells(cells);
+    }
+
+    /**
+     * Copia a parte conhecida da posição para {@code out}, com uma casa por byte.
+     */
+    public void copyKnownCells(byte[] out) {
+        System.arraycopy(cells, 0, out, 0, SearchState.CELLS);
+    }
+
+    /**
+     * Reinicia o jogador da vez, o contador de jogadas e a regra de movimentos consecutivos de {@code state}.
+     */
+    public void resetState(SearchState state) {
+        state.reset(player, numberMoves, lastPieceCell, consecutiveMoves);
+    }
+
+    public int getHiddenCount() {
+        return hiddenCells.length;
+    }
+
+    /**
+     * Casa oculta pelo índice; as {@link #getMovedHiddenCount()} primeiras são as que já se moveram.
+     */
+    public int getHiddenCell(int index) {
+        return hiddenCells[index];
+    }
+
+    /**
+     * Quantas peças ocultas já se moveram, e portanto não são Mina Terrestre nem Prisioneiro.
+     */
+    public int getMovedHiddenCount() {
+        return movedHiddenCount;
+    }
+
+    /**
+     * Quantas peças do tipo ainda podem estar nas casas ocultas.
+     */
+    public int getUnidentified(int type) {
+        return unidentified[type];
+    }
+}
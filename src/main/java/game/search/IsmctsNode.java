@@ -0,0 +1,34 @@
+package game.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nó da árvore de ISMCTS. Representa a jogada {@link #move} feita por {@link #player}, e as estatísticas
+ * são do ponto de vista desse jogador. A disponibilidade conta em quantas seleções a jogada era válida
+ * na determinização sorteada, e substitui as visitas do pai na fórmula UCB.
+ */
+final class IsmctsNode {
+    final int move;
+    final int player;
+    IsmctsNode parent;
+    final List<IsmctsNode> children = new ArrayList<>(4);
+    int visits;
+    int availability = 1;
+    double reward;
+
+    IsmctsNode(IsmctsNode parent, int move, int player) {
+        this.parent = parent;
+        this.move = move;
+        this.player = player;
+    }
+
+    IsmctsNode findChild(int move) {
+        for (IsmctsNode child : children) {
+            if (child.move == move) {
+                return child;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,247 @@
+package game.search;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Busca em árvore Monte Carlo sobre conjuntos de informação (SO-ISMCTS, Cowling et al.).
+ * Cada simulação sorteia uma determinização do {@link InformationSet} e desce pela árvore considerando
+ * apenas as jogadas válidas nela; as peças ocultas do adversário nunca são consultadas diretamente.
+ * <p>
+ * Uma instância mantém uma única árvore e não é thread-safe: a busca paralela usa uma instância por thread
+ * (paralelismo na raiz) e soma as visitas das jogadas da raiz.
+ */
+public final class IsmctsSearch {
+    private static final double EXPLORATION = 0.7;
+    private static final int ROLLOUT_DEPTH = 80;
+    private static final double MATERIAL_SCALE = 20.0;
+
+    private final Random random;
+    private final DeterminizationSampler sampler;
+    private final int maxNodes;
+    private final SearchState state = new SearchState();
+    private final int[] moves = new int[SearchState.MAX_MOVES];
+    private final int[] childStamp = new int[SearchState.MOVE_CODES];
+    private final int[] childSlot = new int[SearchState.MOVE_CODES];
+    private int stamp;
+
+    private IsmctsNode root;
+    private int treeSize;
+    private long iterations;
+    private long nodes;
+
+    /**
+     * @param maxNodes limite de nós da árvore; ao atingi-lo, as simulações continuam sem expandir a árvore.
+     */
+    public IsmctsSearch(long seed, int maxNodes) {
+        this.random = new Random(seed);
+        this.sampler = new DeterminizationSampler(random.nextLong());
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Descarta a árvore.
+     */
+    public void clear() {
+        root = null;
+        treeSize = 0;
+    }
+
+    /**
+     * Reaproveita a subárvore alcançada pelas jogadas feitas desde a última busca, ou descarta a árvore
+     * se alguma delas não foi explorada.
+     */
+    public void advance(int... playedMoves) {
+        IsmctsNode node = root;
+        for (int move : playedMoves) {
+            if (node == null) {
+                break;
+            }
+            node = node.findChild(move);
+        }
+        if (node == null) {
+            clear();
+            return;
+        }
+        node.parent = null;
+        root = node;
+        treeSize = countNodes(node);
+    }
+
+    private static int countNodes(IsmctsNode node) {
+        int count = 0;
+        Deque<IsmctsNode> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            IsmctsNode current = pending.pop();
+            count++;
+            for (IsmctsNode child : current.children) {
+                pending.push(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Executa simulações até {@code deadlineNanos} (de {@link System#nanoTime()}), e pelo menos uma.
+     */
+    public void search(InformationSet info, long deadlineNanos) {
+        iterations = 0;
+        nodes = 0;
+        if (root == null) {
+            root = new IsmctsNode(null, SearchState.PASS, 3 - info.getPlayer());
+            treeSize = 1;
+        }
+        do {
+            iterate(info);
+            iterations++;
+        } while (System.nanoTime() < deadlineNanos);
+    }
+
+    private void iterate(InformationSet info) {
+        sampler.sample(info, state);
+        IsmctsNode node = root;
+
+        // Seleção e expansão
+        while (!state.isTerminal()) {
+            int count = legalMoves();
+            int untried = markChildren(node, count);
+
+            if (untried > 0 && treeSize < maxNodes) {
+                int move = pickUntried(count, untried);
+                IsmctsNode child = new IsmctsNode(node, move, state.getSideToMove());
+                node.children.add(child);
+                treeSize++;
+                state.play(move);
+                nodes++;
+                node = child;
+                break;
+            }
+            if (untried == count) {
+                break;
+            }
+
+            IsmctsNode best = select(node, count);
+            state.play(best.move);
+            nodes++;
+            node = best;
+        }
+
+        // Simulação aleatória
+        for (int depth = 0; depth < ROLLOUT_DEPTH && !state.isTerminal(); depth++) {
+            int count = legalMoves();
+            state.play(moves[random.nextInt(count)]);
+            nodes++;
+        }
+
+        // Retropropagação
+        double player1Reward = player1Reward();
+        for (IsmctsNode current = node; current != null; current = current.parent) {
+            current.visits++;
+            current.reward += current.player == 1 ? player1Reward : 1 - player1Reward;
+        }
+    }
+
+    private int legalMoves() {
+        int count = state.generateMoves(moves);
+        if (count == 0) {
+            moves[0] = SearchState.PASS;
+            count = 1;
+        }
+        return count;
+    }
+
+    /**
+     * Marca os filhos do nó para consulta por jogada em O(1).
+     * @return quantas das jogadas válidas ainda não têm filho.
+     */
+    private int markChildren(IsmctsNode node, int count) {
+        stamp++;
+        for (int i = 0; i < node.children.size(); i++) {
+            int move = node.children.get(i).move;
+            childStamp[move] = stamp;
+            childSlot[move] = i;
+        }
+        int untried = 0;
+        for (int i = 0; i < count; i++) {
+            if (childStamp[moves[i]] != stamp) {
+                untried++;
+            }
+        }
+        return untried;
+    }
+
+    private int pickUntried(int count, int untried) {
+        int target = random.nextInt(untried);
+        for (int i = 0; i < count; i++) {
+            if (childStamp[moves[i]] != stamp && target-- == 0) {
+                return moves[i];
+            }
+        }
+        throw new IllegalStateException("Jogada não explorada não encontrada");
+    }
+
+    private IsmctsNode select(IsmctsNode node, int count) {
+        IsmctsNode best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (childStamp[move] != stamp) {
+                continue;
+            }
+            IsmctsNode child = node.children.get(childSlot[move]);
+            child.availability++;
+            double score = child.reward / child.visits + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+            if (score > bestScore) {
+                bestScore = score;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Resultado da simulação para o Player1: 1 vitória, 0 derrota, 0,5 empate; se a simulação foi interrompida,
+     * uma estimativa pela diferença de material.
+     */
+    private double player1Reward() {
+        int winner = state.getWinner();
+        if (winner == 1) {
+            return 1;
+        } else if (winner == 2) {
+            return 0;
+        } else if (winner == SearchState.DRAW) {
+            return 0.5;
+        }
+        return 0.5 + 0.5 * Math.tanh((state.material(1) - state.material(2)) / MATERIAL_SCALE);
+    }
+
+    /**
+     * Soma as visitas de cada jogada da raiz em {@code visitsByMove}, indexado pelo código da jogada.
+     */
+    public void addRootVisits(long[] visitsByMove) {
+        if (root == null) {
+            return;
+        }
+        for (IsmctsNode child : root.children) {
+            visitsByMove[child.move] += child.visits;
+        }
+    }
+
+    public int getRootVisits() {
+        return root == null ? 0 : root.visits;
+    }
+
+    public int getTreeSize() {
+        return treeSize;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,210 @@
+package game.search;
+
+import game.pieces.QuantityPerPiece;
+
+import java.util.Arrays;
+
+/**
+ * Dedução exata sobre a identidade das peças adversárias. Cada casa ocupada pelo adversário guarda uma
+ * máscara de 12 bits com os tipos possíveis (bit {@code ordinal} de {@link QuantityPerPiece}), e cada tipo
+ * tem a quantidade de peças dele ainda no tabuleiro. As regras de contagem são propagadas até o ponto fixo:
+ * <ul>
+ *  <li>se as casas cujas máscaras cabem em um conjunto de tipos (formado por uma das máscaras presentes)
+ *      esgotam as peças desse conjunto, esses tipos saem das demais casas;</li>
+ *  <li>se um tipo só cabe em exatamente tantas casas quantas peças dele restam, essas casas são desse tipo;
+ *      se não resta nenhuma peça dele, ele sai de todas as casas.</li>
+ * </ul>
+ * Por exemplo, com os 8 Soldados identificados, nenhuma outra peça pode ser Soldado; e se todas as peças
+ * móveis restantes já se moveram, as que nunca se moveram são Minas Terrestres ou o Prisioneiro.
+ * Tudo é feito com operações de bits sobre arrays primitivos e custa poucos microssegundos.
+ */
+public final class PieceConstraints {
+    public static final int ALL = (1 << SearchState.TYPES) - 1;
+    public static final int IMMOVABLE = bit(SearchState.LAND_MINE) | bit(SearchState.PRISONER);
+    public static final int MOVABLE = ALL & ~IMMOVABLE;
+
+    private final short[] masks = new short[SearchState.CELLS];
+    private final int[] remaining = new int[SearchState.TYPES + 1];
+    private final int[] cells = new int[SearchState.CELLS];
+    private final int[] distinct = new int[SearchState.CELLS];
+    private final int[] seen = new int[ALL + 1];
+    private int stamp;
+    private int cellCount;
+    private boolean consistent = true;
+
+    public static int bit(int type) {
+        return 1 << (type - 1);
+    }
+
+    /**
+     * Remove todas as casas e zera as quantidades.
+     */
+    public void clear() {
+        Arrays.fill(masks, (short) 0);
+        Arrays.fill(remaining, 0);
+        cellCount = 0;
+        consistent = true;
+    }
+
+    /**
+     * Define os tipos possíveis para a peça adversária na casa.
+     */
+    public void setCell(int cell, int mask) {
+        if (mask == 0 || (mask & ~ALL) != 0) {
+            throw new IllegalArgumentException("Máscara de tipos inválida: " + Integer.toBinaryString(mask));
+        }
+        if (masks[cell] == 0) {
+            cells[cellCount++] = cell;
+        }
+        masks[cell] = (short) mask;
+    }
+
+    /**
+     * Define quantas peças do tipo ainda estão no tabuleiro.
+     */
+    public void setRemaining(int type, int count) {
+        remaining[type] = count;
+    }
+
+    /**
+     * Recria as restrições a partir das evidências e propaga.
+     * @return {@code false} se as evidências são contraditórias.
+     */
+    public boolean update(EnemyEvidence evidence) {
+        clear();
+        for (int type = 1; type <= SearchState.TYPES; type++) {
+            remaining[type] = QuantityPerPiece.fromOrdinal(type - 1).getQuantity() - evidence.getCaptured(type);
+        }
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            if (evidence.isOccupied(cell)) {
+                int known = evidence.getKnownType(cell);
+                setCell(cell, known != 0 ? bit(known) : evidence.hasMoved(cell) ? MOVABLE : ALL);
+            }
+        }
+        return propagate();
+    }
+
+    /**
+     * Aplica as regras de contagem até nenhuma máscara mudar.
+     * @return {@code false} se alguma casa ficou sem tipo possível ou as quantidades não fecham.
+     */
+    public boolean propagate() {
+        boolean changed = true;
+        while (changed && consistent) {
+            changed = exhaustSubsets() | forceTypes();
+        }
+        return consistent;
+    }
+
+    /**
+     * Para cada máscara presente, conta as casas que cabem nela; se as peças desses tipos se esgotam
+     * nessas casas, os tipos saem das demais.
+     */
+    private boolean exhaustSubsets() {
+        boolean changed = false;
+        stamp++;
+        int distinctCount = 0;
+        for (int i = 0; i < cellCount; i++) {
+            int mask = masks[cells[i]];
+            if (seen[mask] != stamp) {
+                seen[mask] = stamp;
+                distinct[distinctCount++] = mask;
+            }
+        }
+
+        for (int d = 0; d < distinctCount; d++) {
+            int subset = distinct[d];
+            int capacity = 0;
+            for (int bits = subset; bits != 0; bits &= bits - 1) {
+                capacity += remaining[Integer.numberOfTrailingZeros(bits) + 1];
+            }
+            int inside = 0;
+            for (int i = 0; i < cellCount; i++) {
+                if ((masks[cells[i]] & ~subset) == 0) {
+                    inside++;
+                }
+            }
+            if (inside > capacity) {
+                consistent = false;
+                return false;
+            }
+            if (inside == capacity) {
+                for (int i = 0; i < cellCount; i++) {
+                    int cell = cells[i];
+                    int mask = masks[cell];
+                    if ((mask & ~subset) != 0 && (mask & subset) != 0) {
+                        restrict(cell, mask & ~subset);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Se um tipo só cabe em tantas casas quantas peças dele restam, essas casas ficam com esse tipo.
+     */
+    private boolean forceTypes() {
+        boolean changed = false;
+        for (int type = 1; type <= SearchState.TYPES && consistent; type++) {
+            int typeBit = bit(type);
+            int candidates = 0;
+            for (int i = 0; i < cellCount; i++) {
+                if ((masks[cells[i]] & typeBit) != 0) {
+                    candidates++;
+                }
+            }
+            if (candidates < remaining[type]) {
+                consistent = false;
+            } else if (remaining[type] == 0 && candidates > 0) {
+                for (int i = 0; i < cellCount; i++) {
+                    int cell = cells[i];
+                    if ((masks[cell] & typeBit) != 0) {
+                        restrict(cell, masks[cell] & ~typeBit);
+                    }
+                }
+                changed = true;
+            } else if (candidates == remaining[type] && candidates > 0) {
+                for (int i = 0; i < cellCount; i++) {
+                    int cell = cells[i];
+                    if ((masks[cell] & typeBit) != 0 && masks[cell] != typeBit) {
+                        restrict(cell, typeBit);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private void restrict(int cell, int mask) {
+        masks[cell] = (short) mask;
+        if (mask == 0) {
+            consistent = false;
+        }
+    }
+
+    public boolean isConsistent() {
+        return consistent;
+    }
+
+    /**
+     * Tipos possíveis da peça na casa, ou 0 se a casa não tem peça adversária.
+     */
+    public int getMask(int cell) {
+        return masks[cell];
+    }
+
+    public boolean isPossible(int cell, int type) {
+        return (masks[cell] & bit(type)) != 0;
+    }
+
+    /**
+     * Tipo da peça na casa se ele foi deduzido (ou revelado), ou 0.
+     */
+    public int getForcedType(int cell) {
+        int mask = masks[cell];
+        return mask != 0 && (mask & (mask - 1)) == 0 ? Integer.numberOfTrailingZeros(mask) + 1 : 0;
+    }
+}
@@ -0,0 +1,319 @@
+package game.search;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.pieces.QuantityPerPiece;
+import game.records.MoveEntry;
+
+/**
+ * Estado completo de uma partida para simulação durante a busca, guardado em arrays primitivos.
+ * Cada casa usa o código do {@link BoardSnapshot} (tipo + {@link BoardSnapshot#PLAYER2_BIT} para o dono)
+ * e as regras de movimento, combate, movimentos consecutivos e fim de jogo reproduzem as do {@link Board}.
+ * <p>
+ * Jogadas são codificadas em um int com {@code origem << 7 | destino}, como em {@link MoveEntry}.
+ * Nenhuma operação aloca memória, de modo que o mesmo estado pode ser reaproveitado em milhões de simulações.
+ */
+public final class SearchState {
+    public static final int CELLS = Board.ROWS * Board.COLS;
+    public static final int MAX_MOVES = 512;
+    public static final int PASS = move(MoveEntry.NO_CELL, MoveEntry.NO_CELL);
+    public static final int MOVE_CODES = PASS + 1;
+    public static final int MAX_NUMBER_OF_MOVES = 5000;
+    public static final int ONGOING = -1;
+    public static final int DRAW = 0;
+
+    public static final int CAPTAIN = QuantityPerPiece.CAPTAIN.ordinal() + 1;
+    public static final int COLONEL = QuantityPerPiece.COLONEL.ordinal() + 1;
+    public static final int CORPORAL = QuantityPerPiece.CORPORAL.ordinal() + 1;
+    public static final int GENERAL = QuantityPerPiece.GENERAL.ordinal() + 1;
+    public static final int LAND_MINE = QuantityPerPiece.LAND_MINE.ordinal() + 1;
+    public static final int LIEUTENANT = QuantityPerPiece.LIEUTENANT.ordinal() + 1;
+    public static final int MAJOR = QuantityPerPiece.MAJOR.ordinal() + 1;
+    public static final int PRISONER = QuantityPerPiece.PRISONER.ordinal() + 1;
+    public static final int SARGENT = QuantityPerPiece.SARGENT.ordinal() + 1;
+    public static final int SECRET_AGENT = QuantityPerPiece.SECRET_AGENT.ordinal() + 1;
+    public static final int SOLDIER = QuantityPerPiece.SOLDIER.ordinal() + 1;
+    public static final int SUBLIEUTENANT = QuantityPerPiece.SUBLIEUTENANT.ordinal() + 1;
+    public static final int TYPES = QuantityPerPiece.values().length;
+
+    /** Força de cada código de tipo, igual à das classes de {@code game.pieces}. */
+    static final int[] STRENGTH = new int[TYPES + 1];
+
+    /** Casa vizinha em cada uma das 4 direções, ou -1 se fora do tabuleiro ou lago. */
+    static final int[] NEIGHBOR = new int[CELLS * 4];
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+
+    static {
+        STRENGTH[CAPTAIN] = 7;
+        STRENGTH[COLONEL] = 9;
+        STRENGTH[CORPORAL] = 3;
+        STRENGTH[GENERAL] = 10;
+        STRENGTH[LIEUTENANT] = 6;
+        STRENGTH[MAJOR] = 8;
+        STRENGTH[SARGENT] = 4;
+        STRENGTH[SECRET_AGENT] = 1;
+        STRENGTH[SOLDIER] = 2;
+        STRENGTH[SUBLIEUTENANT] = 5;
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            for (int dir = 0; dir < 4; dir++) {
+                int x = cell / Board.COLS + DX[dir];
+                int y = cell % Board.COLS + DY[dir];
+                NEIGHBOR[cell * 4 + dir] = Board.isValidPosition(x, y) ? x * Board.COLS + y : -1;
+            }
+        }
+    }
+
+    private final byte[] cells = new byte[CELLS];
+    private final int[] lastPieceCell = new int[3];
+    private final int[] consecutiveMoves = new int[3];
+    private final int[] movablePieces = new int[3];
+    private int sideToMove = 1;
+    private int numberMoves;
+    private int winner = ONGOING;
+
+    public static int move(int from, int to) {
+        return from << 7 | to;
+    }
+
+    public static int from(int move) {
+        return move >>> 7;
+    }
+
+    public static int to(int move) {
+        return move & 0x7F;
+    }
+
+    public static int owner(int code) {
+        return (code & BoardSnapshot.PLAYER2_BIT) == 0 ? 1 : 2;
+    }
+
+    public static int ownerBit(int player) {
+        return player == 1 ? 0 : BoardSnapshot.PLAYER2_BIT;
+    }
+
+    public static boolean isMovable(int type) {
+        return type != 0 && type != LAND_MINE && type != PRISONER && type != BoardSnapshot.OPPONENT_CODE;
+    }
+
+    public void copyFrom(SearchState other) {
+        System.arraycopy(other.cells, 0, cells, 0, CELLS);
+        System.arraycopy(other.lastPieceCell, 0, lastPieceCell, 0, 3);
+        System.arraycopy(other.consecutiveMoves, 0, consecutiveMoves, 0, 3);
+        System.arraycopy(other.movablePieces, 0, movablePieces, 0, 3);
+        sideToMove = other.sideToMove;
+        numberMoves = other.numberMoves;
+        winner = other.winner;
+    }
+
+    /**
+     * Define o conteúdo de uma casa. Depois de montar o tabuleiro, chame {@link #reset}.
+     */
+    public void setCell(int cell, int code) {
+        cells[cell] = (byte) code;
+    }
+
+    /**
+     * Copia as {@link #CELLS} casas de {@code source}. Depois de montar o tabuleiro, chame {@link #reset}.
+     */
+    public void setCells(byte[] source) {
+        System.arraycopy(source, 0, cells, 0, CELLS);
+    }
+
+    public int getCell(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Define o jogador da vez, o contador de jogadas e a última peça movida por cada jogador,
+     * e recalcula as peças móveis.
+     * @param lastPieceCell casa da última peça movida por cada jogador (índices 1 e 2), ou -1.
+     * @param consecutiveMoves quantas vezes seguidas essa peça foi movida.
+     */
+    public void reset(int sideToMove, int numberMoves, int[] lastPieceCell, int[] consecutiveMoves) {
+        this.sideToMove = sideToMove;
+        this.numberMoves = numberMoves;
+        this.winner = ONGOING;
+        for (int player = 1; player <= 2; player++) {
+            this.lastPieceCell[player] = lastPieceCell[player];
+            this.consecutiveMoves[player] = consecutiveMoves[player];
+            movablePieces[player] = 0;
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            int code = cells[cell];
+            if (isMovable(code & BoardSnapshot.TYPE_MASK)) {
+                movablePieces[owner(code)]++;
+            }
+        }
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public int getNumberMoves() {
+        return numberMoves;
+    }
+
+    /**
+     * Casa da última peça movida por {@code player}, ou -1.
+     */
+    public int getLastPieceCell(int player) {
+        return lastPieceCell[player];
+    }
+
+    /**
+     * Quantas vezes seguidas a peça em {@link #getLastPieceCell} foi movida.
+     */
+    public int getConsecutiveMoves(int player) {
+        return consecutiveMoves[player];
+    }
+
+    public boolean isTerminal() {
+        return winner != ONGOING;
+    }
+
+    /**
+     * @return 1 ou 2 para o vencedor, {@link #DRAW} para empate ou {@link #ONGOING} se a partida continua.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Preenche {@code moves} com as jogadas válidas do jogador da vez.
+     * @return quantidade de jogadas; 0 se o jogador só pode passar a vez.
+     */
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        int own = ownerBit(sideToMove);
+        int blockedCell = consecutiveMoves[sideToMove] >= Board.MAX_CONSECUTIVE_MOVES_SAME_PIECE ? lastPieceCell[sideToMove] : -1;
+
+        for (int from = 0; from < CELLS; from++) {
+            int code = cells[from];
+            int type = code & BoardSnapshot.TYPE_MASK;
+            if (!isMovable(type) || (code & BoardSnapshot.PLAYER2_BIT) != own || from == blockedCell) {
+                continue;
+            }
+            for (int dir = 0; dir < 4; dir++) {
+                int to = NEIGHBOR[from * 4 + dir];
+                if (to < 0) {
+                    continue;
+                }
+                int target = cells[to];
+                if (target != 0) {
+                    if ((target & BoardSnapshot.PLAYER2_BIT) != own) {
+                        moves[count++] = move(from, to);
+                    }
+                    continue;
+                }
+                moves[count++] = move(from, to);
+                if (type == SOLDIER) {
+                    // Movimento longo: só para casas vazias, com o caminho livre
+                    int next = NEIGHBOR[to * 4 + dir];
+                    while (next >= 0 && cells[next] == 0) {
+                        moves[count++] = move(from, next);
+                        next = NEIGHBOR[next * 4 + dir];
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Executa uma jogada gerada por {@link #generateMoves} (ou {@link #PASS}) e passa a vez.
+     */
+    public void play(int move) {
+        int side = sideToMove;
+        int enemy = 3 - side;
+        numberMoves++;
+
+        if (move != PASS) {
+            int from = from(move);
+            int to = to(move);
+            int attacker = cells[from];
+            int defender = cells[to];
+            cells[from] = 0;
+            int survivorCell = to;
+
+            if (defender == 0) {
+                cells[to] = (byte) attacker;
+            } else {
+                int attackerType = attacker & BoardSnapshot.TYPE_MASK;
+                int defenderType = defender & BoardSnapshot.TYPE_MASK;
+                if (defenderType == PRISONER) {
+                    winner = side;
+                    return;
+                }
+                int result = fight(attackerType, defenderType);
+                if (result > 0) {
+                    cells[to] = (byte) attacker;
+                    if (defenderType != LAND_MINE) {
+                        removed(enemy, to);
+                    }
+                } else {
+                    movablePieces[side]--;
+                    survivorCell = -1;
+                    if (result == 0 || defenderType == LAND_MINE) {
+                        cells[to] = 0;
+                        if (defenderType != LAND_MINE) {
+                            removed(enemy, to);
+                        }
+                    }
+                }
+            }
+
+            consecutiveMoves[side] = lastPieceCell[side] == from ? consecutiveMoves[side] + 1 : 1;
+            lastPieceCell[side] = survivorCell;
+        }
+
+        sideToMove = enemy;
+        if (movablePieces[1] == 0) {
+            winner = 2;
+        } else if (movablePieces[2] == 0) {
+            winner = 1;
+        } else if (numberMoves >= MAX_NUMBER_OF_MOVES) {
+            winner = DRAW;
+        }
+    }
+
+    private void removed(int player, int cell) {
+        movablePieces[player]--;
+        if (lastPieceCell[player] == cell) {
+            lastPieceCell[player] = -1;
+        }
+    }
+
+    /**
+     * Resultado do ataque de {@code attackerType} contra {@code defenderType}, pelas regras das peças:
+     * positivo se o atacante vence, 0 se ambos são eliminados e negativo se o atacante é eliminado.
+     * Contra mina terrestre o resultado é negativo para todos exceto o Cabo, e a mina é removida.
+     */
+    public static int fight(int attackerType, int defenderType) {
+        if (defenderType == LAND_MINE) {
+            return attackerType == CORPORAL ? 1 : -1;
+        }
+        if (attackerType == SECRET_AGENT && defenderType == COLONEL) {
+            return 1;
+        }
+        return Integer.compare(STRENGTH[attackerType], STRENGTH[defenderType]);
+    }
+
+    /**
+     * Soma das forças das peças móveis de {@code player}, com bônus para as minas restantes.
+     */
+    public int material(int player) {
+        int own = ownerBit(player);
+        int total = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int code = cells[cell];
+            if (code != 0 && (code & BoardSnapshot.PLAYER2_BIT) == own) {
+                int type = code & BoardSnapshot.TYPE_MASK;
+                total += type == LAND_MINE ? 2 : type == SECRET_AGENT ? 4 : STRENGTH[type];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,25 @@
+package game.search;
+
+/**
+ * Estatísticas de uma busca, somadas entre as threads.
+ * @param iterations simulações completas (seleção, expansão, simulação e retropropagação).
+ * @param nodes posições visitadas, contando as jogadas da árvore e das simulações.
+ * @param treeNodes nós nas árvores ao final da busca.
+ * @param reusedVisits visitas herdadas da busca anterior pelo reaproveitamento da subárvore.
+ */
+public record SearchStats(int threads, long iterations, long nodes, long treeNodes, long reusedVisits, long elapsedNanos) {
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    public double iterationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : iterations * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d threads, %d simulações, %.0f nós/s, %d nós na árvore, %d visitas reaproveitadas",
+                threads, iterations, nodesPerSecond(), treeNodes, reusedVisits);
+    }
+}
@@ -0,0 +1,206 @@
+package game.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabela de transposição de tamanho fixo, guardada em um único {@code long[]} e compartilhável entre threads sem travas.
+ * <p>
+ * Cada entrada ocupa dois longs: {@code chave ^ dados} e {@code dados}. Uma leitura só é aceita se o XOR dos dois
+ * devolver a chave Zobrist procurada, o que descarta entradas escritas pela metade por outra thread (Hyatt e Mann).
+ * Os dados empacotam, do bit menos significativo para o mais significativo: o valor como {@code float} (32 bits),
+ * a melhor jogada (14 bits, o código de {@link SearchState#move}), o tipo de limite (2 bits), a profundidade (8 bits)
+ * e a geração da busca (8 bits).
+ * <p>
+ * Cada posição cai em um balde de duas entradas: a primeira prefere profundidade (só é substituída por uma busca
+ * ao menos tão profunda, por um resultado exato da mesma posição ou quando é de uma geração anterior) e a segunda
+ * é sempre substituída. Uma busca mais rasa da mesma posição vai para a segunda, sem perder o resultado profundo.
+ */
+public final class TranspositionTable {
+    /** Resultado de {@link #probe} quando a posição não está na tabela. */
+    public static final long NONE = 0;
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+    public static final int MAX_DEPTH = 0xFF;
+    public static final int MAX_MEGABYTES = 4096;
+
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    private static final int MOVE_SHIFT = 32;
+    private static final int BOUND_SHIFT = 46;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int GENERATION_SHIFT = 56;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder overwrites = new LongAdder();
+
+    /**
+     * @param megabytes memória da tabela; o número de baldes é arredondado para baixo até uma potência de 2.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > MAX_MEGABYTES) {
+            throw new IllegalArgumentException("Tamanho deve estar entre 1 e " + MAX_MEGABYTES + " MB: " + megabytes);
+        }
+        int buckets = Integer.highestOneBit((int) ((long) megabytes * 1024 * 1024 / BYTES_PER_BUCKET));
+        this.table = new long[buckets * LONGS_PER_BUCKET];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Procura a posição. Pode ser chamado por várias threads ao mesmo tempo que {@link #store}.
+     * @return os dados empacotados, lidos com {@link #score}, {@link #move}, {@link #bound} e {@link #depth},
+     *         ou {@link #NONE}.
+     */
+    public long probe(long key) {
+        probes.increment();
+        int base = index(key);
+        long data = table[base + 1];
+        if (data != NONE && (table[base] ^ data) == key) {
+            hits.increment();
+            return data;
+        }
+        long other = table[base + 3];
+        if (other != NONE && (table[base + 2] ^ other) == key) {
+            hits.increment();
+            return other;
+        }
+        if (data != NONE || other != NONE) {
+            collisions.increment();
+        }
+        return NONE;
+    }
+
+    /**
+     * Guarda o resultado da busca de uma posição.
+     * @param bound {@link #EXACT}, {@link #LOWER} (o valor real é pelo menos {@code score}) ou {@link #UPPER}.
+     * @param move melhor jogada encontrada, ou {@link SearchState#PASS}.
+     */
+    public void store(long key, int depth, int bound, double score, int move) {
+        if (bound < EXACT || bound > UPPER) {
+            throw new IllegalArgumentException("Limite inválido: " + bound);
+        }
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 0 e " + MAX_DEPTH + ": " + depth);
+        }
+        stores.increment();
+        int currentGeneration = generation;
+        long data = Float.floatToRawIntBits((float) score) & 0xFFFFFFFFL
+                | (long) move << MOVE_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) depth << DEPTH_SHIFT
+                | (long) currentGeneration << GENERATION_SHIFT;
+
+        int base = index(key);
+        long preferred = table[base + 1];
+        boolean samePosition = (table[base] ^ preferred) == key;
+        if (preferred == NONE || depth >= depth(preferred) || generation(preferred) != currentGeneration
+                || samePosition && bound == EXACT) {
+            if (preferred != NONE && !samePosition) {
+                overwrites.increment();
+            }
+            table[base + 1] = data;
+            table[base] = key ^ data;
+            return;
+        }
+
+        long replaced = table[base + 3];
+        if (replaced != NONE && (table[base + 2] ^ replaced) != key) {
+            overwrites.increment();
+        }
+        table[base + 3] = data;
+        table[base + 2] = key ^ data;
+    }
+
+    private int index(long key) {
+        return ((int) key & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    /**
+     * Começa uma nova busca: as entradas das anteriores passam a ser substituíveis na entrada que prefere profundidade.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Apaga as entradas e zera os contadores. Não deve ser chamado durante uma busca.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        probes.reset();
+        hits.reset();
+        collisions.reset();
+        stores.reset();
+        overwrites.reset();
+    }
+
+    public static double score(long data) {
+        return Float.intBitsToFloat((int) data);
+    }
+
+    public static int move(long data) {
+        return (int) (data >>> MOVE_SHIFT) & 0x3FFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Número de entradas (duas por balde).
+     */
+    public int getCapacity() {
+        return table.length / 2;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Consultas que encontraram a posição.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Consultas que não encontraram a posição, mas acharam o balde ocupado por outras.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Gravações que substituíram uma entrada de outra posição.
+     */
+    public long getOverwrites() {
+        return overwrites.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d entradas, %d consultas, %d acertos, %d colisões, %d substituições",
+                getCapacity(), getProbes(), getHits(), getCollisions(), getOverwrites());
+    }
+}
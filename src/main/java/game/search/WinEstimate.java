@@ -0,0 +1,68 @@
+package game.search;
+
+/**
+ * Resultado de um {@link WinProbabilityEstimator}: quantas simulações terminaram com vitória de cada jogador ou
+ * empate, e por qual motivo as vitórias aconteceram. Os empates são sempre pelo limite de jogadas.
+ * Os intervalos são de Wilson com 95% de confiança.
+ */
+public record WinEstimate(long playouts, long player1Wins, long player2Wins, long draws,
+                          long prisonerCaptures, long eliminations) {
+    /** Quantil normal dos intervalos de confiança. */
+    public static final double CONFIDENCE_Z = 1.96;
+
+    public long getWins(int player) {
+        if (player != 1 && player != 2) {
+            throw new IllegalArgumentException("Jogador deve ser 1 ou 2: " + player);
+        }
+        return player == 1 ? player1Wins : player2Wins;
+    }
+
+    public double winProbability(int player) {
+        return playouts == 0 ? 0 : (double) getWins(player) / playouts;
+    }
+
+    public double drawProbability() {
+        return playouts == 0 ? 0 : (double) draws / playouts;
+    }
+
+    /**
+     * Pontos esperados do jogador: 1 por vitória e 1/2 por empate.
+     */
+    public double score(int player) {
+        return playouts == 0 ? 0.5 : (getWins(player) + draws / 2.0) / playouts;
+    }
+
+    public double lowerBound(int player) {
+        return wilson(getWins(player), -1);
+    }
+
+    public double upperBound(int player) {
+        return wilson(getWins(player), 1);
+    }
+
+    private double wilson(long wins, int sign) {
+        if (playouts == 0) {
+            return sign < 0 ? 0 : 1;
+        }
+        double z2 = CONFIDENCE_Z * CONFIDENCE_Z;
+        double rate = (double) wins / playouts;
+        double center = rate + z2 / (2 * playouts);
+        double margin = CONFIDENCE_Z * Math.sqrt(rate * (1 - rate) / playouts + z2 / (4.0 * playouts * playouts));
+        return Math.min(1, Math.max(0, (center + sign * margin) / (1 + z2 / playouts)));
+    }
+
+    /**
+     * Soma duas estimativas da mesma posição.
+     */
+    public WinEstimate plus(WinEstimate other) {
+        return new WinEstimate(playouts + other.playouts, player1Wins + other.player1Wins, player2Wins + other.player2Wins,
+                draws + other.draws, prisonerCaptures + other.prisonerCaptures, eliminations + other.eliminations);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d simulações: P1 %.3f [%.3f, %.3f], P2 %.3f [%.3f, %.3f], empates %.3f",
+                playouts, winProbability(1), lowerBound(1), upperBound(1),
+                winProbability(2), lowerBound(2), upperBound(2), drawProbability());
+    }
+}
@@ -0,0 +1,224 @@
+package game.search;
+
+import game.Board;
+import game.BoardSnapshot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estima as chances de vitória de cada jogador em uma posição por simulações de Monte Carlo até o fim da partida,
+ * com a política aleatória do {@link BatchSimulator}. As partidas terminam pelos mesmos critérios do
+ * {@link Board#isGameFinished} e da captura do Prisioneiro, e o {@link WinEstimate} separa os motivos.
+ * <p>
+ * As simulações são divididas em blocos de {@link #setBatchSize} partidas, distribuídos entre as threads. O bloco
+ * {@code i} usa a semente {@code seed + i}, então o resultado com um número fixo de simulações não depende do
+ * número de threads. Com orçamento de tempo, os blocos concluídos são sempre os primeiros, e o resultado é o mesmo
+ * de pedir esse número de simulações.
+ * <p>
+ * Posições com peças ocultas são estimadas a partir de um {@link InformationSet}: cada simulação começa de uma
+ * determinização sorteada pelo {@link DeterminizationSampler}.
+ * <p>
+ * Se alguma simulação falhar (por exemplo, uma posição que o {@link BatchSimulator} não aceita), a estimativa
+ * inteira falha com a mesma exceção, em vez de devolver menos simulações que as pedidas.
+ */
+public class WinProbabilityEstimator {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    // Posições das contagens de cada thread
+    private static final int PLAYOUTS = 0;
+    private static final int PLAYER1_WINS = 1;
+    private static final int PLAYER2_WINS = 2;
+    private static final int DRAWS = 3;
+    private static final int PRISONER_CAPTURES = 4;
+    private static final int ELIMINATIONS = 5;
+    private static final int FIELDS = 6;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long seed = 0;
+
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser positivo: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Tamanho do bloco deve ser positivo: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Semente base; o bloco {@code i} de simulações usa {@code seed + i}.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Estima a posição de um tabuleiro sem peças ocultas com {@code playouts} simulações.
+     * @param sideToMove jogador da vez, 1 ou 2.
+     * @throws IllegalArgumentException se o tabuleiro tiver peças ocultas.
+     */
+    public WinEstimate estimate(Board board, int sideToMove, int playouts) throws InterruptedException {
+        checkPlayouts(playouts);
+        return run(toState(board, sideToMove), null, chunks(playouts), playouts, Long.MAX_VALUE);
+    }
+
+    /**
+     * Estima a posição de um tabuleiro sem peças ocultas com quantas simulações couberem em {@code budget}.
+     */
+    public WinEstimate estimate(Board board, int sideToMove, Duration budget) throws InterruptedException {
+        return run(toState(board, sideToMove), null, Integer.MAX_VALUE, Long.MAX_VALUE, deadline(budget));
+    }
+
+    /**
+     * Estima a posição do ponto de vista do jogador da vez de {@code info} com {@code playouts} simulações,
+     * cada uma a partir de uma determinização.
+     */
+    public WinEstimate estimate(InformationSet info, int playouts) throws InterruptedException {
+        checkPlayouts(playouts);
+        return run(null, info, chunks(playouts), playouts, Long.MAX_VALUE);
+    }
+
+    /**
+     * Estima a posição de {@code info} com quantas simulações couberem em {@code budget}.
+     */
+    public WinEstimate estimate(InformationSet info, Duration budget) throws InterruptedException {
+        return run(null, info, Integer.MAX_VALUE, Long.MAX_VALUE, deadline(budget));
+    }
+
+    private static void checkPlayouts(int playouts) {
+        if (playouts < 1) {
+            throw new IllegalArgumentException("Número de simulações deve ser positivo: " + playouts);
+        }
+    }
+
+    private int chunks(int playouts) {
+        return (int) ((playouts + (long) batchSize - 1) / batchSize);
+    }
+
+    private static long deadline(Duration budget) {
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Orçamento de tempo deve ser positivo: " + budget);
+        }
+        return System.nanoTime() + budget.toNanos();
+    }
+
+    /**
+     * Converte o tabuleiro em {@link SearchState}, incluindo a regra de movimentos consecutivos de cada jogador.
+     */
+    static SearchState toState(Board board, int sideToMove) {
+        if (sideToMove != 1 && sideToMove != 2) {
+            throw new IllegalArgumentException("Jogador da vez deve ser 1 ou 2: " + sideToMove);
+        }
+        BoardSnapshot snapshot = board.snapshot();
+        SearchState state = new SearchState();
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            int code = snapshot.getCell(cell);
+            if ((code & BoardSnapshot.TYPE_MASK) == BoardSnapshot.OPPONENT_CODE) {
+                throw new IllegalArgumentException("Tabuleiro com peça oculta na casa " + cell + "; use um InformationSet");
+            }
+            state.setCell(cell, code);
+        }
+
+        int[] lastPieceCell = new int[3];
+        int[] consecutiveMoves = new int[3];
+        for (int player = 1; player <= 2; player++) {
+            byte[] lastPieces = snapshot.getLastPiecesPlayed(player);
+            lastPieceCell[player] = lastPieces.length == 0 ? -1 : lastPieces[0];
+            while (consecutiveMoves[player] < lastPieces.length && lastPieceCell[player] != BoardSnapshot.NO_CELL
+                    && lastPieces[consecutiveMoves[player]] == lastPieceCell[player]) {
+                consecutiveMoves[player]++;
+            }
+        }
+        state.reset(sideToMove, snapshot.getNumberMoves(), lastPieceCell, consecutiveMoves);
+        return state;
+    }
+
+    private WinEstimate run(SearchState start, InformationSet info, int chunks, long playouts, long deadlineNanos)
+            throws InterruptedException {
+        AtomicInteger nextChunk = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    BatchSimulator simulator = new BatchSimulator(batchSize, seed);
+                    DeterminizationSampler sampler = info == null ? null : new DeterminizationSampler(seed);
+                    SearchState state = new SearchState();
+                    long[] counts = new long[FIELDS];
+                    int chunk;
+                    while (System.nanoTime() < deadlineNanos && (chunk = nextChunk.getAndIncrement()) < chunks) {
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                        int games = (int) Math.min(batchSize, playouts - (long) chunk * batchSize);
+                        simulator.setSeed(seed + chunk);
+                        if (sampler != null) {
+                            sampler.setSeed(seed + chunk);
+                        }
+                        for (int game = 0; game < games; game++) {
+                            if (sampler != null) {
+                                sampler.sample(info, state);
+                                simulator.load(game, state);
+                            } else {
+                                simulator.load(game, start);
+                            }
+                        }
+                        simulator.run();
+                        for (int game = 0; game < games; game++) {
+                            count(simulator, game, counts);
+                        }
+                    }
+                    return counts;
+                }));
+            }
+
+            long[] totals = new long[FIELDS];
+            for (Future<long[]> future : futures) {
+                long[] counts;
+                try {
+                    counts = future.get();
+                } catch (ExecutionException e) {
+                    // Uma simulação que falha invalida a estimativa inteira
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    if (e.getCause() instanceof Error cause) {
+                        throw cause;
+                    }
+                    throw new IllegalStateException("Falha nas simulações", e.getCause());
+                }
+                for (int i = 0; i < FIELDS; i++) {
+                    totals[i] += counts[i];
+                }
+            }
+            return new WinEstimate(totals[PLAYOUTS], totals[PLAYER1_WINS], totals[PLAYER2_WINS], totals[DRAWS],
+                    totals[PRISONER_CAPTURES], totals[ELIMINATIONS]);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void count(BatchSimulator simulator, int game, long[] counts) {
+        counts[PLAYOUTS]++;
+        int winner = simulator.getWinner(game);
+        if (winner == SearchState.DRAW) {
+            counts[DRAWS]++;
+            return;
+        }
+        counts[winner == 1 ? PLAYER1_WINS : PLAYER2_WINS]++;
+        counts[simulator.getEnding(game) == BatchSimulator.PRISONER_CAPTURED ? PRISONER_CAPTURES : ELIMINATIONS]++;
+    }
+}
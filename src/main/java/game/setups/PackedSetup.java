@@ -0,0 +1,130 @@
+package game.setups;
+
+import game.records.GameRecord;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Posicionamento inicial compactado em 160 bits: as 40 casas de {@link GameRecord#encodeSetup}, 4 bits por casa,
+ * com a casa 0 no nibble mais significativo de {@code high}. Os bytes gravados por {@link #write} são os mesmos
+ * do posicionamento no {@code GameRecordCodec}.
+ * <p>
+ * Como os lagos são simétricos, um posicionamento e o seu espelho esquerda-direita ({@link #mirror}) jogam da
+ * mesma forma; {@link #canonical} escolhe o menor dos dois, servindo de chave para juntar os equivalentes.
+ * Sendo um record de três números, igualdade e hash custam poucas operações, sem arrays nem strings.
+ */
+public record PackedSetup(long high, long middle, int low) implements Comparable<PackedSetup> {
+    public static final int BYTES = GameRecord.SETUP_CELLS / 2;
+
+    /**
+     * @param codes os 40 códigos de tipo, de 0 a 15.
+     */
+    public static PackedSetup of(byte[] codes) {
+        if (codes.length != GameRecord.SETUP_CELLS) {
+            throw new IllegalArgumentException("Posicionamento deve ter " + GameRecord.SETUP_CELLS + " casas: " + codes.length);
+        }
+        long high = 0, middle = 0;
+        int low = 0;
+        for (int cell = 0; cell < 16; cell++) {
+            high = high << 4 | nibble(codes[cell]);
+        }
+        for (int cell = 16; cell < 32; cell++) {
+            middle = middle << 4 | nibble(codes[cell]);
+        }
+        for (int cell = 32; cell < GameRecord.SETUP_CELLS; cell++) {
+            low = low << 4 | nibble(codes[cell]);
+        }
+        return new PackedSetup(high, middle, low);
+    }
+
+    private static int nibble(byte code) {
+        if (code < 0 || code > 0xF) {
+            throw new IllegalArgumentException("Código de peça inválido: " + code);
+        }
+        return code;
+    }
+
+    /**
+     * Lê os 20 bytes a partir de {@code offset}, sem mudar a posição do buffer.
+     */
+    public static PackedSetup read(ByteBuffer in, int offset) {
+        return new PackedSetup(in.getLong(offset), in.getLong(offset + Long.BYTES), in.getInt(offset + 2 * Long.BYTES));
+    }
+
+    public void write(ByteBuffer out) {
+        out.putLong(high);
+        out.putLong(middle);
+        out.putInt(low);
+    }
+
+    /**
+     * Código de tipo da casa {@code cell}, na ordem de {@link GameRecord#encodeSetup}.
+     */
+    public int code(int cell) {
+        if (cell < 0 || cell >= GameRecord.SETUP_CELLS) {
+            throw new IndexOutOfBoundsException("Casa fora do posicionamento: " + cell);
+        }
+        if (cell < 16) {
+            return (int) (high >>> ((15 - cell) * 4)) & 0xF;
+        } else if (cell < 32) {
+            return (int) (middle >>> ((31 - cell) * 4)) & 0xF;
+        }
+        return low >>> ((39 - cell) * 4) & 0xF;
+    }
+
+    public byte[] toCodes() {
+        byte[] codes = new byte[GameRecord.SETUP_CELLS];
+        for (int cell = 0; cell < codes.length; cell++) {
+            codes[cell] = (byte) code(cell);
+        }
+        return codes;
+    }
+
+    /**
+     * Posicionamento com as colunas de cada fileira invertidas.
+     */
+    public PackedSetup mirror() {
+        byte[] codes = new byte[GameRecord.SETUP_CELLS];
+        for (int cell = 0; cell < codes.length; cell++) {
+            int row = cell / GameRecord.SETUP_COLS;
+            int col = cell % GameRecord.SETUP_COLS;
+            codes[row * GameRecord.SETUP_COLS + GameRecord.SETUP_COLS - 1 - col] = (byte) code(cell);
+        }
+        return of(codes);
+    }
+
+    /**
+     * O menor entre o posicionamento e o seu espelho; posicionamentos equivalentes têm a mesma forma canônica.
+     */
+    public PackedSetup canonical() {
+        PackedSetup mirrored = mirror();
+        return mirrored.compareTo(this) < 0 ? mirrored : this;
+    }
+
+    public boolean isCanonical() {
+        return mirror().compareTo(this) >= 0;
+    }
+
+    /**
+     * Ordem lexicográfica das casas.
+     */
+    @Override
+    public int compareTo(PackedSetup other) {
+        int compare = Long.compareUnsigned(high, other.high);
+        if (compare == 0) {
+            compare = Long.compareUnsigned(middle, other.middle);
+        }
+        if (compare == 0) {
+            compare = Integer.compareUnsigned(low, other.low);
+        }
+        return compare;
+    }
+
+    /**
+     * Os 40 códigos em hexadecimal, uma casa por dígito.
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x%08x", high, middle, low);
+    }
+}
@@ -0,0 +1,38 @@
+package game.setups;
+
+import game.pieces.QuantityPerPiece;
+
+/**
+ * Um problema encontrado pelo {@link SetupValidator}.
+ * <ul>
+ *  <li>{@link Kind#WRONG_SHAPE}: a matriz não é 4x10; {@code actual} é o número de casas encontradas;</li>
+ *  <li>{@link Kind#UNKNOWN_PIECE}: a casa {@code cell} tem código {@code actual} fora de {@link QuantityPerPiece}
+ *      ou uma peça oculta;</li>
+ *  <li>{@link Kind#WRONG_COUNT}: há {@code actual} peças de {@code piece} em vez de {@code expected}.</li>
+ * </ul>
+ * Os campos que não se aplicam valem -1 ou {@code null}.
+ */
+public record SetupError(Kind kind, int cell, QuantityPerPiece piece, int expected, int actual) {
+
+    public enum Kind { WRONG_SHAPE, UNKNOWN_PIECE, WRONG_COUNT }
+
+    public static SetupError wrongShape(int cells) {
+        return new SetupError(Kind.WRONG_SHAPE, -1, null, SetupValidator.CELLS, cells);
+    }
+
+    public static SetupError unknownPiece(int cell, int code) {
+        return new SetupError(Kind.UNKNOWN_PIECE, cell, null, -1, code);
+    }
+
+    public static SetupError wrongCount(QuantityPerPiece piece, int actual) {
+        return new SetupError(Kind.WRONG_COUNT, -1, piece, piece.getQuantity(), actual);
+    }
+
+    public String getMessage() {
+        return switch (kind) {
+            case WRONG_SHAPE -> "Matriz com peças de tamanho incorreto. Esperado 4x10, encontradas " + actual + " casas";
+            case UNKNOWN_PIECE -> "Peça desconhecida na casa " + cell + ": código " + actual;
+            case WRONG_COUNT -> "Esperado " + expected + " peças de " + piece.getCode() + ", mas encontrado " + actual;
+        };
+    }
+}
@@ -0,0 +1,430 @@
+package game.setups;
+
+import game.Game;
+import game.pieces.QuantityPerPiece;
+import game.players.FixedSetupPlayer;
+import game.players.Player;
+import game.records.GameEndReason;
+import game.records.GameRecord;
+import game.records.SetupBookBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Otimizador genético de posicionamentos iniciais. O genoma é o posicionamento 4x10 em códigos de tipo
+ * ({@link GameRecord#encodeSetup}); o cruzamento e a mutação preservam a quantidade de cada peça, então todo
+ * filho continua válido para o {@link SetupValidator}. Filhos equivalentes (mesmo {@link PackedSetup#canonical})
+ * a um indivíduo já presente na geração são sorteados de novo, para não gastar partidas com cópias.
+ * <p>
+ * A aptidão é a taxa de pontos (vitória 1, empate 1/2) em partidas contra um conjunto de adversários, jogadas
+ * em paralelo por um {@link FixedSetupPlayer} com o posicionamento do genoma. Os indivíduos da elite passam
+ * para a geração seguinte com os resultados acumulados e jogam novas partidas, o que reduz o ruído da aptidão.
+ * <p>
+ * Todo o sorteio de uma geração vem de {@code semente + geração}, e as partidas usam sementes derivadas da
+ * mesma forma, de modo que uma execução retomada do checkpoint segue igual à original quando os jogadores são determinísticos.
+ */
+public class SetupOptimizer {
+    public static final int MAGIC = 0x434D4741; // "CMGA"
+    public static final byte VERSION = 2;
+    private static final int MAX_DUPLICATE_RETRIES = 8;
+    private static final byte[] STANDARD_COUNTS = new byte[QuantityPerPiece.values().length + 1];
+
+    static {
+        for (QuantityPerPiece piece : QuantityPerPiece.values()) {
+            STANDARD_COUNTS[piece.ordinal() + 1] = (byte) piece.getQuantity();
+        }
+    }
+
+    private final Supplier<Player> candidateFactory;
+    private final List<Supplier<Player>> opponentFactories;
+    private final List<byte[]> initialSetups = new ArrayList<>();
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int populationSize = 32;
+    private int gamesPerGeneration = 8;
+    private int eliteCount = 4;
+    private int tournamentSize = 3;
+    private double crossoverRate = 0.8;
+    private int maxMutationSwaps = 3;
+    private long seed;
+    private Path checkpoint;
+    private SetupBookBuilder bookBuilder;
+
+    private List<Individual> population = new ArrayList<>();
+    private int generation;
+
+    /**
+     * @param candidateFactory cria o jogador que joga com os posicionamentos avaliados.
+     * @param opponentFactories adversários, usados em rodízio; precisam ter nomes diferentes do candidato.
+     */
+    public SetupOptimizer(Supplier<Player> candidateFactory, List<Supplier<Player>> opponentFactories) {
+        if (opponentFactories.isEmpty()) {
+            throw new IllegalArgumentException("É preciso pelo menos um adversário");
+        }
+        this.candidateFactory = candidateFactory;
+        this.opponentFactories = List.copyOf(opponentFactories);
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setPopulationSize(int populationSize) {
+        this.populationSize = populationSize;
+    }
+
+    /**
+     * Partidas jogadas por indivíduo em cada geração, alternando adversários e lados.
+     */
+    public void setGamesPerGeneration(int gamesPerGeneration) {
+        this.gamesPerGeneration = gamesPerGeneration;
+    }
+
+    public void setEliteCount(int eliteCount) {
+        this.eliteCount = eliteCount;
+    }
+
+    public void setTournamentSize(int tournamentSize) {
+        this.tournamentSize = tournamentSize;
+    }
+
+    public void setCrossoverRate(double crossoverRate) {
+        this.crossoverRate = crossoverRate;
+    }
+
+    /**
+     * Cada filho recebe de 1 a {@code maxMutationSwaps} trocas de peças de tipos diferentes.
+     */
+    public void setMaxMutationSwaps(int maxMutationSwaps) {
+        this.maxMutationSwaps = maxMutationSwaps;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Arquivo gravado ao fim de cada geração; se já existir quando {@link #run} for chamado, a execução continua dele.
+     */
+    public void setCheckpoint(Path checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Registra o resultado de cada partida avaliada, para alimentar um livro de posicionamentos.
+     */
+    public void setBookBuilder(SetupBookBuilder bookBuilder) {
+        this.bookBuilder = bookBuilder;
+    }
+
+    /**
+     * Inclui um posicionamento conhecido na população inicial; os demais indivíduos são sorteados.
+     */
+    public void addInitialSetup(byte[] setup) {
+        List<SetupError> errors = SetupValidator.validate(setup);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Posicionamento inicial inválido: " + errors.get(0).getMessage());
+        }
+        initialSetups.add(setup.clone());
+    }
+
+    /**
+     * Evolui a população até completar {@code generations} gerações, contando as já gravadas no checkpoint.
+     * @return o posicionamento com maior aptidão.
+     */
+    public byte[] run(int generations) throws IOException, InterruptedException {
+        if (eliteCount >= populationSize || tournamentSize < 1 || gamesPerGeneration < 1) {
+            throw new IllegalArgumentException("Configuração inválida: população " + populationSize + ", elite " + eliteCount
+                    + ", torneio " + tournamentSize + ", partidas " + gamesPerGeneration);
+        }
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            load(checkpoint);
+        } else {
+            generation = 0;
+            population = new ArrayList<>();
+            Random random = new Random(seed);
+            for (byte[] setup : initialSetups) {
+                if (population.size() < populationSize) {
+                    population.add(new Individual(setup));
+                }
+            }
+            while (population.size() < populationSize) {
+                population.add(new Individual(randomSetup(random)));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            while (generation < generations) {
+                evaluate(executor);
+                if (generation + 1 < generations) {
+                    population = breed(new Random(seed + generation + 1));
+                }
+                generation++;
+                if (checkpoint != null) {
+                    save(checkpoint);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return getBest();
+    }
+
+    private void evaluate(ExecutorService executor) throws InterruptedException {
+        List<Future<Evaluation>> futures = new ArrayList<>(population.size() * gamesPerGeneration);
+        for (int i = 0; i < population.size(); i++) {
+            byte[] setup = population.get(i).setup;
+            for (int game = 0; game < gamesPerGeneration; game++) {
+                long gameSeed = seed + ((long) generation * populationSize + i) * gamesPerGeneration + game;
+                int opponent = game % opponentFactories.size();
+                boolean candidateFirst = (game / opponentFactories.size()) % 2 == 0;
+                futures.add(executor.submit(() -> play(setup, opponent, candidateFirst, gameSeed)));
+            }
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            Evaluation result;
+            try {
+                result = futures.get(i).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha em partida de avaliação", e.getCause());
+            }
+            Individual individual = population.get(i / gamesPerGeneration);
+            individual.games++;
+            individual.points += result.result() + 1;
+            if (bookBuilder != null) {
+                bookBuilder.add(individual.setup, result.opponent(), result.result());
+            }
+        }
+    }
+
+    private Evaluation play(byte[] setup, int opponentIndex, boolean candidateFirst, long gameSeed) {
+        Player candidate = new FixedSetupPlayer(candidateFactory.get(), setup);
+        Player opponent = opponentFactories.get(opponentIndex).get();
+        if (candidate.getPlayerName().equals(opponent.getPlayerName())) {
+            throw new IllegalArgumentException("Os jogadores precisam ter nomes diferentes: " + candidate.getPlayerName());
+        }
+        Game game = candidateFirst ? new Game(candidate, opponent, gameSeed) : new Game(opponent, candidate, gameSeed);
+        game.setVerbose(false);
+        game.start();
+
+        GameRecord record = game.getRecord();
+        int candidateNumber = candidateFirst ? 1 : 2;
+        int result = record.getWinner() == 0 ? 0 : record.getWinner() == candidateNumber ? 1 : -1;
+        if (record.getEndReason() == GameEndReason.INVALID_SETUP && result >= 0) {
+            throw new IllegalStateException("Adversário com posicionamento inválido: " + opponent.getPlayerName());
+        }
+        return new Evaluation(result, opponent.getPlayerName());
+    }
+
+    private List<Individual> breed(Random random) {
+        List<Individual> ranked = new ArrayList<>(population);
+        ranked.sort(Comparator.comparingDouble(Individual::fitness).reversed());
+        List<Individual> next = new ArrayList<>(populationSize);
+        next.addAll(ranked.subList(0, eliteCount));
+        Set<PackedSetup> present = new HashSet<>();
+        for (Individual elite : next) {
+            present.add(PackedSetup.of(elite.setup).canonical());
+        }
+        while (next.size() < populationSize) {
+            byte[] child = child(random);
+            for (int retry = 0; retry < MAX_DUPLICATE_RETRIES && !present.add(PackedSetup.of(child).canonical()); retry++) {
+                child = child(random);
+            }
+            next.add(new Individual(child));
+        }
+        return next;
+    }
+
+    private byte[] child(Random random) {
+        byte[] parent = tournament(random).setup;
+        byte[] child = random.nextDouble() < crossoverRate ? crossover(parent, tournament(random).setup, random) : parent.clone();
+        mutate(child, 1 + random.nextInt(maxMutationSwaps), random);
+        return child;
+    }
+
+    private Individual tournament(Random random) {
+        Individual best = population.get(random.nextInt(population.size()));
+        for (int i = 1; i < tournamentSize; i++) {
+            Individual other = population.get(random.nextInt(population.size()));
+            if (other.fitness() > best.fitness()) {
+                best = other;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Posicionamento aleatório com as quantidades de {@link QuantityPerPiece}.
+     */
+    public static byte[] randomSetup(Random random) {
+        byte[] setup = new byte[GameRecord.SETUP_CELLS];
+        int index = 0;
+        for (int type = 1; type < STANDARD_COUNTS.length; type++) {
+            for (int i = 0; i < STANDARD_COUNTS[type]; i++) {
+                setup[index++] = (byte) type;
+            }
+        }
+        for (int i = setup.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = setup[i];
+            setup[i] = setup[j];
+            setup[j] = swap;
+        }
+        return setup;
+    }
+
+    /**
+     * Cruzamento de ordem para multiconjuntos: um bloco contínuo de casas vem de {@code first} e as casas restantes
+     * são preenchidas com as peças que faltam, na ordem em que aparecem em {@code second}. O filho tem as mesmas
+     * quantidades de cada peça que os pais.
+     */
+    public static byte[] crossover(byte[] first, byte[] second, Random random) {
+        int length = first.length;
+        int start = random.nextInt(length);
+        int end = start + 1 + random.nextInt(length - 1);
+        byte[] child = new byte[length];
+        byte[] missing = counts(second);
+        for (int i = start; i < end; i++) {
+            int cell = i % length;
+            child[cell] = first[cell];
+            missing[first[cell]]--;
+        }
+
+        int source = 0;
+        for (int i = end; i < start + length; i++) {
+            int cell = i % length;
+            while (missing[second[source]] == 0) {
+                source++;
+            }
+            child[cell] = second[source];
+            missing[second[source]]--;
+            source++;
+        }
+        return child;
+    }
+
+    /**
+     * Troca {@code swaps} pares de casas com peças de tipos diferentes.
+     */
+    public static void mutate(byte[] setup, int swaps, Random random) {
+        for (int swap = 0; swap < swaps; swap++) {
+            int a = random.nextInt(setup.length);
+            int b = random.nextInt(setup.length);
+            while (setup[a] == setup[b]) {
+                b = random.nextInt(setup.length);
+            }
+            byte value = setup[a];
+            setup[a] = setup[b];
+            setup[b] = value;
+        }
+    }
+
+    private static byte[] counts(byte[] setup) {
+        byte[] counts = new byte[STANDARD_COUNTS.length];
+        for (byte type : setup) {
+            counts[type]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Grava geração, semente e população (posicionamento em {@link PackedSetup}, partidas e pontos em meios pontos
+     * de cada indivíduo).
+     */
+    private void save(Path path) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(Integer.BYTES + 1 + Long.BYTES + 2 * Integer.BYTES
+                + population.size() * (PackedSetup.BYTES + 2 * Integer.BYTES));
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.putLong(seed);
+        out.putInt(generation);
+        out.putInt(population.size());
+        for (Individual individual : population) {
+            PackedSetup.of(individual.setup).write(out);
+            out.putInt(individual.games);
+            out.putInt(individual.points);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, out.array());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (in.remaining() < Integer.BYTES + 1 || in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IOException("Checkpoint de otimização inválido: " + path);
+        }
+        seed = in.getLong();
+        generation = in.getInt();
+        int size = in.getInt();
+        population = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Individual individual = new Individual(PackedSetup.read(in, in.position()).toCodes());
+            in.position(in.position() + PackedSetup.BYTES);
+            individual.games = in.getInt();
+            individual.points = in.getInt();
+            population.add(individual);
+        }
+        if (population.size() != populationSize) {
+            throw new IOException("Checkpoint com população de " + size + ", esperado " + populationSize);
+        }
+    }
+
+    /**
+     * Gerações concluídas.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Posicionamento com a maior taxa de pontos na população atual.
+     */
+    public byte[] getBest() {
+        return population.stream().max(Comparator.comparingDouble(Individual::fitness)).orElseThrow().setup.clone();
+    }
+
+    /**
+     * Taxa de pontos, entre 0 e 1, do posicionamento devolvido por {@link #getBest()}.
+     */
+    public double getBestFitness() {
+        return population.stream().mapToDouble(Individual::fitness).max().orElse(0);
+    }
+
+    /**
+     * @param result resultado do candidato: 1, 0 ou -1.
+     */
+    private record Evaluation(int result, String opponent) {
+    }
+
+    private static class Individual {
+        final byte[] setup;
+        int games;
+        /** Pontos em meios pontos: vitória 2, empate 1. */
+        int points;
+
+        Individual(byte[] setup) {
+            this.setup = setup;
+        }
+
+        double fitness() {
+            return games == 0 ? 0 : points / (2.0 * games);
+        }
+    }
+}
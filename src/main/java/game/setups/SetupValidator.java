@@ -0,0 +1,103 @@
+package game.setups;
+
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+import game.pieces.QuantityPerPiece;
+import game.records.GameRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Confere se um posicionamento tem exatamente as quantidades de {@link QuantityPerPiece}, contando as peças
+ * por código de tipo em um {@code int[12]}. Devolve todos os problemas encontrados, em vez de parar no primeiro,
+ * e não escreve nada no console; quem chama decide se e como mostrá-los.
+ */
+public final class SetupValidator {
+    public static final int CELLS = GameRecord.SETUP_CELLS;
+    private static final QuantityPerPiece[] PIECES = QuantityPerPiece.values();
+
+    private SetupValidator() {
+    }
+
+    /**
+     * Valida a matriz 4x10 devolvida por {@code Player.setup}; casas vazias são permitidas, mas faltarão peças.
+     * @return os problemas encontrados, vazia se o posicionamento for válido.
+     */
+    public static List<SetupError> validate(Piece[][] setup) {
+        if (setup == null || setup.length != GameRecord.SETUP_ROWS) {
+            return List.of(SetupError.wrongShape(cells(setup)));
+        }
+        for (Piece[] row : setup) {
+            if (row == null || row.length != GameRecord.SETUP_COLS) {
+                return List.of(SetupError.wrongShape(cells(setup)));
+            }
+        }
+
+        int[] counts = new int[PIECES.length];
+        List<SetupError> errors = new ArrayList<>(0);
+        for (int i = 0; i < GameRecord.SETUP_ROWS; i++) {
+            for (int j = 0; j < GameRecord.SETUP_COLS; j++) {
+                Piece piece = setup[i][j];
+                if (piece instanceof OpponentPiece) {
+                    errors.add(SetupError.unknownPiece(i * GameRecord.SETUP_COLS + j, 0));
+                } else if (piece != null) {
+                    counts[GameRecord.typeCode(piece) - 1]++;
+                }
+            }
+        }
+        checkCounts(counts, errors);
+        return errors;
+    }
+
+    /**
+     * Valida os 40 códigos de tipo de {@link GameRecord#encodeSetup}; o código 0 é uma casa vazia.
+     */
+    public static List<SetupError> validate(byte[] codes) {
+        if (codes.length != CELLS) {
+            return List.of(SetupError.wrongShape(codes.length));
+        }
+        int[] counts = new int[PIECES.length];
+        List<SetupError> errors = new ArrayList<>(0);
+        for (int cell = 0; cell < CELLS; cell++) {
+            int code = codes[cell];
+            if (code > PIECES.length || code < 0) {
+                errors.add(SetupError.unknownPiece(cell, code));
+            } else if (code > 0) {
+                counts[code - 1]++;
+            }
+        }
+        checkCounts(counts, errors);
+        return errors;
+    }
+
+    public static List<SetupError> validate(PackedSetup setup) {
+        return validate(setup.toCodes());
+    }
+
+    public static boolean isValid(Piece[][] setup) {
+        return validate(setup).isEmpty();
+    }
+
+    public static boolean isValid(byte[] codes) {
+        return validate(codes).isEmpty();
+    }
+
+    private static void checkCounts(int[] counts, List<SetupError> errors) {
+        for (int type = 0; type < PIECES.length; type++) {
+            if (counts[type] != PIECES[type].getQuantity()) {
+                errors.add(SetupError.wrongCount(PIECES[type], counts[type]));
+            }
+        }
+    }
+
+    private static int cells(Piece[][] setup) {
+        int cells = 0;
+        if (setup != null) {
+            for (Piece[] row : setup) {
+                cells += row == null ? 0 : row.length;
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,106 @@
+package game.integration;
+
+import game.Board;
+import game.BoardChange;
+import game.Game;
+import game.feedbacks.Feedback;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.pieces.PieceFactory;
+import game.pieces.QuantityPerPiece;
+import game.players.SimplePlayer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardDeltaTest {
+
+    private static Map<UUID, Integer> positions(Board board) {
+        Map<UUID, Integer> positions = new HashMap<>();
+        for (int x = 0; x < 10; x++) {
+            for (int y = 0; y < 10; y++) {
+                Piece piece = board.getPiece(x, y);
+                if (piece != null) {
+                    positions.put(piece.getId(), x * 10 + y);
+                }
+            }
+        }
+        return positions;
+    }
+
+    @SneakyThrows
+    @Test
+    public void deltasReproduceHiddenView() {
+        int[] mismatches = new int[1];
+        int[] deltas = new int[1];
+        Game game = new Game(new TrackingPlayer("player1", mismatches, deltas),
+                new TrackingPlayer("player2", mismatches, deltas), 11);
+        game.setVerbose(false);
+
+        assertTrue(game.begin());
+        for (int halfMove = 0; halfMove < 200 && game.playHalfMove(); halfMove++) {
+            // joga no máximo 100 rodadas
+        }
+
+        assertTrue(deltas[0] > 0);
+        assertEquals(0, mismatches[0]);
+    }
+
+    private static class TrackingPlayer extends SimplePlayer {
+        private final int[] mismatches;
+        private final int[] deltas;
+        private Map<UUID, Integer> tracked;
+
+        TrackingPlayer(String name, int[] mismatches, int[] deltas) {
+            super(name);
+            this.mismatches = mismatches;
+            this.deltas = deltas;
+        }
+
+        /**
+         * Posicionamento fixo, para a partida não depender do embaralhamento do {@link SimplePlayer}.
+         */
+        @Override
+        public Piece[][] setup(Board board) {
+            Piece[][] result = new Piece[4][10];
+            int index = 0;
+            for (QuantityPerPiece piece : QuantityPerPiece.values()) {
+                for (int i = 0; i < piece.getQuantity(); i++, index++) {
+                    result[index / 10][index % 10] = PieceFactory.createPiece(piece.getCode(), getPlayerName(), board);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void onBoardDelta(List<BoardChange> changes) {
+            if (tracked == null) {
+                return;
+            }
+            for (BoardChange change : changes) {
+                deltas[0]++;
+                switch (change.kind()) {
+                    case MOVE -> tracked.put(change.pieceId(), change.toX() * 10 + change.toY());
+                    case REMOVE -> tracked.remove(change.pieceId());
+                    case REVEAL -> assertNotNull(change.code());
+                }
+            }
+        }
+
+        @Override
+        public PieceAction play(Board board, Feedback myLastFeedback, Feedback enemyLastFeedback) {
+            Map<UUID, Integer> actual = positions(board);
+            if (tracked != null && !tracked.equals(actual)) {
+                mismatches[0]++;
+            }
+            tracked = actual;
+            return super.play(board, myLastFeedback, enemyLastFeedback);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package game.integration;
+
+import game.Game;
+import game.feedbacks.InvalidMoveFeedback;
+import game.players.ExpectimaxPlayer;
+import game.players.RaiAraujoPlayer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpectimaxPlayerTest {
+
+    @SneakyThrows
+    @Test
+    public void searchOnlyPlaysValidMoves() {
+        ExpectimaxPlayer expectimax = new ExpectimaxPlayer("Expectimax", 3, 6, 7);
+        Game game = new Game(new RaiAraujoPlayer(), expectimax, 7);
+        game.setVerbose(false);
+        int[] invalidMoves = new int[1];
+        game.setListener((player, hiddenView, action, feedback) -> {
+            if (player == 2 && feedback instanceof InvalidMoveFeedback) {
+                invalidMoves[0]++;
+            }
+        });
+
+        assertTrue(game.begin());
+        for (int halfMove = 0; halfMove < 300 && game.playHalfMove(); halfMove++) {
+            // joga no máximo 150 rodadas
+        }
+
+        assertEquals(0, invalidMoves[0]);
+        assertTrue(expectimax.getLastDepth() >= 1);
+        assertFalse(expectimax.getLastPrincipalVariation().isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package game.integration;
+
+import game.Board;
+import game.BoardChange;
+import game.Game;
+import game.GameCheckpoint;
+import game.feedbacks.Feedback;
+import game.pieces.PieceAction;
+import game.players.SimplePlayer;
+import game.records.GameRecord;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameCheckpointTest {
+
+    private static class CountingPlayer extends SimplePlayer {
+        private int turns;
+        private UUID[] seenIds;
+        private final List<List<BoardChange>> deltas = new ArrayList<>();
+
+        CountingPlayer(String playerName) {
+            super(playerName);
+        }
+
+        @Override
+        public PieceAction play(Board board, Feedback myLastFeedback, Feedback enemyLastFeedback) {
+            turns++;
+            seenIds = board.getPieceIds();
+            return super.play(board, myLastFeedback, enemyLastFeedback);
+        }
+
+        @Override
+        public void onBoardDelta(List<BoardChange> changes) {
+            deltas.add(changes);
+        }
+
+        @Override
+        public byte[] saveState() {
+            return new byte[] { (byte) turns };
+        }
+
+        @Override
+        public void restoreState(byte[] state) {
+            turns = state[0];
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void resumeGameFromCheckpoint() {
+        CountingPlayer player1 = new CountingPlayer("Player1");
+        CountingPlayer player2 = new CountingPlayer("Player2");
+        Game original = new Game(player1, player2, 5L);
+        assertTrue(original.begin());
+        for (int i = 0; i < 15; i++) {
+            assertTrue(original.playHalfMove());
+        }
+
+        byte[] checkpoint = original.checkpoint().toBytes();
+        CountingPlayer resumedPlayer1 = new CountingPlayer("Player1");
+        CountingPlayer resumedPlayer2 = new CountingPlayer("Player2");
+        Game resumed = Game.resume(resumedPlayer1, resumedPlayer2, GameCheckpoint.fromBytes(checkpoint));
+
+        assertEquals(player1.turns, resumedPlayer1.turns);
+        assertEquals(player2.turns, resumedPlayer2.turns);
+        for (int i = 0; i < 15; i++) {
+            assertEquals(original.playHalfMove(), resumed.playHalfMove());
+        }
+        // Os identificadores vistos pelos jogadores continuam os mesmos depois de retomar
+        assertArrayEquals(player1.seenIds, resumedPlayer1.seenIds);
+        assertArrayEquals(player2.seenIds, resumedPlayer2.seenIds);
+
+        GameRecord expected = original.getRecord();
+        GameRecord actual = resumed.getRecord();
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        for (int i = 0; i < expected.getMoveCount(); i++) {
+            assertEquals(expected.getMove(i), actual.getMove(i));
+        }
+        assertArrayEquals(expected.getPlayer1Setup(), actual.getPlayer1Setup());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.isPlayer1Starts(), actual.isPlayer1Starts());
+    }
+
+    @SneakyThrows
+    @Test
+    public void resumeDeliversPendingBoardChanges() {
+        CountingPlayer player1 = new CountingPlayer("Player1");
+        CountingPlayer player2 = new CountingPlayer("Player2");
+        Game original = new Game(player1, player2, 5L);
+        original.setVerbose(false);
+        assertTrue(original.begin());
+
+        // Retoma em cada uma das primeiras meias-jogadas e compara a primeira entrega com a da partida sem interrupção
+        int nonEmpty = 0;
+        for (int halfMove = 0; halfMove < 8; halfMove++) {
+            GameCheckpoint checkpoint = original.checkpoint();
+            CountingPlayer resumedPlayer1 = new CountingPlayer("Player1");
+            CountingPlayer resumedPlayer2 = new CountingPlayer("Player2");
+            Game resumed = Game.resume(resumedPlayer1, resumedPlayer2, checkpoint);
+            resumed.setVerbose(false);
+
+            int player1Deltas = player1.deltas.size();
+            int player2Deltas = player2.deltas.size();
+            assertEquals(original.playHalfMove(), resumed.playHalfMove());
+            List<BoardChange> expected = player1.deltas.size() > player1Deltas
+                    ? player1.deltas.get(player1Deltas) : player2.deltas.get(player2Deltas);
+            List<BoardChange> actual = resumedPlayer1.deltas.isEmpty() ? resumedPlayer2.deltas.get(0) : resumedPlayer1.deltas.get(0);
+            assertEquals(expected, actual, "meia-jogada " + halfMove);
+            nonEmpty += expected.isEmpty() ? 0 : 1;
+        }
+        assertTrue(nonEmpty > 0);
+    }
+
+    @SneakyThrows
+    @Test
+    public void resumeWithDifferentPlayersFails() {
+        Game original = new Game(new SimplePlayer("Player1"), new SimplePlayer("Player2"), 5L);
+        original.begin();
+        GameCheckpoint checkpoint = original.checkpoint();
+
+        assertThrows(IllegalArgumentException.class, () -> Game.resume(new SimplePlayer("Outro"), new SimplePlayer("Player2"), checkpoint));
+    }
+}
@@ -0,0 +1,119 @@
+package game.integration;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.feedbacks.Feedback;
+import game.feedbacks.PrisonerFeedback;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.players.SimplePlayer;
+import game.records.GameRecord;
+import game.records.GameReplay;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameReplayTest {
+
+    private final List<BoardSnapshot> positions = new ArrayList<>();
+
+    private GameRecord playRandomGame(long seed, int maxMoves) {
+        Random random = new Random(seed);
+        Board board = new Board();
+        SimplePlayer player1 = new SimplePlayer("player1");
+        SimplePlayer player2 = new SimplePlayer("player2");
+        board.player1 = player1;
+        board.player2 = player2;
+        Piece[][] setup1 = player1.setup(board);
+        Piece[][] setup2 = player2.setup(board);
+        board.addPlayerSetup(setup1, 1);
+        board.addPlayerSetup(setup2, 2);
+
+        GameRecord record = new GameRecord("player1", "player2", seed, setup1, setup2);
+        record.setPlayer1Starts(true);
+        positions.clear();
+        positions.add(board.snapshot());
+
+        for (int move = 0; move < maxMoves && board.isGameFinished() == null; move++) {
+            String player = move % 2 == 0 ? "player1" : "player2";
+            Board hiddenView = board.getHiddenView(player);
+            List<PieceAction> actions = new ArrayList<>();
+            for (int x = 0; x < Board.ROWS; x++) {
+                for (int y = 0; y < Board.COLS; y++) {
+                    Piece piece = hiddenView.getPiece(x, y);
+                    if (piece != null && player.equals(piece.getPlayer())) {
+                        actions.add(new PieceAction(piece, x + random.nextInt(3) - 1, y + random.nextInt(3) - 1));
+                    }
+                }
+            }
+            PieceAction action = actions.get(random.nextInt(actions.size()));
+            Feedback feedback = board.executeAction(action);
+            record.addMove(action, feedback);
+            positions.add(board.snapshot());
+            if (feedback instanceof PrisonerFeedback) {
+                break;
+            }
+        }
+        return record;
+    }
+
+    private void assertSamePosition(BoardSnapshot expected, BoardSnapshot actual) {
+        for (int cell = 0; cell < Board.ROWS * Board.COLS; cell++) {
+            assertEquals(expected.getCell(cell), actual.getCell(cell));
+        }
+        assertEquals(expected.getNumberMoves(), actual.getNumberMoves());
+        assertArrayEquals(expected.getLastPiecesPlayed(1), actual.getLastPiecesPlayed(1));
+        assertArrayEquals(expected.getLastPiecesPlayed(2), actual.getLastPiecesPlayed(2));
+    }
+
+    @SneakyThrows
+    @Test
+    public void reconstructPositionsFromKeyframes() {
+        GameRecord record = playRandomGame(7L, 600);
+        GameReplay replay = new GameReplay(record, 16);
+
+        for (int move = 0; move <= record.getMoveCount(); move += 7) {
+            assertSamePosition(positions.get(move), replay.positionAt(move).snapshot());
+        }
+
+        GameReplay stored = GameReplay.withKeyframes(record, replay.encodeKeyframes());
+        int last = record.getMoveCount();
+        assertSamePosition(positions.get(last), stored.positionAt(last).snapshot());
+
+        // Cabeçalho corrompido: intervalo zero, negativo ou mais retratos do que o buffer contém
+        for (int interval : new int[] {0, -16}) {
+            ByteBuffer corrupt = replay.encodeKeyframes();
+            corrupt.putInt(0, interval);
+            assertThrows(IllegalArgumentException.class, () -> GameReplay.withKeyframes(record, corrupt));
+        }
+        ByteBuffer truncated = replay.encodeKeyframes();
+        truncated.limit(truncated.limit() - 1);
+        assertThrows(IllegalArgumentException.class, () -> GameReplay.withKeyframes(record, truncated));
+    }
+
+    @SneakyThrows
+    @Test
+    public void stepForwardAndBackward() {
+        GameRecord record = playRandomGame(11L, 300);
+        GameReplay.Cursor cursor = new GameReplay(record, 32).cursor();
+
+        while (cursor.hasNext()) {
+            cursor.next();
+            assertSamePosition(positions.get(cursor.getHalfMove()), cursor.getBoard().snapshot());
+        }
+        while (cursor.hasPrevious()) {
+            cursor.previous();
+            assertSamePosition(positions.get(cursor.getHalfMove()), cursor.getBoard().snapshot());
+        }
+
+        cursor.seek(record.getMoveCount() / 2);
+        cursor.previous();
+        assertSamePosition(positions.get(record.getMoveCount() / 2 - 1), cursor.getBoard().snapshot());
+    }
+}
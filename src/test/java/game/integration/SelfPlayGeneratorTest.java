@@ -0,0 +1,103 @@
+package game.integration;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.dataset.FeaturePlanes;
+import game.dataset.RevealedPieces;
+import game.dataset.SelfPlayGenerator;
+import game.dataset.ShardWriter;
+import game.players.SimplePlayer;
+import game.records.MoveEntry;
+import game.records.MoveOutcome;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelfPlayGeneratorTest {
+
+    @SneakyThrows
+    @Test
+    public void generatedShardsMatchManifest() {
+        Path directory = Files.createTempDirectory("selfplay");
+        SelfPlayGenerator generator = new SelfPlayGenerator(() -> new SimplePlayer("player1"), () -> new SimplePlayer("player2"));
+        generator.setThreads(2);
+        generator.setSamplesPerShard(500);
+        generator.setSeed(32);
+        long samples = generator.generate(3, directory);
+        assertTrue(samples > 0);
+
+        List<String> manifest = Files.readAllLines(directory.resolve(ShardWriter.MANIFEST));
+        assertTrue(manifest.contains("samples " + samples));
+        assertTrue(manifest.contains("sample_bytes " + ShardWriter.SAMPLE_BYTES));
+        long listed = 0;
+        for (String line : manifest) {
+            if (line.startsWith("shard ")) {
+                String[] fields = line.split(" ");
+                int shardSamples = Integer.parseInt(fields[2]);
+                try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve(fields[1])))) {
+                    assertEquals((long) shardSamples * ShardWriter.SAMPLE_BYTES, in.readAllBytes().length);
+                }
+                listed += shardSamples;
+            }
+        }
+        assertEquals(samples, listed);
+
+        // A primeira amostra de cada partida é a posição inicial, vista de baixo pelo jogador da vez
+        byte[] planes = new byte[FeaturePlanes.PACKED_BYTES];
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(directory.resolve("shard-00000.bin.gz"))))) {
+            in.readFully(planes);
+            assertEquals(0, in.readShort());
+        }
+        int own = 0;
+        int unknown = 0;
+        for (int cell = 0; cell < FeaturePlanes.CELLS; cell++) {
+            for (int type = 0; type < FeaturePlanes.TYPES; type++) {
+                if (FeaturePlanes.get(planes, FeaturePlanes.OWN_TYPES + type, cell)) {
+                    assertTrue(cell >= 60, "peça própria na casa " + cell);
+                    own++;
+                }
+            }
+            unknown += FeaturePlanes.get(planes, FeaturePlanes.UNKNOWN_ENEMY, cell) ? 1 : 0;
+            assertEquals(Board.isLake(cell / Board.COLS, cell % Board.COLS), FeaturePlanes.get(planes, FeaturePlanes.LAKES, cell));
+        }
+        assertEquals(40, own);
+        assertEquals(40, unknown);
+    }
+
+    @SneakyThrows
+    @Test
+    public void revealedPiecesFollowCombats() {
+        RevealedPieces revealed = new RevealedPieces();
+        // Ataque do Player2 de 33 para 23: o atacante (tipo 7) vence e fica revelado no destino
+        revealed.update(2, MoveEntry.encode(33, 23, MoveOutcome.ATTACK, 7, 4));
+        assertEquals(7 | BoardSnapshot.PLAYER2_BIT, revealed.get(23));
+        assertEquals(0, revealed.get(33));
+        // Movimento curto mantém a revelação, empate limpa as duas casas
+        revealed.update(2, MoveEntry.encode(23, 24, MoveOutcome.MOVE, 0, 0));
+        assertEquals(7 | BoardSnapshot.PLAYER2_BIT, revealed.get(24));
+        revealed.update(1, MoveEntry.encode(14, 24, MoveOutcome.EQUAL_STRENGTH, 7, 7));
+        assertEquals(0, revealed.get(24));
+        assertEquals(99, FeaturePlanes.canonicalCell(0, 1));
+        assertEquals(0, FeaturePlanes.canonicalCell(0, 2));
+    }
+
+    @SneakyThrows
+    @Test
+    public void agentErrorFailsGenerationInsteadOfHanging() {
+        Path directory = Files.createTempDirectory("selfplay");
+        SelfPlayGenerator generator = new SelfPlayGenerator(() -> {
+            throw new StackOverflowError();
+        }, () -> new SimplePlayer("player2"));
+        generator.setThreads(2);
+        assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(StackOverflowError.class, () -> generator.generate(2, directory)));
+    }
+}
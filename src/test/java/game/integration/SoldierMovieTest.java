@@ -362,4 +362,27 @@ public class SoldierMovieTest {
         assertNotNull(board.getPiece(3, 7));
         assertNotNull(board.getPiece(3, 9));
     }
+
+    @SneakyThrows
+    @Test
+    public void soldierCannotSlideOverLakeOrOffBoard() {
+        Board board = new Board();
+        SimplePlayer player1 = new SimplePlayer("player1");
+        SimplePlayer player2 = new SimplePlayer("player2");
+        board.player1 = player1;
+        board.player2 = player2;
+
+        Soldier s = new Soldier("player1", board);
+        board.setPiece(3, 2, s);
+
+        assertFalse(s.canMove(6, 2));
+        assertFalse(s.canMove(3, 10));
+        assertTrue(s.canMove(3, 9));
+        assertTrue(s.canMove(0, 2));
+
+        Feedback roundFeedback = board.executeAction(new PieceAction(s, 6, 2));
+        assertInstanceOf(InvalidMoveFeedback.class, roundFeedback);
+        assertEquals(s, board.getPiece(3, 2));
+        assertNull(board.getPiece(6, 2));
+    }
 }
@@ -0,0 +1,98 @@
+package game.unit;
+
+import game.AttackMaps;
+import game.Board;
+import game.pieces.LandMine;
+import game.pieces.Major;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.pieces.Soldier;
+import game.players.SimplePlayer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttackMapsTest {
+
+    private static Board newBoard() {
+        Board board = new Board();
+        board.player1 = new SimplePlayer("player1");
+        board.player2 = new SimplePlayer("player2");
+        return board;
+    }
+
+    @SneakyThrows
+    @Test
+    public void soldierSlidesStopAtPiecesAndLakes() {
+        Board board = newBoard();
+        board.setPiece(3, 2, new Soldier("player1", board));
+        board.setPiece(3, 0, new LandMine("player1", board));
+        board.setPiece(0, 2, new Major("player2", board));
+
+        AttackMaps maps = board.getAttackMaps();
+        // Lago em E3 logo abaixo; a Mina em D1 para o deslizamento e não ameaça nada
+        assertFalse(maps.isAttacked(1, 42));
+        assertTrue(maps.isAttacked(1, 31));
+        assertFalse(maps.isAttacked(1, 30));
+        assertTrue(maps.isAttacked(1, 39));
+        // Para cima até a peça em A3, que não pode ser atacada de longe
+        assertTrue(maps.isAttacked(1, 12));
+        assertFalse(maps.isAttacked(1, 2));
+        assertEquals(2, maps.getPieceCount(1));
+        assertEquals(3 + 6 + 1, maps.getAttackedCellCount(1));
+
+        // Abrir a linha do Soldado: o Major sai e a casa passa a ser alcançável
+        board.setPiece(0, 2, null);
+        assertTrue(maps.isAttacked(1, 2));
+        assertEquals(0, maps.getPieceCount(2));
+        assertEquals(0, maps.getAttackedCellCount(2));
+    }
+
+    @SneakyThrows
+    @Test
+    public void incrementalMapsMatchRebuiltMapsDuringRandomPlay() {
+        Random random = new Random(47);
+        Board board = newBoard();
+        board.addPlayerSetup(board.player1.setup(board), 1);
+        board.addPlayerSetup(board.player2.setup(board), 2);
+
+        for (int move = 0; move < 400 && board.isGameFinished() == null; move++) {
+            String player = move % 2 == 0 ? "player1" : "player2";
+            Piece piece = null;
+            while (piece == null) {
+                Piece candidate = board.getPiece(random.nextInt(Board.ROWS), random.nextInt(Board.COLS));
+                piece = candidate != null && player.equals(candidate.getPlayer()) ? candidate : null;
+            }
+            int dir = random.nextInt(4);
+            int steps = 1 + random.nextInt(piece instanceof Soldier ? 4 : 1);
+            int x = piece.getPosX() + (dir == 0 ? steps : dir == 1 ? -steps : 0);
+            int y = piece.getPosY() + (dir == 2 ? steps : dir == 3 ? -steps : 0);
+            if (Board.isValidPosition(x, y)) {
+                board.executeAction(new PieceAction(piece, x, y));
+            }
+
+            Board rebuilt = newBoard();
+            rebuilt.restore(board.snapshot());
+            assertSameMaps(rebuilt.getAttackMaps(), board.getAttackMaps());
+            Board view = board.getHiddenView(player);
+            AttackMaps hidden = view.getAttackMaps();
+            int enemy = 3 - board.getSide(player);
+            assertEquals(board.getAttackMaps().getPieces(enemy), hidden.getPieces(AttackMaps.HIDDEN));
+            assertEquals(0, hidden.getPieceCount(enemy));
+        }
+    }
+
+    private static void assertSameMaps(AttackMaps expected, AttackMaps actual) {
+        for (int side = 1; side <= 2; side++) {
+            assertEquals(expected.getPieces(side), actual.getPieces(side));
+            assertEquals(expected.getAttacks(side), actual.getAttacks(side));
+            assertEquals(expected.getAttackedCellCount(side), actual.getAttackedCellCount(side));
+            for (int cell = 0; cell < Board.ROWS * Board.COLS; cell++) {
+                assertEquals(expected.getAttackCount(side, cell), actual.getAttackCount(side, cell), "casa " + cell);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package game.unit;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.players.SimplePlayer;
+import game.search.BatchSimulator;
+import game.search.SearchState;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchSimulatorTest {
+
+    static SearchState randomStart() {
+        Board board = new Board();
+        board.player1 = new SimplePlayer("player1");
+        board.player2 = new SimplePlayer("player2");
+        board.addPlayerSetup(board.player1.setup(board), 1);
+        board.addPlayerSetup(board.player2.setup(board), 2);
+        BoardSnapshot snapshot = board.snapshot();
+        SearchState state = new SearchState();
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            state.setCell(cell, snapshot.getCell(cell));
+        }
+        state.reset(1, 0, new int[] {-1, -1, -1}, new int[3]);
+        return state;
+    }
+
+    @SneakyThrows
+    @Test
+    public void batchFollowsSearchStateRules() {
+        int games = 16;
+        BatchSimulator batch = new BatchSimulator(games, 49);
+        SearchState[] replays = new SearchState[games];
+        for (int game = 0; game < games; game++) {
+            replays[game] = randomStart();
+            batch.load(game, replays[game]);
+        }
+
+        int[] moves = new int[SearchState.MAX_MOVES];
+        SearchState stored = new SearchState();
+        int ongoing = games;
+        while (ongoing > 0) {
+            ongoing = batch.step();
+            for (int game = 0; game < games; game++) {
+                SearchState replay = replays[game];
+                if (replay.isTerminal()) {
+                    continue;
+                }
+                int move = batch.getLastMove(game);
+                int count = replay.generateMoves(moves);
+                boolean legal = move == SearchState.PASS && count == 0;
+                for (int i = 0; i < count && !legal; i++) {
+                    legal = moves[i] == move;
+                }
+                assertTrue(legal, "jogada " + move + " na partida " + game);
+
+                replay.play(move);
+                assertEquals(replay.getWinner(), batch.getWinner(game));
+                assertEquals(replay.getNumberMoves(), batch.getNumberMoves(game));
+                if (!replay.isTerminal()) {
+                    batch.store(game, stored);
+                    assertEquals(replay.getSideToMove(), stored.getSideToMove());
+                    for (int player = 1; player <= 2; player++) {
+                        assertEquals(replay.getLastPieceCell(player), stored.getLastPieceCell(player));
+                        assertEquals(replay.getConsecutiveMoves(player), stored.getConsecutiveMoves(player));
+                    }
+                    for (int cell = 0; cell < SearchState.CELLS; cell++) {
+                        assertEquals(replay.getCell(cell), stored.getCell(cell));
+                    }
+                }
+            }
+        }
+        for (int game = 0; game < games; game++) {
+            assertNotEquals(SearchState.ONGOING, batch.getWinner(game));
+        }
+        assertTrue(batch.getHalfMoves() > games);
+    }
+}
@@ -0,0 +1,91 @@
+package game.unit;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.feedbacks.AttackFeedback;
+import game.feedbacks.MoveFeedback;
+import game.pieces.General;
+import game.pieces.Piece;
+import game.players.SimplePlayer;
+import game.search.BeliefTracker;
+import game.search.SearchState;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeliefTrackerTest {
+
+    private static void assertConsistent(BeliefTracker tracker) {
+        double[] typeSums = new double[SearchState.TYPES + 1];
+        for (int cell = 0; cell < SearchState.CELLS; cell++) {
+            if (!tracker.isOccupied(cell) || tracker.getKnownType(cell) != 0) {
+                continue;
+            }
+            double rowSum = 0;
+            for (int type = 1; type <= SearchState.TYPES; type++) {
+                rowSum += tracker.getProbability(cell, type);
+                typeSums[type] += tracker.getProbability(cell, type);
+            }
+            assertEquals(1, rowSum, 1e-9);
+        }
+        for (int type = 1; type <= SearchState.TYPES; type++) {
+            assertEquals(tracker.getUnidentified(type), typeSums[type], 0.05);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void updatesFollowFeedbacks() {
+        Board board = new Board();
+        SimplePlayer player1 = new SimplePlayer("player1");
+        SimplePlayer player2 = new SimplePlayer("player2");
+        board.player1 = player1;
+        board.player2 = player2;
+        board.addPlayerSetup(player1.setup(board), 1);
+        board.addPlayerSetup(player2.setup(board), 2);
+
+        BeliefTracker tracker = new BeliefTracker();
+        tracker.reset(board.getHiddenView("player1"));
+        assertEquals(6 / 40.0, tracker.getProbability(70, SearchState.LAND_MINE), 1e-9);
+        assertConsistent(tracker);
+
+        // Peça do player2 avança: não pode ser mina nem prisioneiro
+        Piece moving = null;
+        for (int y = 0; y < 10 && moving == null; y++) {
+            Piece piece = board.getPiece(6, y);
+            if (Board.isValidPosition(5, y) && SearchState.isMovable(BoardSnapshot.typeCode(piece))) {
+                moving = piece;
+            }
+        }
+        assertNotNull(moving);
+        int y = moving.getPosY();
+        board.setPiece(6, y, null);
+        board.setPiece(5, y, moving);
+        tracker.onEnemyMove(new MoveFeedback(moving, 6, y), board.getHiddenView("player1"));
+
+        int movedCell = 50 + y;
+        assertEquals(0, tracker.getProbability(movedCell, SearchState.LAND_MINE));
+        assertEquals(0, tracker.getProbability(movedCell, SearchState.PRISONER));
+        assertTrue(tracker.getProbability(60 + (y + 1) % 10, SearchState.LAND_MINE) > 6 / 40.0);
+        assertConsistent(tracker);
+
+        // O General do player1 elimina a peça que avançou, revelando o tipo dela
+        General general = new General("player1", board);
+        board.setPiece(4, y, general);
+        Piece defender = board.getPiece(5, y);
+        board.setPiece(5, y, general);
+        tracker.onOwnMove(40 + y, movedCell, new AttackFeedback(general, defender, 4, y, 5, y));
+        tracker.onEnemyMove(null, board.getHiddenView("player1"));
+
+        int type = BoardSnapshot.typeCode(defender);
+        assertEquals(1, tracker.getCaptured(type));
+        assertFalse(tracker.isOccupied(movedCell));
+        assertConsistent(tracker);
+        if (type == SearchState.GENERAL || type == SearchState.COLONEL) {
+            assertEquals(0, tracker.getProbability(70, type), 1e-9);
+        }
+        assertEquals(1, tracker.winProbability(SearchState.GENERAL, 70) + tracker.getProbability(70, SearchState.GENERAL)
+                + tracker.getProbability(70, SearchState.LAND_MINE), 1e-9);
+    }
+}
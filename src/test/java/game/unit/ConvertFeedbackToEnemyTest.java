@@ -0,0 +1,65 @@
+package game.unit;
+
+import game.Board;
+import game.feedbacks.*;
+import game.pieces.OpponentPiece;
+import game.pieces.Sargent;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConvertFeedbackToEnemyTest {
+
+    @SneakyThrows
+    @Test
+    public void moveFeedbackHidesPieceType() {
+        Board board = new Board();
+        Sargent sg = new Sargent("player1", board);
+        board.setPiece(3, 2, sg);
+
+        Feedback feedback = sg.move(2, 2, board);
+        Feedback enemyFeedback = ConvertFeedbackToEnemy.convert(feedback);
+
+        assertInstanceOf(MoveFeedback.class, enemyFeedback);
+        // A conversão não cria a peça mascarada; ela só aparece quando é lida
+        Field masked = EnemyMoveFeedback.class.getDeclaredField("masked");
+        masked.setAccessible(true);
+        assertNull(masked.get(enemyFeedback));
+        assertEquals("OP de player1 foi movido de [D, 3] para [C, 3]", enemyFeedback.getMessage());
+        assertNull(masked.get(enemyFeedback));
+        assertInstanceOf(OpponentPiece.class, enemyFeedback.getPiece());
+        assertEquals("OP de player1 foi movido de [D, 3] para [C, 3]", enemyFeedback.getMessage());
+        assertEquals(3, ((MoveFeedback) enemyFeedback).fromX);
+        assertEquals(2, ((MoveFeedback) enemyFeedback).toX);
+        assertEquals("SG de player1 foi movido de [D, 3] para [C, 3]", feedback.getMessage());
+
+        // A visão não acompanha a peça original depois da conversão
+        assertSame(enemyFeedback.getPiece(), enemyFeedback.getPiece());
+        sg.move(1, 2, board);
+        assertEquals(2, enemyFeedback.getPiece().getPosX());
+        assertEquals(sg.getId(), enemyFeedback.getPiece().getId());
+    }
+
+    @SneakyThrows
+    @Test
+    public void invalidMoveFeedbackHidesCoordinates() {
+        Feedback feedback = new InvalidMoveFeedback(3, 2, 5, 2);
+        Feedback enemyFeedback = ConvertFeedbackToEnemy.convert(feedback);
+
+        assertInstanceOf(InvalidMoveFeedback.class, enemyFeedback);
+        assertEquals(feedback.getMessage(), enemyFeedback.getMessage());
+        assertEquals(0, ((InvalidMoveFeedback) enemyFeedback).posX);
+    }
+
+    @SneakyThrows
+    @Test
+    public void publicFeedbacksAreNotCopied() {
+        Feedback feedback = new MaxNumberOfMovesFeedback();
+
+        assertSame(feedback, ConvertFeedbackToEnemy.convert(feedback));
+        assertNull(ConvertFeedbackToEnemy.convert(null));
+    }
+}
@@ -0,0 +1,85 @@
+package game.unit;
+
+import game.Board;
+import game.BoardSnapshot;
+import game.feedbacks.MoveFeedback;
+import game.pieces.Piece;
+import game.players.SimplePlayer;
+import game.search.DeterminizationSampler;
+import game.search.EnemyEvidence;
+import game.search.InformationSet;
+import game.search.SearchState;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeterminizationSamplerTest {
+
+    @SneakyThrows
+    @Test
+    public void samplesRespectCountsAndEvidence() {
+        Board board = new Board();
+        SimplePlayer player1 = new SimplePlayer("player1");
+        SimplePlayer player2 = new SimplePlayer("player2");
+        board.player1 = player1;
+        board.player2 = player2;
+        board.addPlayerSetup(player1.setup(board), 1);
+        board.addPlayerSetup(player2.setup(board), 2);
+
+        EnemyEvidence evidence = new EnemyEvidence();
+        evidence.reset(board.getHiddenView("player1"));
+
+        // Uma peça móvel do player2 avança para a linha F
+        Piece moving = null;
+        for (int y = 0; y < 10 && moving == null; y++) {
+            Piece piece = board.getPiece(6, y);
+            if (Board.isValidPosition(5, y) && SearchState.isMovable(BoardSnapshot.typeCode(piece))) {
+                moving = piece;
+            }
+        }
+        assertNotNull(moving);
+        int fromY = moving.getPosY();
+        board.setPiece(6, fromY, null);
+        board.setPiece(5, fromY, moving);
+        evidence.onEnemyMove(new MoveFeedback(moving, 6, fromY), board.getHiddenView("player1"));
+
+        InformationSet info = InformationSet.of(board.getHiddenView("player1"), 1, evidence, -1, 0);
+        assertEquals(40, info.getHiddenCount());
+        assertEquals(1, info.getMovedHiddenCount());
+        assertEquals(5 * 10 + fromY, info.getHiddenCell(0));
+
+        DeterminizationSampler sampler = new DeterminizationSampler(42);
+        byte[] sample = new byte[SearchState.CELLS];
+        for (int round = 0; round < 1000; round++) {
+            sampler.sample(info, sample);
+            int[] counts = new int[SearchState.TYPES + 1];
+            for (int cell = 0; cell < SearchState.CELLS; cell++) {
+                Piece piece = board.getPiece(cell / 10, cell % 10);
+                if (piece == null) {
+                    assertEquals(0, sample[cell]);
+                } else if (piece.getPlayer().equals("player1")) {
+                    assertEquals(BoardSnapshot.typeCode(piece), sample[cell]);
+                } else {
+                    assertEquals(BoardSnapshot.PLAYER2_BIT, sample[cell] & BoardSnapshot.PLAYER2_BIT);
+                    counts[sample[cell] & BoardSnapshot.TYPE_MASK]++;
+                }
+            }
+            for (int type = 1; type <= SearchState.TYPES; type++) {
+                assertEquals(evidence.getUnidentified(type), counts[type]);
+            }
+            assertTrue(SearchState.isMovable(sample[info.getHiddenCell(0)] & BoardSnapshot.TYPE_MASK));
+        }
+
+        byte[] first = new byte[SearchState.CELLS];
+        byte[] second = new byte[SearchState.CELLS];
+        sampler.setSeed(7);
+        sampler.sample(info, first);
+        sampler.setSeed(7);
+        sampler.sample(info, second);
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, new byte[SearchState.CELLS]));
+    }
+}
@@ -0,0 +1,98 @@
+package game.unit;
+
+import game.Board;
+import game.endgame.EndgameGenerator;
+import game.endgame.EndgameMaterial;
+import game.endgame.EndgameTablebase;
+import game.search.SearchState;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndgameTablebaseTest {
+    private static final int PLAYER2 = 0x10;
+
+    private static byte[] fixedCells() {
+        byte[] fixed = new byte[SearchState.CELLS];
+        fixed[5] = (byte) SearchState.PRISONER;
+        fixed[15] = (byte) SearchState.LAND_MINE;
+        fixed[94] = (byte) (SearchState.PRISONER | PLAYER2);
+        fixed[84] = (byte) (SearchState.LAND_MINE | PLAYER2);
+        return fixed;
+    }
+
+    private static SearchState position(int side, int corporalCell, int soldierCell) {
+        return position(side, corporalCell, soldierCell, 0);
+    }
+
+    private static SearchState position(int side, int corporalCell, int soldierCell, int numberMoves) {
+        SearchState state = new SearchState();
+        state.setCells(fixedCells());
+        state.setCell(corporalCell, SearchState.CORPORAL);
+        state.setCell(soldierCell, SearchState.SOLDIER | PLAYER2);
+        state.reset(side, numberMoves, new int[] {-1, -1, -1}, new int[3]);
+        return state;
+    }
+
+    @SneakyThrows
+    @Test
+    public void solvesSmallEndgame() {
+        Path directory = Files.createTempDirectory("tablebase");
+        EndgameMaterial material = new EndgameMaterial(fixedCells(), new int[] {SearchState.CORPORAL}, new int[] {SearchState.SOLDIER});
+        // O Cabo desativa a Mina, então o material sem a Mina do jogador 2 também é gerado
+        assertEquals(2, new EndgameGenerator(directory).generate(material));
+        assertEquals(0, new EndgameGenerator(directory).generate(material));
+
+        try (EndgameTablebase tablebase = new EndgameTablebase(directory)) {
+            // Cabo ao lado do Prisioneiro adversário
+            SearchState state = position(1, 93, 50);
+            assertEquals(1, tablebase.probe(state));
+            assertEquals(SearchState.move(93, 94), tablebase.bestMove(state));
+            // Na vez do Soldado, que não alcança o Prisioneiro, a posição é perdida
+            assertTrue(tablebase.probe(position(2, 93, 50)) < 0);
+
+            // Cada valor é o melhor resultado entre as jogadas, inclusive passar
+            Random random = new Random(3);
+            List<Integer> free = new ArrayList<>();
+            for (int cell = 0; cell < SearchState.CELLS; cell++) {
+                if (fixedCells()[cell] == 0 && Board.isValidPosition(cell / Board.COLS, cell % Board.COLS)) {
+                    free.add(cell);
+                }
+            }
+            for (int i = 0; i < 500; i++) {
+                Collections.shuffle(free, random);
+                SearchState sample = position(1 + random.nextInt(2), free.get(0), free.get(1));
+                int value = tablebase.probe(sample);
+                assertNotEquals(EndgameTablebase.UNKNOWN, value);
+
+                SearchState next = new SearchState();
+                next.copyFrom(sample);
+                next.play(tablebase.bestMove(sample));
+                if (next.isTerminal()) {
+                    assertEquals(next.getWinner() == sample.getSideToMove() ? 1 : -1, value);
+                } else {
+                    // Vencer em n depois da jogada é perder em n + 1 antes dela, e vice-versa
+                    int nextValue = tablebase.probe(next);
+                    assertEquals(nextValue == 0 ? 0 : nextValue < 0 ? 1 - nextValue : -(nextValue + 1), value);
+                }
+            }
+            assertEquals(2, tablebase.getLoadedTables());
+
+            // Perto do limite de jogadas, resultados que não cabem nas jogadas restantes são empate
+            int limit = SearchState.MAX_NUMBER_OF_MOVES;
+            assertEquals(1, tablebase.probe(position(1, 93, 50, limit - 1)));
+            int losing = -tablebase.probe(position(2, 93, 50));
+            assertTrue(losing > 1);
+            assertEquals(-losing, tablebase.probe(position(2, 93, 50, limit - losing)));
+            assertEquals(0, tablebase.probe(position(2, 93, 50, limit - losing + 1)));
+        }
+    }
+}
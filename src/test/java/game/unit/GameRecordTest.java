@@ -0,0 +1,221 @@
+package game.unit;
+
+import game.Board;
+import game.pieces.*;
+import game.players.SimplePlayer;
+import game.records.*;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRecordTest {
+
+    private GameRecord createRecord(long seed, int moves) {
+        Board board = new Board();
+        Piece[][] setup1 = new SimplePlayer("player1").setup(board);
+        Piece[][] setup2 = new SimplePlayer("player2").setup(board);
+        GameRecord record = new GameRecord("player1", "player2", seed, setup1, setup2);
+        record.setPlayer1Starts(true);
+        for (int i = 0; i < moves; i++) {
+            MoveOutcome outcome = MoveOutcome.fromOrdinal(i % 8);
+            int attacker = outcome.isCombat() ? i % 13 : 0;
+            int defender = outcome.isCombat() ? (i + 3) % 13 : 0;
+            record.addMove(MoveEntry.encode(i % 100, (i + 1) % 100, outcome, attacker, defender));
+        }
+        record.finish(2, GameEndReason.MAX_NUMBER_OF_MOVES);
+        return record;
+    }
+
+    @SneakyThrows
+    @Test
+    public void encodeAndDecodeRecord() {
+        GameRecord record = createRecord(42L, 5000);
+        ByteBuffer buffer = ByteBuffer.allocate(GameRecordCodec.encodedSize(record));
+        GameRecordCodec.encode(record, buffer);
+        buffer.flip();
+
+        GameRecord decoded = GameRecordCodec.decode(buffer);
+
+        assertTrue(GameRecordCodec.encodedSize(record) < 21 * 1024);
+        assertFalse(buffer.hasRemaining());
+        assertEquals("player1", decoded.getPlayer1Name());
+        assertEquals("player2", decoded.getPlayer2Name());
+        assertEquals(42L, decoded.getSeed());
+        assertTrue(decoded.isPlayer1Starts());
+        assertEquals(2, decoded.getWinner());
+        assertEquals(GameEndReason.MAX_NUMBER_OF_MOVES, decoded.getEndReason());
+        assertArrayEquals(record.getPlayer1Setup(), decoded.getPlayer1Setup());
+        assertArrayEquals(record.getPlayer2Setup(), decoded.getPlayer2Setup());
+        assertEquals(5000, decoded.getMoveCount());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(record.getMove(i), decoded.getMove(i));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void encodeMoveFromAction() {
+        Board board = new Board();
+        Captain cp = new Captain("player1", board);
+        board.setPiece(3, 2, cp);
+        Sargent sg = new Sargent("player2", board);
+        board.setPiece(2, 2, sg);
+
+        PieceAction action = new PieceAction(cp.copyWithoutBoard(), 2, 2);
+        int entry = MoveEntry.of(action, cp.move(2, 2, board));
+
+        assertEquals(32, MoveEntry.fromCell(entry));
+        assertEquals(22, MoveEntry.toCell(entry));
+        assertEquals(MoveOutcome.ATTACK, MoveEntry.outcome(entry));
+        assertEquals(QuantityPerPiece.CAPTAIN.ordinal() + 1, MoveEntry.attackerType(entry));
+        assertEquals(QuantityPerPiece.SARGENT.ordinal() + 1, MoveEntry.defenderType(entry));
+        assertEquals(MoveEntry.NO_CELL, MoveEntry.fromCell(MoveEntry.of(null, null)));
+    }
+
+    @SneakyThrows
+    @Test
+    public void appendRecordsConcurrently() {
+        Path segment = Files.createTempFile("combate", ".rec");
+        try (GameRecordWriter writer = new GameRecordWriter(segment)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final long seed = t;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        try {
+                            writer.append(createRecord(seed, 10 + i));
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int games = 0;
+        while (content.hasRemaining()) {
+            GameRecord record = GameRecordCodec.decode(content);
+            assertTrue(record.getMoveCount() >= 10);
+            games++;
+        }
+        assertEquals(100, games);
+        Files.delete(segment);
+    }
+
+    @SneakyThrows
+    @Test
+    public void readArchiveByRandomAccess() {
+        Path segment1 = Files.createTempFile("combate", ".rec");
+        Path segment2 = Files.createTempFile("combate", ".rec");
+        try (GameRecordWriter writer1 = new GameRecordWriter(segment1); GameRecordWriter writer2 = new GameRecordWriter(segment2)) {
+            for (int i = 0; i < 10; i++) {
+                writer1.append(createRecord(i, 100 + i));
+                writer2.append(createRecord(10 + i, 200 + i));
+            }
+        }
+
+        try (GameArchive archive = new GameArchive(segment1, segment2)) {
+            assertEquals(20, archive.size());
+
+            ArchivedGame game = archive.getGame(13);
+            GameRecord expected = createRecord(13, 203);
+            assertEquals(13L, game.getSeed());
+            assertEquals("player2", game.getPlayer2Name());
+            assertEquals(203, game.getMoveCount());
+            assertEquals(expected.getMove(150), archive.getMove(13, 150));
+            assertEquals(GameEndReason.MAX_NUMBER_OF_MOVES, game.getEndReason());
+            assertEquals(203, game.toRecord().getMoveCount());
+            assertEquals(20, archive.games().filter(g -> g.getWinner() == 2).count());
+        }
+        Files.delete(segment1);
+        Files.delete(segment2);
+    }
+
+    @SneakyThrows
+    @Test
+    public void archiveStopsAtZeroFilledTail() {
+        Path segment = Files.createTempFile("combate", ".rec");
+        try (GameRecordWriter writer = new GameRecordWriter(segment)) {
+            for (int i = 0; i < 3; i++) {
+                writer.append(createRecord(i, 50));
+            }
+        }
+        // Espaço reservado por uma gravação interrompida
+        Files.write(segment, new byte[GameRecordCodec.encodedSize(createRecord(3, 50))], StandardOpenOption.APPEND);
+
+        try (GameArchive archive = new GameArchive(segment)) {
+            assertEquals(3, archive.size());
+            assertEquals(2L, archive.getGame(2).getSeed());
+        }
+        Files.delete(segment);
+    }
+
+    @SneakyThrows
+    @Test
+    public void archiveStopsAtCorruptLength() {
+        Path segment = Files.createTempFile("combate", ".rec");
+        long secondRecord;
+        try (GameRecordWriter writer = new GameRecordWriter(segment)) {
+            writer.append(createRecord(0, 50));
+            secondRecord = writer.append(createRecord(1, 50));
+            writer.append(createRecord(2, 50));
+        }
+
+        for (int length : new int[] {-4, -100, 0, 7}) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, length), secondRecord);
+            }
+            try (GameArchive archive = new GameArchive(segment)) {
+                assertEquals(1, archive.size(), "tamanho " + length);
+            }
+        }
+        Files.delete(segment);
+    }
+
+    @SneakyThrows
+    @Test
+    public void roundTripTextNotation() {
+        GameRecord record1 = createRecord(-3L, 500);
+        GameRecord record2 = new GameRecord("Jogador \"2\"", "player2", 9L, record1.getPlayer2Setup(), new byte[GameRecord.SETUP_CELLS]);
+        record2.addMove(MoveEntry.encode(MoveEntry.NO_CELL, MoveEntry.NO_CELL, MoveOutcome.INVALID, 0, 0));
+
+        StringWriter text = new StringWriter();
+        try (GameNotationWriter writer = new GameNotationWriter(text)) {
+            writer.write(record1);
+            writer.write(record2);
+        }
+
+        try (GameNotationReader reader = new GameNotationReader(new StringReader("; partidas exportadas\n" + text))) {
+            for (GameRecord expected : List.of(record1, record2)) {
+                GameRecord actual = reader.next();
+                ByteBuffer expectedBytes = ByteBuffer.allocate(GameRecordCodec.encodedSize(expected));
+                ByteBuffer actualBytes = ByteBuffer.allocate(GameRecordCodec.encodedSize(actual));
+                GameRecordCodec.encode(expected, expectedBytes);
+                GameRecordCodec.encode(actual, actualBytes);
+                assertArrayEquals(expectedBytes.array(), actualBytes.array());
+            }
+            assertNull(reader.next());
+        }
+
+        assertEquals("D3-C3", GameNotation.formatMove(GameNotation.parseMove("D3-C3")));
+        assertEquals("J10xA1[CP>SG]", GameNotation.formatMove(GameNotation.parseMove("J10xA1[CP>SG]")));
+        assertThrows(IllegalArgumentException.class, () -> GameNotation.parseMove("K3-C3"));
+    }
+}
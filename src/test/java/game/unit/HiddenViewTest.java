@@ -0,0 +1,45 @@
+package game.unit;
+
+import game.Board;
+import game.feedbacks.ConvertFeedbackToEnemy;
+import game.feedbacks.Feedback;
+import game.pieces.Major;
+import game.pieces.OpponentPiece;
+import game.pieces.Piece;
+import game.pieces.PieceAction;
+import game.pieces.Sargent;
+import game.players.SimplePlayer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HiddenViewTest {
+
+    @SneakyThrows
+    @Test
+    public void opponentIdsAreStableAcrossTurns() {
+        Board board = new Board();
+        board.player1 = new SimplePlayer("player1");
+        board.player2 = new SimplePlayer("player2");
+        Sargent sg = new Sargent("player1", board);
+        board.setPiece(0, 1, sg);
+        Major mj = new Major("player2", board);
+        board.setPiece(3, 1, mj);
+
+        Piece hidden = board.getHiddenView("player1").getPiece(3, 1);
+        assertInstanceOf(OpponentPiece.class, hidden);
+        assertNull(hidden.getPlayer());
+        assertEquals("OP", hidden.getRepresentation());
+        UUID id = hidden.getId();
+
+        Feedback feedback = board.executeAction(new PieceAction(mj, 2, 1));
+        Board nextView = board.getHiddenView("player1");
+        assertEquals(id, nextView.getPiece(2, 1).getId());
+        assertEquals(id, new Board(nextView).getPiece(2, 1).getId());
+        assertEquals(id, ConvertFeedbackToEnemy.convert(feedback).getPiece().getId());
+        assertEquals(sg.getId(), nextView.getPiece(0, 1).getId());
+    }
+}
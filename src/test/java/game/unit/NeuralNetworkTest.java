@@ -0,0 +1,108 @@
+package game.unit;
+
+import game.Board;
+import game.dataset.FeaturePlanes;
+import game.neural.Activation;
+import game.neural.NeuralEvaluator;
+import game.neural.NeuralNetwork;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NeuralNetworkTest {
+    private static final int CHANNELS = 2;
+
+    private static float[] randomValues(Random random, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextFloat() * 0.2f - 0.1f;
+        }
+        return values;
+    }
+
+    private static float reference(byte[] packed, int numberMoves, float[] convWeights, float[] convBias, float[] denseWeights, float denseBias) {
+        float[] input = new float[NeuralEvaluator.INPUT_SIZE];
+        for (int plane = 0; plane < FeaturePlanes.PLANES; plane++) {
+            for (int cell = 0; cell < 100; cell++) {
+                input[plane * 100 + cell] = FeaturePlanes.get(packed, plane, cell) ? 1f : 0f;
+            }
+        }
+        for (int cell = 0; cell < 100; cell++) {
+            input[FeaturePlanes.PLANES * 100 + cell] = numberMoves / 5000f;
+        }
+
+        float[] hidden = new float[CHANNELS * 100];
+        for (int o = 0; o < CHANNELS; o++) {
+            for (int y = 0; y < 10; y++) {
+                for (int x = 0; x < 10; x++) {
+                    float sum = convBias[o];
+                    for (int i = 0; i < NeuralEvaluator.INPUT_PLANES; i++) {
+                        for (int ky = -1; ky <= 1; ky++) {
+                            for (int kx = -1; kx <= 1; kx++) {
+                                if (y + ky >= 0 && y + ky < 10 && x + kx >= 0 && x + kx < 10) {
+                                    sum += convWeights[((o * NeuralEvaluator.INPUT_PLANES + i) * 3 + ky + 1) * 3 + kx + 1]
+                                            * input[i * 100 + (y + ky) * 10 + x + kx];
+                                }
+                            }
+                        }
+                    }
+                    hidden[o * 100 + y * 10 + x] = Math.max(sum, 0f);
+                }
+            }
+        }
+
+        float sum = denseBias;
+        for (int i = 0; i < hidden.length; i++) {
+            sum += denseWeights[i] * hidden[i];
+        }
+        return (float) Math.tanh(sum);
+    }
+
+    @SneakyThrows
+    @Test
+    public void evaluateMatchesReferenceAfterReload() {
+        Random random = new Random(3);
+        float[] convWeights = randomValues(random, CHANNELS * NeuralEvaluator.INPUT_PLANES * 9);
+        float[] convBias = randomValues(random, CHANNELS);
+        float[] denseWeights = randomValues(random, CHANNELS * 100);
+        float[] denseBias = randomValues(random, 1);
+        NeuralNetwork network = new NeuralNetwork(List.of(
+                NeuralNetwork.conv3x3(NeuralEvaluator.INPUT_PLANES, CHANNELS, Activation.RELU, convWeights, convBias),
+                NeuralNetwork.dense(CHANNELS * 100, 1, Activation.TANH, denseWeights, denseBias)
+        ));
+
+        Path file = Files.createTempFile("combate", ".nn");
+        network.write(file);
+        NeuralEvaluator evaluator = new NeuralEvaluator(NeuralNetwork.load(file));
+        Files.delete(file);
+
+        byte[] packed = new byte[FeaturePlanes.PACKED_BYTES];
+        random.nextBytes(packed);
+        float expected = reference(packed, 1200, convWeights, convBias, denseWeights, denseBias[0]);
+        assertEquals(expected, evaluator.evaluate(packed, 1200), 1e-5);
+
+        float[] fromThread = new float[1];
+        Thread thread = new Thread(() -> fromThread[0] = evaluator.evaluate(packed, 1200));
+        thread.start();
+        thread.join();
+        assertEquals(expected, fromThread[0], 1e-5);
+
+        Board board = new Board();
+        assertTrue(Math.abs(evaluator.evaluate(board, 2, null)) <= 1f);
+    }
+
+    @SneakyThrows
+    @Test
+    public void rejectIncompatibleLayers() {
+        assertThrows(IllegalArgumentException.class, () -> new NeuralNetwork(List.of(
+                NeuralNetwork.dense(10, 5, Activation.RELU, new float[50], new float[5]),
+                NeuralNetwork.dense(4, 1, Activation.NONE, new float[4], new float[1])
+        )));
+    }
+}
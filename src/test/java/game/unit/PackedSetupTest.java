@@ -0,0 +1,68 @@
+package game.unit;
+
+import game.Board;
+import game.pieces.Piece;
+import game.pieces.QuantityPerPiece;
+import game.records.GameRecord;
+import game.setups.PackedSetup;
+import game.setups.SetupError;
+import game.setups.SetupOptimizer;
+import game.setups.SetupValidator;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedSetupTest {
+
+    @SneakyThrows
+    @Test
+    public void packsAndMirrorsSetups() {
+        Random random = new Random(11);
+        for (int i = 0; i < 100; i++) {
+            byte[] codes = SetupOptimizer.randomSetup(random);
+            PackedSetup packed = PackedSetup.of(codes);
+            assertArrayEquals(codes, packed.toCodes());
+
+            ByteBuffer buffer = ByteBuffer.allocate(PackedSetup.BYTES);
+            packed.write(buffer);
+            assertEquals(packed, PackedSetup.read(buffer, 0));
+
+            PackedSetup mirrored = packed.mirror();
+            assertEquals(codes[0], mirrored.code(9));
+            assertEquals(codes[39], mirrored.code(30));
+            assertEquals(packed, mirrored.mirror());
+            assertEquals(packed.canonical(), mirrored.canonical());
+            assertTrue(packed.canonical().isCanonical());
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void reportsSetupErrors() {
+        byte[] codes = SetupOptimizer.randomSetup(new Random(5));
+        assertTrue(SetupValidator.validate(codes).isEmpty());
+
+        int prisoner = QuantityPerPiece.PRISONER.ordinal() + 1;
+        int soldier = QuantityPerPiece.SOLDIER.ordinal() + 1;
+        for (int cell = 0; cell < codes.length; cell++) {
+            if (codes[cell] == prisoner) {
+                codes[cell] = (byte) soldier;
+            }
+        }
+        List<SetupError> errors = SetupValidator.validate(codes);
+        assertEquals(2, errors.size());
+        assertEquals(new SetupError(SetupError.Kind.WRONG_COUNT, -1, QuantityPerPiece.PRISONER, 1, 0), errors.get(0));
+        assertEquals(SetupError.Kind.WRONG_COUNT, errors.get(1).kind());
+        assertEquals(QuantityPerPiece.SOLDIER, errors.get(1).piece());
+
+        Piece[][] setup = GameRecord.decodeSetup(codes, "player1", new Board());
+        assertEquals(errors, SetupValidator.validate(setup));
+        assertFalse(new Board().isValidSetup(setup));
+        assertEquals(SetupError.Kind.WRONG_SHAPE, SetupValidator.validate(new Piece[3][10]).get(0).kind());
+    }
+}
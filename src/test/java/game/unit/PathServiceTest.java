@@ -0,0 +1,66 @@
+package game.unit;
+
+import game.paths.CellSet;
+import game.paths.PathField;
+import game.paths.PathService;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PathServiceTest {
+
+    @SneakyThrows
+    @Test
+    public void staticDistancesGoAroundLakes() {
+        assertEquals(0, PathService.distance(41, 41));
+        assertEquals(1, PathService.distance(41, 51));
+        // E2 -> E5 contorna o lago das colunas 3 e 4
+        assertEquals(5, PathService.distance(41, 44));
+        assertEquals(18, PathService.distance(0, 99));
+        assertEquals(PathService.UNREACHABLE, PathService.distance(0, 42));
+    }
+
+    @SneakyThrows
+    @Test
+    public void fieldRespectsObstaclesAndCaches() {
+        PathService paths = new PathService(2);
+        // Peça em A1 com peças próprias em A2 e B2 e um adversário em B1
+        CellSet own = CellSet.EMPTY.with(0).with(1).with(11);
+        CellSet enemies = CellSet.EMPTY.with(10);
+        PathField field = paths.field(0, own, enemies);
+
+        assertEquals(1, field.distance(10));
+        assertEquals(10, field.firstStep(10));
+        assertEquals(PathService.UNREACHABLE, field.distance(20));
+        assertEquals(PathService.UNREACHABLE, field.distance(1));
+        assertEquals(2, field.reachedCount());
+        assertEquals(0, field.reached(0));
+
+        PathField open = paths.field(0, CellSet.EMPTY.with(1), CellSet.EMPTY);
+        assertEquals(3, open.distance(12));
+        assertEquals(10, open.firstStep(12));
+
+        assertSame(field, paths.field(0, own, enemies));
+        assertEquals(1, paths.getHits());
+        assertEquals(2, paths.getMisses());
+    }
+
+    @SneakyThrows
+    @Test
+    public void raysStopAtLakesAndBlockers() {
+        // D3 para o sul esbarra no lago; para o leste vai até a borda
+        assertEquals(0, PathService.rayLength(32, 3));
+        assertEquals(7, PathService.rayLength(32, 0));
+        assertEquals(39, PathService.rayCell(32, 0, 7));
+        assertEquals(3, PathService.rayLength(32, 2));
+        assertEquals(2, PathService.rayCell(32, 2, 3));
+
+        CellSet occupied = CellSet.EMPTY.with(36).with(12).with(99);
+        assertEquals(3, PathService.freeSteps(32, 0, occupied));
+        assertEquals(1, PathService.freeSteps(32, 2, occupied));
+        assertEquals(2, PathService.freeSteps(32, 1, occupied));
+        assertEquals(0, PathService.freeSteps(98, 0, occupied));
+        assertEquals(3, PathService.freeSteps(68, 3, occupied));
+    }
+}
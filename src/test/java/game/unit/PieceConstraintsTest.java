@@ -0,0 +1,64 @@
+package game.unit;
+
+import game.search.PieceConstraints;
+import game.search.SearchState;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static game.search.PieceConstraints.bit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PieceConstraintsTest {
+
+    @SneakyThrows
+    @Test
+    public void identifiedTypesLeaveOtherCells() {
+        PieceConstraints constraints = new PieceConstraints();
+        constraints.setRemaining(SearchState.SOLDIER, 8);
+        constraints.setRemaining(SearchState.GENERAL, 1);
+        constraints.setRemaining(SearchState.LAND_MINE, 1);
+        for (int cell = 0; cell < 8; cell++) {
+            constraints.setCell(cell, bit(SearchState.SOLDIER));
+        }
+        constraints.setCell(10, PieceConstraints.ALL);
+        constraints.setCell(11, PieceConstraints.MOVABLE);
+
+        assertTrue(constraints.propagate());
+        assertFalse(constraints.isPossible(10, SearchState.SOLDIER));
+        assertEquals(SearchState.GENERAL, constraints.getForcedType(11));
+        assertEquals(SearchState.LAND_MINE, constraints.getForcedType(10));
+    }
+
+    @SneakyThrows
+    @Test
+    public void unmovedPiecesAreImmovableWhenMovablesAreExhausted() {
+        PieceConstraints constraints = new PieceConstraints();
+        constraints.setRemaining(SearchState.CAPTAIN, 1);
+        constraints.setRemaining(SearchState.SOLDIER, 1);
+        constraints.setRemaining(SearchState.LAND_MINE, 2);
+        constraints.setRemaining(SearchState.PRISONER, 1);
+        constraints.setCell(0, PieceConstraints.MOVABLE);
+        constraints.setCell(1, PieceConstraints.MOVABLE);
+        constraints.setCell(2, PieceConstraints.ALL);
+        constraints.setCell(3, PieceConstraints.ALL);
+        constraints.setCell(4, PieceConstraints.ALL);
+
+        assertTrue(constraints.propagate());
+        assertEquals(bit(SearchState.CAPTAIN) | bit(SearchState.SOLDIER), constraints.getMask(0));
+        for (int cell = 2; cell <= 4; cell++) {
+            assertEquals(PieceConstraints.IMMOVABLE, constraints.getMask(cell));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void detectContradiction() {
+        PieceConstraints constraints = new PieceConstraints();
+        constraints.setRemaining(SearchState.GENERAL, 1);
+        constraints.setCell(0, bit(SearchState.GENERAL));
+        constraints.setCell(1, bit(SearchState.GENERAL));
+
+        assertFalse(constraints.propagate());
+        assertThrows(IllegalArgumentException.class, () -> constraints.setCell(2, 0));
+    }
+}
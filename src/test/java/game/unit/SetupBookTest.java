@@ -0,0 +1,80 @@
+package game.unit;
+
+import game.Board;
+import game.pieces.Piece;
+import game.pieces.QuantityPerPiece;
+import game.records.GameRecord;
+import game.records.SetupBook;
+import game.records.SetupBookBuilder;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SetupBookTest {
+
+    private static byte[] setup(int swap) {
+        byte[] codes = new byte[GameRecord.SETUP_CELLS];
+        int index = 0;
+        for (QuantityPerPiece piece : QuantityPerPiece.values()) {
+            for (int i = 0; i < piece.getQuantity(); i++) {
+                codes[index++] = (byte) (piece.ordinal() + 1);
+            }
+        }
+        byte first = codes[0];
+        codes[0] = codes[swap];
+        codes[swap] = first;
+        return codes;
+    }
+
+    @SneakyThrows
+    @Test
+    public void selectsSetupsByResults() {
+        SetupBookBuilder builder = new SetupBookBuilder();
+        // Posicionamento A: 8 vitórias em 10 contra Rai; B: 1 vitória em 1; C: 2 derrotas; D: só contra Rogerio
+        for (int i = 0; i < 10; i++) {
+            builder.add(setup(5), "Rai", i < 8 ? 1 : -1);
+        }
+        builder.add(setup(10), "Rai", 1);
+        builder.add(setup(20), "Rai", -1);
+        builder.add(setup(20), "Rai", 0);
+        builder.add(setup(30), "Rogerio", 1);
+        assertEquals(4, builder.size());
+
+        Path path = Files.createTempFile("setups", ".book");
+        builder.write(path);
+        try (SetupBook book = new SetupBook(path)) {
+            assertEquals(4, book.size());
+            assertEquals(2, book.getOpponents().size());
+            assertArrayEquals(setup(5), book.getCodes(0));
+            assertEquals(10, book.getGames(0, "Rai"));
+            assertEquals(8, book.getWins(0, "Rai"));
+            assertEquals(1, book.getDraws(2, null));
+
+            assertEquals(0, book.best("Rai"));
+            assertEquals(3, book.best("Rogerio"));
+            assertEquals(0, book.best("Desconhecido"));
+            // Contra Rogerio só o posicionamento D foi testado
+            assertEquals(0, book.explore("Rogerio"));
+            assertEquals(3, book.explore("Rai"));
+
+            int[] draws = new int[book.size()];
+            Random random = new Random(1);
+            for (int i = 0; i < 4000; i++) {
+                draws[book.weightedRandom("Rai", random)]++;
+            }
+            assertTrue(draws[0] > draws[2]);
+            assertTrue(draws[3] > 0);
+
+            Board board = new Board();
+            Piece[][] pieces = book.getSetup(0, "player1", board);
+            assertArrayEquals(setup(5), GameRecord.encodeSetup(pieces));
+            assertThrows(IndexOutOfBoundsException.class, () -> book.getCodes(4));
+        }
+        Files.delete(path);
+    }
+}
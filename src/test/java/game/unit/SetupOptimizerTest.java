@@ -0,0 +1,77 @@
+package game.unit;
+
+import game.Board;
+import game.players.SimplePlayer;
+import game.records.GameRecord;
+import game.records.SetupBookBuilder;
+import game.setups.SetupOptimizer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SetupOptimizerTest {
+
+    private static byte[] sorted(byte[] setup) {
+        byte[] copy = setup.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @SneakyThrows
+    @Test
+    public void operatorsKeepPieceCounts() {
+        Random random = new Random(7);
+        byte[] expected = sorted(SetupOptimizer.randomSetup(random));
+        for (int i = 0; i < 200; i++) {
+            byte[] first = SetupOptimizer.randomSetup(random);
+            byte[] second = SetupOptimizer.randomSetup(random);
+            byte[] child = SetupOptimizer.crossover(first, second, random);
+            assertArrayEquals(expected, sorted(child));
+
+            byte[] mutated = child.clone();
+            SetupOptimizer.mutate(mutated, 2, random);
+            assertArrayEquals(expected, sorted(mutated));
+            assertTrue(new Board().isValidSetup(GameRecord.decodeSetup(mutated, "Jogador", new Board())));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void resumesFromCheckpoint() {
+        Path checkpoint = Files.createTempFile("optimizer", ".ga");
+        Files.delete(checkpoint);
+        SetupBookBuilder book = new SetupBookBuilder();
+
+        SetupOptimizer optimizer = new SetupOptimizer(() -> new SimplePlayer("Candidato"), List.of(() -> new SimplePlayer("Adversário")));
+        optimizer.setThreads(2);
+        optimizer.setPopulationSize(4);
+        optimizer.setEliteCount(1);
+        optimizer.setGamesPerGeneration(2);
+        optimizer.setSeed(3);
+        optimizer.setCheckpoint(checkpoint);
+        optimizer.setBookBuilder(book);
+        optimizer.run(1);
+        assertEquals(1, optimizer.getGeneration());
+        assertTrue(Files.exists(checkpoint));
+        assertEquals(4, book.size());
+
+        SetupOptimizer resumed = new SetupOptimizer(() -> new SimplePlayer("Candidato"), List.of(() -> new SimplePlayer("Adversário")));
+        resumed.setThreads(2);
+        resumed.setPopulationSize(4);
+        resumed.setEliteCount(1);
+        resumed.setGamesPerGeneration(2);
+        resumed.setCheckpoint(checkpoint);
+        byte[] best = resumed.run(2);
+        assertEquals(2, resumed.getGeneration());
+        assertArrayEquals(sorted(SetupOptimizer.randomSetup(new Random())), sorted(best));
+        assertTrue(resumed.getBestFitness() >= 0 && resumed.getBestFitness() <= 1);
+        Files.deleteIfExists(checkpoint);
+    }
+}
@@ -0,0 +1,97 @@
+package game.unit;
+
+import game.search.SearchState;
+import game.search.TranspositionTable;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    @SneakyThrows
+    @Test
+    public void storesAndReplacesEntries() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        assertEquals(TranspositionTable.NONE, table.probe(key));
+
+        table.store(key, 6, TranspositionTable.LOWER, -12.5, SearchState.move(31, 41));
+        long data = table.probe(key);
+        assertEquals(6, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(-12.5, TranspositionTable.score(data));
+        assertEquals(SearchState.move(31, 41), TranspositionTable.move(data));
+
+        // Mesmo balde, outra posição: a entrada mais profunda fica e a nova vai para a que sempre é substituída
+        long other = key + ((long) table.getCapacity() << 4);
+        table.store(other, 2, TranspositionTable.EXACT, 3, SearchState.PASS);
+        assertEquals(6, TranspositionTable.depth(table.probe(key)));
+        assertEquals(2, TranspositionTable.depth(table.probe(other)));
+        long third = other + ((long) table.getCapacity() << 4);
+        table.store(third, 1, TranspositionTable.UPPER, 0, SearchState.PASS);
+        assertEquals(TranspositionTable.NONE, table.probe(other));
+        assertEquals(6, TranspositionTable.depth(table.probe(key)));
+        assertEquals(1, table.getOverwrites());
+        assertEquals(1, table.getCollisions());
+
+        // Em uma nova busca, a entrada antiga pode ser substituída por uma mais rasa
+        table.newSearch();
+        table.store(other, 1, TranspositionTable.EXACT, 3, SearchState.PASS);
+        assertEquals(TranspositionTable.NONE, table.probe(key));
+
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        assertThrows(IllegalArgumentException.class, () -> table.store(key, 1, 0, 0, SearchState.PASS));
+    }
+
+    @SneakyThrows
+    @Test
+    public void shallowerResultKeepsDeepEntryOfSamePosition() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x0FED_CBA9_8765_4321L;
+        table.store(key, 8, TranspositionTable.LOWER, 5, SearchState.move(31, 41));
+
+        // Aprofundamento iterativo: uma iteração mais rasa não apaga o resultado profundo
+        table.store(key, 3, TranspositionTable.UPPER, 1, SearchState.PASS);
+        assertEquals(8, TranspositionTable.depth(table.probe(key)));
+        assertEquals(SearchState.move(31, 41), TranspositionTable.move(table.probe(key)));
+
+        // Um resultado exato da mesma posição substitui
+        table.store(key, 4, TranspositionTable.EXACT, 2, SearchState.PASS);
+        assertEquals(4, TranspositionTable.depth(table.probe(key)));
+        assertEquals(TranspositionTable.EXACT, TranspositionTable.bound(table.probe(key)));
+    }
+
+    @SneakyThrows
+    @Test
+    public void concurrentAccessNeverReturnsForeignData() {
+        TranspositionTable table = new TranspositionTable(1);
+        AtomicInteger corrupted = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    // Poucas chaves para forçar disputa pelos mesmos baldes; os dados são derivados da chave
+                    long key = random.nextInt(50_000) * 0x9E37_79B9_7F4A_7C15L;
+                    long data = table.probe(key);
+                    if (data != TranspositionTable.NONE && TranspositionTable.move(data) != (int) (key >>> 50)) {
+                        corrupted.incrementAndGet();
+                    }
+                    table.store(key, (int) (key >>> 60), TranspositionTable.EXACT, 0, (int) (key >>> 50));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, corrupted.get());
+        assertTrue(table.getHits() > 0);
+    }
+}
@@ -0,0 +1,98 @@
+package game.unit;
+
+import game.Board;
+import game.pieces.Major;
+import game.pieces.Prisoner;
+import game.pieces.Soldier;
+import game.players.SimplePlayer;
+import game.search.EnemyEvidence;
+import game.search.InformationSet;
+import game.search.WinEstimate;
+import game.search.WinProbabilityEstimator;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WinProbabilityEstimatorTest {
+
+    private static Board newBoard() {
+        Board board = new Board();
+        board.player1 = new SimplePlayer("player1");
+        board.player2 = new SimplePlayer("player2");
+        return board;
+    }
+
+    @SneakyThrows
+    @Test
+    public void majorNextToPrisonerIsLikelyWin() {
+        Board board = newBoard();
+        board.setPiece(0, 0, new Prisoner("player2", board));
+        board.setPiece(1, 0, new Major("player1", board));
+        board.setPiece(9, 9, new Prisoner("player1", board));
+        board.setPiece(9, 0, new Soldier("player2", board));
+
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator();
+        estimator.setSeed(50);
+        estimator.setBatchSize(64);
+        WinEstimate estimate = estimator.estimate(board, 1, 1000);
+
+        assertEquals(1000, estimate.playouts());
+        assertEquals(1000, estimate.player1Wins() + estimate.player2Wins() + estimate.draws());
+        assertEquals(estimate.player1Wins() + estimate.player2Wins(), estimate.prisonerCaptures() + estimate.eliminations());
+        // A política aleatória pode afastar o Major e empatar pelo limite, mas o Player2 quase nunca vence
+        assertTrue(estimate.lowerBound(1) > 0.5, estimate.toString());
+        assertTrue(estimate.lowerBound(1) > estimate.upperBound(2), estimate.toString());
+        assertTrue(estimate.lowerBound(1) <= estimate.winProbability(1));
+        assertTrue(estimate.upperBound(1) >= estimate.winProbability(1));
+        assertTrue(estimate.upperBound(1) <= 1);
+    }
+
+    @SneakyThrows
+    @Test
+    public void sameSeedGivesSameEstimateWithAnyThreads() {
+        Board board = newBoard();
+        board.addPlayerSetup(board.player1.setup(board), 1);
+        board.addPlayerSetup(board.player2.setup(board), 2);
+        EnemyEvidence evidence = new EnemyEvidence();
+        evidence.reset(board.getHiddenView("player1"));
+        InformationSet info = InformationSet.of(board.getHiddenView("player1"), 1, evidence, -1, 0);
+
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator();
+        estimator.setSeed(7);
+        estimator.setBatchSize(32);
+        estimator.setThreads(1);
+        WinEstimate single = estimator.estimate(info, 200);
+        estimator.setThreads(4);
+        WinEstimate parallel = estimator.estimate(info, 200);
+        assertEquals(single, parallel);
+        assertEquals(200, single.playouts());
+        assertEquals(estimator.estimate(board, 1, 200), estimator.estimate(board, 1, 200));
+
+        WinEstimate timed = estimator.estimate(info, Duration.ofMillis(50));
+        assertEquals(0, timed.playouts() % 32);
+        assertThrows(IllegalArgumentException.class, () -> estimator.estimate(board.getHiddenView("player1"), 1, 10));
+    }
+
+    @SneakyThrows
+    @Test
+    public void failedPlayoutFailsEstimate() {
+        // Mais peças móveis do que o BatchSimulator aceita: a falha nas threads chega a quem chamou
+        Board board = newBoard();
+        int soldiers = 0;
+        for (int cell = 0; cell < Board.ROWS * Board.COLS && soldiers < 41; cell++) {
+            if (!Board.isLake(cell / Board.COLS, cell % Board.COLS)) {
+                board.setPiece(cell / Board.COLS, cell % Board.COLS, new Soldier("player1", board));
+                soldiers++;
+            }
+        }
+        board.setPiece(9, 9, new Prisoner("player2", board));
+        board.setPiece(9, 8, new Major("player2", board));
+
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator();
+        estimator.setThreads(2);
+        assertThrows(IllegalArgumentException.class, () -> estimator.estimate(board, 1, 100));
+    }
+}